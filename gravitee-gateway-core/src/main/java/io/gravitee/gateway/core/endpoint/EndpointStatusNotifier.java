@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.endpoint;
+
+import io.gravitee.definition.model.Endpoint;
+import io.gravitee.gateway.api.handler.Handler;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Notifies the components using an endpoint (connectors, ...) when its status is changed by the health-check.
+ *
+ * Endpoints are matched by identity, as endpoints of different APIs may share the same name.
+ *
+ * @author GraviteeSource Team
+ */
+public class EndpointStatusNotifier {
+
+    private final Map<Endpoint, List<Handler<Endpoint.Status>>> listeners =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public void subscribe(Endpoint endpoint, Handler<Endpoint.Status> listener) {
+        listeners.computeIfAbsent(endpoint, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void unsubscribe(Endpoint endpoint, Handler<Endpoint.Status> listener) {
+        synchronized (listeners) {
+            List<Handler<Endpoint.Status>> endpointListeners = listeners.get(endpoint);
+            if (endpointListeners != null) {
+                endpointListeners.remove(listener);
+                if (endpointListeners.isEmpty()) {
+                    listeners.remove(endpoint);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners of the endpoint that its status has changed.
+     */
+    public void statusChanged(Endpoint endpoint) {
+        List<Handler<Endpoint.Status>> endpointListeners = listeners.get(endpoint);
+        if (endpointListeners != null) {
+            final Endpoint.Status status = endpoint.getStatus();
+            endpointListeners.forEach(listener -> listener.handle(status));
+        }
+    }
+}
@@ -42,7 +42,7 @@ import java.util.regex.Pattern;
 public class TargetEndpointResolver implements EndpointResolver {
 
     // Pattern reuse for duplicate slash removal
-    private static final Pattern DUPLICATE_SLASH_REMOVER = Pattern.compile("(?<!(http:|https:|wss:|ws:))[//]+");
+    private static final Pattern DUPLICATE_SLASH_REMOVER = Pattern.compile("(?<!(http:|https:|wss:|ws:|unix:))[//]+");
 
     private static final String URI_PATH_SEPARATOR = "/";
 
@@ -57,6 +57,9 @@ public class TargetEndpointResolver implements EndpointResolver {
 
     private static final String URI_WSS_PREFIX = "wss://";
 
+    // Unix domain socket, the authority being the URL-encoded path of the socket
+    private static final String URI_UNIX_PREFIX = "unix://";
+
     @Autowired
     private ReferenceRegister referenceRegister;
 
@@ -93,7 +96,8 @@ public class TargetEndpointResolver implements EndpointResolver {
     private ResolvedEndpoint selectUserDefinedEndpoint(Request serverRequest, String target, ExecutionContext executionContext) {
         // Do we have a relative or an absolute path ?
         if (target.startsWith(URI_HTTP_PREFIX) || target.startsWith(URI_HTTPS_PREFIX)
-                || target.startsWith(URI_WS_PREFIX) || target.startsWith(URI_WSS_PREFIX)) {
+                || target.startsWith(URI_WS_PREFIX) || target.startsWith(URI_WSS_PREFIX)
+                || target.startsWith(URI_UNIX_PREFIX)) {
             // When the user selected endpoint which is not defined (according to the given target), the gateway
             // is always returning the first endpoints reference and took into account its configuration.
             Collection<EndpointReference> endpoints = referenceRegister.referencesByType(EndpointReference.class);
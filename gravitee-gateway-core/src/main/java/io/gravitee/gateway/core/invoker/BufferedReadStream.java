@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.stream.ReadStream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures the content of a stream until the handlers are set, so that the request can be sent to the endpoint once
+ * an asynchronous decision has been taken, even if the incoming request has already been fully read.
+ *
+ * @author GraviteeSource Team
+ */
+public class BufferedReadStream implements ReadStream<Buffer> {
+
+    private final List<Buffer> chunks = new ArrayList<>();
+
+    private boolean ended;
+
+    private Handler<Buffer> bodyHandler;
+
+    private Handler<Void> endHandler;
+
+    private BufferedReadStream() {
+    }
+
+    /**
+     * @return a stream capturing the content of the given one.
+     */
+    public static BufferedReadStream of(ReadStream<Buffer> stream) {
+        BufferedReadStream buffered = new BufferedReadStream();
+        stream
+                .bodyHandler(buffered::onChunk)
+                .endHandler(result -> buffered.onEnd());
+        return buffered;
+    }
+
+    /**
+     * @return an empty stream, already ended.
+     */
+    public static BufferedReadStream empty() {
+        BufferedReadStream buffered = new BufferedReadStream();
+        buffered.ended = true;
+        return buffered;
+    }
+
+    private void onChunk(Buffer chunk) {
+        if (bodyHandler != null) {
+            bodyHandler.handle(chunk);
+        } else {
+            chunks.add(chunk);
+        }
+    }
+
+    private void onEnd() {
+        ended = true;
+
+        if (endHandler != null) {
+            endHandler.handle(null);
+        }
+    }
+
+    @Override
+    public ReadStream<Buffer> bodyHandler(Handler<Buffer> bodyHandler) {
+        this.bodyHandler = bodyHandler;
+
+        if (bodyHandler != null && !chunks.isEmpty()) {
+            chunks.forEach(bodyHandler::handle);
+            chunks.clear();
+        }
+
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+
+        if (endHandler != null && ended) {
+            endHandler.handle(null);
+        }
+
+        return this;
+    }
+}
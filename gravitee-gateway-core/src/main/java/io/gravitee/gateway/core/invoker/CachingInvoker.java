@@ -0,0 +1,308 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.core.invoker.cache.*;
+import io.gravitee.gateway.core.proxy.CopyingProxyResponse;
+import io.gravitee.gateway.core.proxy.InterceptingProxyConnection;
+import io.gravitee.gateway.core.proxy.StaticProxyConnection;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the <code>GET</code> requests of an API from an {@link HttpCache}, following the rules of a shared cache:
+ * <code>Cache-Control</code>, <code>Expires</code>, <code>Vary</code>, <code>ETag</code> and
+ * <code>Last-Modified</code> of the responses are honoured.
+ *
+ * A stale entry is revalidated with a single conditional request to the endpoint, whatever the number of requests
+ * waiting for it. Entries allowing <code>stale-while-revalidate</code> are served right away while being
+ * revalidated in the background.
+ *
+ * @author GraviteeSource Team
+ */
+public class CachingInvoker implements Invoker {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(CachingInvoker.class);
+
+    private static final String PRAGMA = "Pragma";
+    private static final String RANGE = "Range";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String X_GRAVITEE_CACHE = "X-Gravitee-Cache";
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final Invoker invoker;
+
+    private final HttpCache cache;
+
+    private final Map<CacheEntry, PendingResult<CacheEntry>> revalidations = new ConcurrentHashMap<>();
+
+    public CachingInvoker(final Invoker invoker, final HttpCache cache) {
+        this.invoker = invoker;
+        this.cache = cache;
+    }
+
+    @Override
+    public void invoke(ExecutionContext context, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler) {
+        final HttpHeaders requestHeaders = context.request().headers();
+        final CacheControl cacheControl = CacheControl.parse(requestHeaders);
+
+        if (InvokerUtils.method(context) != HttpMethod.GET || cacheControl.has(CacheControl.NO_STORE)
+                || requestHeaders.containsKey(RANGE)) {
+            invoker.invoke(context, stream, connectionHandler);
+            return;
+        }
+
+        final CacheRequest request = new CacheRequest(context, key(context));
+        final CacheEntry entry = cache.get(request.key, requestHeaders);
+        final boolean noCache = cacheControl.has(CacheControl.NO_CACHE)
+                || CacheControl.NO_CACHE.equalsIgnoreCase(requestHeaders.getFirst(PRAGMA));
+        final long now = System.currentTimeMillis();
+
+        if (entry == null || (noCache && !entry.hasValidator())) {
+            fetch(request, stream, connectionHandler, null, null);
+        } else if (!noCache && entry.isFresh(now)) {
+            serve(request, BufferedReadStream.of(stream), connectionHandler, entry);
+        } else if (!entry.hasValidator()) {
+            fetch(request, stream, connectionHandler, null, null);
+        } else if (!noCache && entry.isStaleWhileRevalidate(now)) {
+            // Revalidate in the background, using a copy of the request without its content, which leaves the
+            // headers and the metrics of the client request untouched
+            revalidate(new CacheRequest(new DetachedExecutionContext(context), request.key),
+                    BufferedReadStream.empty(), null, entry);
+            serve(request, BufferedReadStream.of(stream), connectionHandler, entry);
+        } else {
+            revalidate(request, stream, connectionHandler, entry);
+        }
+    }
+
+    /**
+     * Revalidates a stale entry. Only the first request sends a conditional request to the endpoint, the next ones
+     * wait for its response.
+     *
+     * @param connectionHandler the handler of the client connection, <code>null</code> for a background revalidation.
+     */
+    private void revalidate(CacheRequest request, ReadStream<Buffer> stream,
+                            Handler<ProxyConnection> connectionHandler, CacheEntry entry) {
+        PendingResult<CacheEntry> revalidation = new PendingResult<>(Integer.MAX_VALUE);
+        PendingResult<CacheEntry> current = revalidations.putIfAbsent(entry, revalidation);
+
+        if (current != null) {
+            if (connectionHandler != null) {
+                final Context vertxContext = Vertx.currentContext();
+                final BufferedReadStream buffered = BufferedReadStream.of(stream);
+
+                boolean joined = current.join(result -> InvokerUtils.runOnContext(vertxContext, () -> {
+                    if (result != null) {
+                        serve(request, buffered, connectionHandler, result);
+                    } else {
+                        fetch(request, buffered, connectionHandler, null, null);
+                    }
+                }));
+
+                if (joined) {
+                    request.context.request().resume();
+                } else {
+                    // The revalidation has just completed
+                    fetch(request, buffered, connectionHandler, null, null);
+                }
+            }
+
+            return;
+        }
+
+        HttpHeaders requestHeaders = request.context.request().headers();
+        requestHeaders.remove(IF_NONE_MATCH);
+        requestHeaders.remove(IF_MODIFIED_SINCE);
+        if (entry.etag() != null) {
+            requestHeaders.set(IF_NONE_MATCH, entry.etag());
+        }
+        if (entry.lastModified() != null) {
+            requestHeaders.set(IF_MODIFIED_SINCE, entry.lastModified());
+        }
+
+        LOGGER.debug("Revalidating cache entry for {}", request.key);
+
+        if (connectionHandler != null) {
+            fetch(request, stream, connectionHandler, entry, revalidation);
+        } else {
+            fetch(request, stream, connection -> connection.responseHandler(response -> {
+                // Nothing to send to the client, only the cache has to be updated
+                response.bodyHandler(chunk -> { }).endHandler(result -> { });
+                response.resume();
+            }), entry, revalidation);
+        }
+    }
+
+    /**
+     * Sends the request to the endpoint, storing its response if allowed.
+     */
+    private void fetch(CacheRequest request, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler,
+                       CacheEntry stale, PendingResult<CacheEntry> revalidation) {
+        invoker.invoke(request.context, stream, connection -> connectionHandler.handle(
+                new InterceptingProxyConnection(connection, new InterceptingProxyConnection.ResponseInterceptor() {
+                    @Override
+                    public void intercept(ProxyResponse response, Handler<ProxyResponse> responseHandler) {
+                        onResponse(request, stale, revalidation, response, responseHandler);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        complete(stale, revalidation, null);
+                    }
+                })));
+    }
+
+    private void onResponse(CacheRequest request, CacheEntry stale, PendingResult<CacheEntry> revalidation,
+                            ProxyResponse response, Handler<ProxyResponse> responseHandler) {
+        final long now = System.currentTimeMillis();
+
+        if (stale != null && response.status() == NOT_MODIFIED) {
+            cache.refresh(stale, response.headers(), now);
+            complete(stale, revalidation, stale);
+
+            // The body of the 304 response is empty
+            response.bodyHandler(chunk -> { }).endHandler(result -> { });
+            response.resume();
+
+            cache.read(stale, body -> {
+                if (body != null || request.notModified(stale)) {
+                    responseHandler.handle(new CachedProxyResponse(stale, request.notModified(stale) ? null : body,
+                            now));
+                } else {
+                    // The entry has been evicted in the meantime
+                    HttpHeaders requestHeaders = request.context.request().headers();
+                    requestHeaders.remove(IF_NONE_MATCH);
+                    requestHeaders.remove(IF_MODIFIED_SINCE);
+                    fetch(request, BufferedReadStream.empty(), connection -> connection.responseHandler(responseHandler),
+                            null, null);
+                }
+            });
+            return;
+        }
+
+        final HttpHeaders requestHeaders = request.context.request().headers();
+        if (!response.connected() || !CacheEntry.isStorable(requestHeaders, response.status(), response.headers())) {
+            if (stale != null && response.connected()) {
+                cache.remove(stale);
+            }
+            complete(stale, revalidation, null);
+            responseHandler.handle(response);
+            return;
+        }
+
+        responseHandler.handle(new CopyingProxyResponse(response, cache.maxEntrySize(), body -> {
+            CacheEntry entry = (body == null) ? null : CacheEntry.of(requestHeaders, response.status(),
+                    response.reason(), response.headers(), body, now);
+
+            if (entry != null) {
+                cache.put(request.key, requestHeaders, entry);
+            } else if (stale != null) {
+                cache.remove(stale);
+            }
+
+            complete(stale, revalidation, entry);
+        }));
+    }
+
+    private void serve(CacheRequest request, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler,
+                       CacheEntry entry) {
+        final boolean notModified = request.notModified(entry);
+
+        cache.read(entry, body -> {
+            if (body == null && !notModified) {
+                fetch(request, stream, connectionHandler, null, null);
+            } else {
+                CachedProxyResponse response = new CachedProxyResponse(entry, notModified ? null : body,
+                        System.currentTimeMillis());
+                response.headers().set(X_GRAVITEE_CACHE, "HIT");
+
+                StaticProxyConnection connection = new StaticProxyConnection(response);
+                connectionHandler.handle(connection);
+                connection.sendResponse();
+            }
+        });
+
+        // Resume the incoming request to handle content and end
+        request.context.request().resume();
+    }
+
+    private void complete(CacheEntry stale, PendingResult<CacheEntry> revalidation, CacheEntry result) {
+        if (revalidation != null) {
+            revalidations.remove(stale, revalidation);
+            revalidation.complete(result);
+        }
+    }
+
+    private static String key(ExecutionContext context) {
+        Object endpoint = context.getAttribute(ExecutionContext.ATTR_REQUEST_ENDPOINT);
+        return (endpoint == null) ? context.request().uri() : endpoint + " " + context.request().uri();
+    }
+
+    private static final class CacheRequest {
+
+        private final ExecutionContext context;
+
+        private final String key;
+
+        private final String ifNoneMatch;
+
+        CacheRequest(ExecutionContext context, String key) {
+            this.context = context;
+            this.key = key;
+            this.ifNoneMatch = context.request().headers().getFirst(IF_NONE_MATCH);
+        }
+
+        /**
+         * @return <code>true</code> if the validator sent by the client matches the entry (weak comparison).
+         */
+        boolean notModified(CacheEntry entry) {
+            String etag = entry.etag();
+            if (ifNoneMatch == null || etag == null) {
+                return false;
+            }
+
+            String opaqueTag = weak(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                candidate = candidate.trim();
+                if (candidate.equals("*") || weak(candidate).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private static String weak(String etag) {
+            return etag.startsWith("W/") ? etag.substring(2) : etag;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.core.proxy.*;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces the identical <code>GET</code> and <code>HEAD</code> requests of an API which are in flight at the same
+ * time: only the first one is sent to the endpoint, the next ones wait for its response and receive a copy of it.
+ *
+ * Requests are identical when they share the same method, target and values for a configured set of headers.
+ * Requests carrying credentials (<code>Authorization</code>, <code>Cookie</code>) are only coalesced if these
+ * headers are part of the key, and responses setting cookies are never shared.
+ *
+ * The number of requests waiting for the same response and the size of a shared body are bounded: beyond them,
+ * requests are sent to the endpoint on their own.
+ *
+ * @author GraviteeSource Team
+ */
+public class CoalescingInvoker implements Invoker {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(CoalescingInvoker.class);
+
+    private static final String SET_COOKIE = "Set-Cookie";
+    private static final String COOKIE = "Cookie";
+    private static final String X_GRAVITEE_COALESCED = "X-Gravitee-Coalesced";
+
+    private final Invoker invoker;
+
+    private final List<String> headers;
+
+    private final int maxWaiters;
+
+    private final long maxBodySize;
+
+    private final Map<String, PendingResult<SharedResponse>> inFlights = new ConcurrentHashMap<>();
+
+    /**
+     * @param headers the names of the request headers to take into account, in addition to the method and the
+     *                target, to decide that two requests are identical.
+     */
+    public CoalescingInvoker(final Invoker invoker, final Collection<String> headers, final int maxWaiters,
+                             final long maxBodySize) {
+        this.invoker = invoker;
+        this.headers = new ArrayList<>(headers);
+        this.maxWaiters = maxWaiters;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public void invoke(ExecutionContext context, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler) {
+        final HttpMethod method = InvokerUtils.method(context);
+
+        if ((method != HttpMethod.GET && method != HttpMethod.HEAD) || !isShareable(context.request().headers())) {
+            invoker.invoke(context, stream, connectionHandler);
+            return;
+        }
+
+        final String key = key(method, context);
+        final PendingResult<SharedResponse> inFlight = new PendingResult<>(maxWaiters);
+        final PendingResult<SharedResponse> current = inFlights.putIfAbsent(key, inFlight);
+
+        if (current != null) {
+            final Context vertxContext = Vertx.currentContext();
+            final BufferedReadStream buffered = BufferedReadStream.of(stream);
+
+            boolean joined = current.join(result -> InvokerUtils.runOnContext(vertxContext, () -> {
+                if (result != null) {
+                    ProxyResponse response = result.response();
+                    response.headers().set(X_GRAVITEE_COALESCED, "true");
+
+                    StaticProxyConnection connection = new StaticProxyConnection(response);
+                    connectionHandler.handle(connection);
+                    connection.sendResponse();
+                } else {
+                    invoker.invoke(context, buffered, connectionHandler);
+                }
+            }));
+
+            if (joined) {
+                // Resume the incoming request to handle content and end
+                context.request().resume();
+            } else {
+                invoker.invoke(context, buffered, connectionHandler);
+            }
+
+            return;
+        }
+
+        invoker.invoke(context, stream, connection -> connectionHandler.handle(
+                new InterceptingProxyConnection(connection, new InterceptingProxyConnection.ResponseInterceptor() {
+                    @Override
+                    public void intercept(ProxyResponse response, Handler<ProxyResponse> responseHandler) {
+                        onResponse(key, inFlight, response, responseHandler);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        complete(key, inFlight, null);
+                    }
+                })));
+    }
+
+    private void onResponse(String key, PendingResult<SharedResponse> inFlight, ProxyResponse response,
+                            Handler<ProxyResponse> responseHandler) {
+        if (!response.connected()) {
+            // No response from the endpoint, the waiters get the same status
+            complete(key, inFlight, new SharedResponse(response.status(), null, null, null, false));
+            responseHandler.handle(response);
+        } else if (response.headers().containsKey(SET_COOKIE)) {
+            complete(key, inFlight, null);
+            responseHandler.handle(response);
+        } else {
+            // The headers of the response may be modified by the policies before its body has been received
+            final HttpHeaders headers = new HttpHeaders();
+            response.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+
+            responseHandler.handle(new CopyingProxyResponse(response, maxBodySize, body -> {
+                if (body == null) {
+                    LOGGER.debug("Response to {} is too large to be shared, waiting requests are sent on their own",
+                            key);
+                }
+
+                complete(key, inFlight, (body == null) ? null : new SharedResponse(response.status(), response.reason(),
+                        headers, body, true));
+            }));
+        }
+    }
+
+    private void complete(String key, PendingResult<SharedResponse> inFlight, SharedResponse result) {
+        inFlights.remove(key, inFlight);
+        inFlight.complete(result);
+    }
+
+    private boolean isShareable(HttpHeaders requestHeaders) {
+        return (!requestHeaders.containsKey(HttpHeaders.AUTHORIZATION) || isKeyHeader(HttpHeaders.AUTHORIZATION))
+                && (!requestHeaders.containsKey(COOKIE) || isKeyHeader(COOKIE));
+    }
+
+    private boolean isKeyHeader(String name) {
+        for (String header : headers) {
+            if (header.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String key(HttpMethod method, ExecutionContext context) {
+        StringBuilder key = new StringBuilder(method.name()).append(' ');
+
+        Object endpoint = context.getAttribute(ExecutionContext.ATTR_REQUEST_ENDPOINT);
+        if (endpoint != null) {
+            key.append(endpoint).append(' ');
+        }
+        key.append(context.request().uri());
+
+        HttpHeaders requestHeaders = context.request().headers();
+        for (String header : headers) {
+            List<String> values = requestHeaders.get(header);
+            key.append('\n').append(header).append(':');
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+
+        return key.toString();
+    }
+
+    private static final class SharedResponse {
+
+        private final int status;
+
+        private final String reason;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        private final boolean connected;
+
+        SharedResponse(int status, String reason, HttpHeaders headers, byte[] body, boolean connected) {
+            this.status = status;
+            this.reason = reason;
+            this.headers = headers;
+            this.body = body;
+            this.connected = connected;
+        }
+
+        /**
+         * @return a new response for a waiting request, which can be modified independently of the other ones.
+         */
+        ProxyResponse response() {
+            return connected ? new BufferedProxyResponse(status, reason, headers, Buffer.buffer(body)) :
+                    new EmptyProxyResponse(status);
+        }
+    }
+}
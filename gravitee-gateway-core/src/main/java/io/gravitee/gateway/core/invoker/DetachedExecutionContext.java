@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.el.TemplateEngine;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.Response;
+import io.gravitee.gateway.api.context.MutableExecutionContext;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The context of a call to an endpoint made on behalf of a client request, but apart from it: the request is a
+ * {@link DetachedRequest}, and the attributes set while invoking the endpoint are kept in a copy of the attributes of
+ * the client context.
+ *
+ * @author GraviteeSource Team
+ */
+class DetachedExecutionContext implements MutableExecutionContext {
+
+    private final ExecutionContext context;
+
+    private final Map<String, Object> attributes;
+
+    private Request request;
+
+    DetachedExecutionContext(ExecutionContext context) {
+        this.context = context;
+        this.request = new DetachedRequest(context.request());
+
+        Map<String, Object> contextAttributes = context.getAttributes();
+        this.attributes = (contextAttributes == null) ? new HashMap<>() : new HashMap<>(contextAttributes);
+    }
+
+    @Override
+    public MutableExecutionContext request(Request request) {
+        this.request = request;
+        return this;
+    }
+
+    @Override
+    public MutableExecutionContext response(Response response) {
+        // The response of the client is never written by a detached call
+        return this;
+    }
+
+    @Override
+    public Request request() {
+        return request;
+    }
+
+    @Override
+    public Response response() {
+        return context.response();
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        Object value = attributes.get(name);
+        return (value != null) ? value : attributes.get(ExecutionContext.ATTR_PREFIX + name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public <T> T getComponent(Class<T> componentClass) {
+        return context.getComponent(componentClass);
+    }
+
+    @Override
+    public TemplateEngine getTemplateEngine() {
+        return context.getTemplateEngine();
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.RequestWrapper;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.reporter.api.http.Metrics;
+
+import java.util.ArrayList;
+
+/**
+ * The copy of a request sent to an endpoint apart from the client request: a shadow call, or a background
+ * revalidation. It has its own headers and metrics, so that the call does not leak into the client one, and never
+ * pauses or resumes the client request.
+ *
+ * @author GraviteeSource Team
+ */
+class DetachedRequest extends RequestWrapper {
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    private final Metrics metrics;
+
+    DetachedRequest(Request request) {
+        super(request);
+
+        request.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        this.metrics = Metrics.on(System.currentTimeMillis()).build();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    @Override
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        return this;
+    }
+}
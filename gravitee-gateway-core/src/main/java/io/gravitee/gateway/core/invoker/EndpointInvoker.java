@@ -118,7 +118,7 @@ public class EndpointInvoker implements Invoker {
         context.request().resume();
     }
 
-    private URI buildURI(String uri, ExecutionContext executionContext) {
+    static URI buildURI(String uri, ExecutionContext executionContext) {
         MultiValueMap<String, String> parameters = executionContext.request().parameters();
 
         if (parameters == null || parameters.isEmpty()) {
@@ -128,7 +128,7 @@ public class EndpointInvoker implements Invoker {
         return addQueryParameters(uri, parameters);
     }
 
-    private URI addQueryParameters(String uri, MultiValueMap<String, String> parameters) {
+    private static URI addQueryParameters(String uri, MultiValueMap<String, String> parameters) {
         StringJoiner parametersAsString = new StringJoiner(URI_PARAM_SEPARATOR);
         parameters.forEach( (paramName, paramValues) -> {
             if (paramValues != null) {
@@ -18,9 +18,28 @@ package io.gravitee.gateway.core.invoker;
 import io.gravitee.common.spring.factory.AbstractAutowiringFactoryBean;
 import io.gravitee.definition.model.Api;
 import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.core.endpoint.GroupManager;
 import io.gravitee.gateway.core.failover.FailoverInvoker;
 import io.gravitee.gateway.core.failover.FailoverOptions;
+import io.gravitee.gateway.core.invoker.cache.HttpCache;
+import io.gravitee.gateway.core.invoker.mirror.MirroringMetricsRegistry;
+import io.gravitee.gateway.core.invoker.mirror.MirroringOptions;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -28,9 +47,68 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class InvokerFactory extends AbstractAutowiringFactoryBean<Invoker> {
 
+    private final Logger LOGGER = LoggerFactory.getLogger(InvokerFactory.class);
+
+    private static final String CACHE_APIS_PREFIX = "handlers.cache.apis.";
+
+    private static final String COALESCING_APIS_PREFIX = "handlers.coalescing.apis.";
+
+    private static final String MIRRORING_APIS_PREFIX = "handlers.mirroring.apis.";
+
     @Autowired
     private Api api;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private Vertx vertx;
+
+    @Autowired
+    private GroupManager groupManager;
+
+    @Autowired
+    private MirroringMetricsRegistry mirroringMetricsRegistry;
+
+    @Value("${handlers.mirroring.percentage:100}")
+    private double mirroringPercentage;
+
+    @Value("${handlers.mirroring.maxConcurrent:50}")
+    private int mirroringMaxConcurrent;
+
+    @Value("${handlers.mirroring.timeout:5000}")
+    private long mirroringTimeout;
+
+    @Value("${handlers.coalescing.enabled:false}")
+    private boolean coalescingEnabled;
+
+    @Value("${handlers.coalescing.headers:Accept,Accept-Encoding,Accept-Language}")
+    private String[] coalescingHeaders;
+
+    @Value("${handlers.coalescing.maxWaiters:100}")
+    private int coalescingMaxWaiters;
+
+    @Value("${handlers.coalescing.maxBodySize:1048576}")
+    private long coalescingMaxBodySize;
+
+    @Value("${handlers.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${handlers.cache.maxMemorySize:16777216}")
+    private long cacheMaxMemorySize;
+
+    @Value("${handlers.cache.maxEntrySize:1048576}")
+    private long cacheMaxEntrySize;
+
+    @Value("${handlers.cache.spill.directory:#{null}}")
+    private String cacheSpillDirectory;
+
+    @Value("${handlers.cache.spill.maxSize:268435456}")
+    private long cacheSpillMaxSize;
+
     @Override
     public Class<?> getObjectType() {
         return Invoker.class;
@@ -38,13 +116,93 @@ public class InvokerFactory extends AbstractAutowiringFactoryBean<Invoker> {
 
     @Override
     protected Invoker doCreateInstance() {
+        Invoker invoker;
+
         if (api.getProxy().failoverEnabled()) {
-            return new FailoverInvoker(
+            invoker = new FailoverInvoker(
                     new FailoverOptions()
                             .setMaxAttempts(api.getProxy().getFailover().getMaxAttempts())
                             .setRetryTimeout(api.getProxy().getFailover().getRetryTimeout()));
+        } else {
+            invoker = new EndpointInvoker();
+        }
+
+        String mirroringGroup = apiProperty(MIRRORING_APIS_PREFIX, "group", String.class, null);
+        boolean coalescing = apiProperty(COALESCING_APIS_PREFIX, "enabled", Boolean.class, coalescingEnabled);
+        boolean cache = apiProperty(CACHE_APIS_PREFIX, "enabled", Boolean.class, cacheEnabled);
+
+        if (mirroringGroup != null || coalescing || cache) {
+            // Only the returned invoker is autowired by the factory
+            AutowireCapableBeanFactory beanFactory = applicationContext.getAutowireCapableBeanFactory();
+            beanFactory.autowireBean(invoker);
+            invoker = (Invoker) beanFactory.initializeBean(invoker, invoker.getClass().getName());
+        }
+
+        if (mirroringGroup != null) {
+            invoker = new MirroringInvoker(invoker, new MirroringOptions()
+                    .setGroup(mirroringGroup)
+                    .setPercentage(apiProperty(MIRRORING_APIS_PREFIX, "percentage", Double.class, mirroringPercentage))
+                    .setMaxConcurrent(apiProperty(MIRRORING_APIS_PREFIX, "maxConcurrent", Integer.class,
+                            mirroringMaxConcurrent))
+                    .setTimeout(apiProperty(MIRRORING_APIS_PREFIX, "timeout", Long.class, mirroringTimeout)),
+                    mirroringMetricsRegistry.metrics(api.getId()), groupManager, vertx);
+        }
+
+        if (coalescing) {
+            List<String> headers = new ArrayList<>();
+            for (String header : coalescingHeaders) {
+                if (!header.trim().isEmpty()) {
+                    headers.add(header.trim());
+                }
+            }
+
+            invoker = new CoalescingInvoker(invoker, headers, coalescingMaxWaiters, coalescingMaxBodySize);
+        }
+
+        if (cache) {
+            invoker = new CachingInvoker(invoker, new HttpCache(cacheMaxMemorySize, cacheMaxEntrySize,
+                    spillDirectory(), cacheSpillMaxSize, vertx.fileSystem()));
+        }
+
+        return invoker;
+    }
+
+    /**
+     * @return the value of a property for the API, by API id or API name, or the default value if not defined.
+     */
+    private <T> T apiProperty(String apisPrefix, String name, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(apisPrefix + api.getId() + '.' + name, type);
+        if (value == null && api.getName() != null) {
+            value = environment.getProperty(apisPrefix + api.getName() + '.' + name, type);
+        }
+
+        return (value == null) ? defaultValue : value;
+    }
+
+    /**
+     * @return the directory of the entries of the API spilled to disk, emptied from a previous deployment.
+     */
+    private Path spillDirectory() {
+        if (cacheSpillDirectory == null || cacheSpillDirectory.trim().isEmpty()) {
+            return null;
+        }
+
+        Path directory = Paths.get(cacheSpillDirectory.trim(), api.getId());
+
+        try {
+            Files.createDirectories(directory);
+
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException ioe) {
+            LOGGER.warn("Unable to use {} to spill the cache entries of API {}, entries are kept in memory only",
+                    directory, api.getName(), ioe);
+            return null;
         }
 
-        return new EndpointInvoker();
+        return directory;
     }
 }
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * @author GraviteeSource Team
+ */
+final class InvokerUtils {
+
+    private InvokerUtils() {
+    }
+
+    /**
+     * @return the method sent to the endpoint, which may have been overridden by a policy.
+     */
+    static HttpMethod method(ExecutionContext context) {
+        HttpMethod overrideMethod = (HttpMethod) context.getAttribute(ExecutionContext.ATTR_REQUEST_METHOD);
+        return (overrideMethod == null) ? context.request().method() : overrideMethod;
+    }
+
+    /**
+     * Runs the given code on the given Vert.x context, right away if it is the current one.
+     */
+    static void runOnContext(Context context, Runnable runnable) {
+        if (context == null || context == Vertx.currentContext()) {
+            runnable.run();
+        } else {
+            context.runOnContext(v -> runnable.run());
+        }
+    }
+}
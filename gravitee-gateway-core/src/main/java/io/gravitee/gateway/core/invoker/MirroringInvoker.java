@@ -0,0 +1,252 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyRequest;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.proxy.builder.ProxyRequestBuilder;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.core.endpoint.GroupManager;
+import io.gravitee.gateway.core.endpoint.lifecycle.LoadBalancedEndpointGroup;
+import io.gravitee.gateway.core.invoker.mirror.MirroringMetrics;
+import io.gravitee.gateway.core.invoker.mirror.MirroringOptions;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Copies a sample of the requests of an API to a shadow endpoint group, whose responses are discarded.
+ *
+ * The primary request is never slowed down by its copy: the content of the request is handed to the shadow
+ * connection as it is read, without being copied, and the copy is aborted as soon as the shadow endpoint can not
+ * keep up. The number of copies in flight is bounded, and each copy has its own timeout.
+ *
+ * The outcomes of the copies are reported to {@link MirroringMetrics}, apart from the metrics of the requests.
+ *
+ * @author GraviteeSource Team
+ */
+public class MirroringInvoker implements Invoker {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(MirroringInvoker.class);
+
+    private static final int SERVER_ERROR = 500;
+
+    private final Invoker invoker;
+
+    private final MirroringOptions options;
+
+    private final MirroringMetrics metrics;
+
+    private final GroupManager groupManager;
+
+    private final Vertx vertx;
+
+    public MirroringInvoker(final Invoker invoker, final MirroringOptions options, final MirroringMetrics metrics,
+                            final GroupManager groupManager, final Vertx vertx) {
+        this.invoker = invoker;
+        this.options = options;
+        this.metrics = metrics;
+        this.groupManager = groupManager;
+        this.vertx = vertx;
+    }
+
+    @Override
+    public void invoke(ExecutionContext context, ReadStream<Buffer> stream, Handler<ProxyConnection> connectionHandler) {
+        Shadow shadow = null;
+
+        // WebSockets are not mirrored
+        if (!context.request().headers().containsKey(HttpHeaders.UPGRADE)
+                && ThreadLocalRandom.current().nextDouble(100) < options.getPercentage()
+                && metrics.tryAcquire(options.getMaxConcurrent())) {
+            shadow = mirror(context);
+        }
+
+        invoker.invoke(context, (shadow == null) ? stream : new MirroredReadStream(stream, shadow), connectionHandler);
+    }
+
+    private Shadow mirror(ExecutionContext context) {
+        LoadBalancedEndpointGroup group = groupManager.get(options.getGroup());
+        Endpoint endpoint = (group == null) ? null : group.next();
+
+        if (endpoint == null || !endpoint.available()) {
+            LOGGER.debug("No shadow endpoint available in group {}", options.getGroup());
+            metrics.error();
+            return null;
+        }
+
+        try {
+            DetachedRequest request = new DetachedRequest(context.request());
+            URI uri = EndpointInvoker.buildURI(endpoint.target() + request.pathInfo(), context);
+
+            ProxyRequest proxyRequest = ProxyRequestBuilder.from(request)
+                    .uri(uri)
+                    .method(InvokerUtils.method(context))
+                    .rawMethod(request.rawMethod())
+                    .headers(request.headers())
+                    .build();
+
+            return new Shadow(endpoint.connector().request(proxyRequest));
+        } catch (Exception ex) {
+            LOGGER.debug("Unable to mirror request to endpoint {}: {}", endpoint.name(), ex.getMessage());
+            metrics.error();
+            return null;
+        }
+    }
+
+    /**
+     * A request copied to a shadow endpoint. All its events happen on the event-loop of the primary request.
+     */
+    private final class Shadow {
+
+        private final ProxyConnection connection;
+
+        private final long start = System.currentTimeMillis();
+
+        private final long timerId;
+
+        private boolean ended;
+
+        private boolean completed;
+
+        Shadow(ProxyConnection connection) {
+            this.connection = connection;
+            this.timerId = vertx.setTimer(options.getTimeout(), id -> {
+                if (complete()) {
+                    connection.cancel();
+                    metrics.timeout();
+                }
+            });
+
+            connection.exceptionHandler(throwable -> {
+                if (complete()) {
+                    metrics.error();
+                }
+            });
+
+            connection.responseHandler(this::handleResponse);
+        }
+
+        void write(Buffer chunk) {
+            if (ended || completed) {
+                return;
+            }
+
+            connection.write(chunk);
+
+            // The shadow endpoint must not hold back the primary request
+            if (connection.writeQueueFull() && complete()) {
+                connection.cancel();
+                metrics.drop();
+            }
+        }
+
+        void end() {
+            if (!ended && !completed) {
+                ended = true;
+                connection.end();
+            }
+        }
+
+        private void handleResponse(ProxyResponse response) {
+            if (!response.connected()) {
+                if (complete()) {
+                    metrics.error();
+                }
+                return;
+            }
+
+            response.bodyHandler(chunk -> { }).endHandler(result -> {
+                if (complete()) {
+                    long latency = System.currentTimeMillis() - start;
+                    if (response.status() < SERVER_ERROR) {
+                        metrics.succeeded(latency);
+                    } else {
+                        metrics.failed(latency);
+                    }
+                }
+            });
+            response.resume();
+        }
+
+        /**
+         * @return <code>true</code> if the outcome of the copy is not yet known.
+         */
+        private boolean complete() {
+            if (completed) {
+                return false;
+            }
+
+            completed = true;
+            vertx.cancelTimer(timerId);
+            return true;
+        }
+    }
+
+    /**
+     * Hands the content of the request to the shadow connection, as it is read by the primary one.
+     */
+    private static final class MirroredReadStream implements ReadStream<Buffer> {
+
+        private final ReadStream<Buffer> stream;
+
+        private final Shadow shadow;
+
+        MirroredReadStream(ReadStream<Buffer> stream, Shadow shadow) {
+            this.stream = stream;
+            this.shadow = shadow;
+        }
+
+        @Override
+        public ReadStream<Buffer> bodyHandler(Handler<Buffer> bodyHandler) {
+            stream.bodyHandler(chunk -> {
+                shadow.write(chunk);
+                bodyHandler.handle(chunk);
+            });
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            stream.endHandler(result -> {
+                shadow.end();
+                endHandler.handle(result);
+            });
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            stream.pause();
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            stream.resume();
+            return this;
+        }
+    }
+}
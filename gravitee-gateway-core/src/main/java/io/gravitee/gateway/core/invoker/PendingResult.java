@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.gateway.api.handler.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a call to the endpoint shared by several requests: the requests arriving while the call is in flight
+ * wait for its result instead of calling the endpoint on their own.
+ *
+ * Waiters are called on the thread completing the call, it is up to them to get back to their own event-loop.
+ *
+ * @author GraviteeSource Team
+ */
+final class PendingResult<T> {
+
+    private final int maxWaiters;
+
+    private final List<Handler<T>> waiters = new ArrayList<>();
+
+    private boolean completed;
+
+    /**
+     * @param maxWaiters the maximum number of requests waiting for the result.
+     */
+    PendingResult(int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * @return <code>false</code> if the result is already known, or if too many requests are already waiting for it:
+     * the request has then to be sent to the endpoint on its own.
+     */
+    synchronized boolean join(Handler<T> waiter) {
+        if (completed || waiters.size() >= maxWaiters) {
+            return false;
+        }
+
+        waiters.add(waiter);
+        return true;
+    }
+
+    /**
+     * Hands the result to the waiting requests. Only the first result is taken into account.
+     */
+    void complete(T result) {
+        List<Handler<T>> completedWaiters;
+
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+
+            this.completed = true;
+            completedWaiters = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+
+        completedWaiters.forEach(waiter -> waiter.handle(result));
+    }
+}
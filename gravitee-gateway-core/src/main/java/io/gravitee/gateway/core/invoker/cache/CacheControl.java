@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker.cache;
+
+import io.gravitee.common.http.HttpHeaders;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The directives of the <code>Cache-Control</code> headers of a request or a response.
+ *
+ * @author GraviteeSource Team
+ */
+public final class CacheControl {
+
+    public static final String HEADER = "Cache-Control";
+
+    public static final String NO_STORE = "no-store";
+    public static final String NO_CACHE = "no-cache";
+    public static final String PRIVATE = "private";
+    public static final String PUBLIC = "public";
+    public static final String MAX_AGE = "max-age";
+    public static final String S_MAXAGE = "s-maxage";
+    public static final String MUST_REVALIDATE = "must-revalidate";
+    public static final String PROXY_REVALIDATE = "proxy-revalidate";
+    public static final String STALE_WHILE_REVALIDATE = "stale-while-revalidate";
+
+    private final Map<String, String> directives;
+
+    private CacheControl(Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    public static CacheControl parse(HttpHeaders headers) {
+        Map<String, String> directives = new HashMap<>();
+        List<String> values = headers.get(HEADER);
+
+        if (values != null) {
+            for (String value : values) {
+                for (String directive : value.split(",")) {
+                    int separator = directive.indexOf('=');
+                    String name = ((separator == -1) ? directive : directive.substring(0, separator))
+                            .trim().toLowerCase(Locale.ROOT);
+
+                    if (!name.isEmpty()) {
+                        String argument = (separator == -1) ? null : directive.substring(separator + 1).trim();
+                        if (argument != null && argument.length() > 1 && argument.startsWith("\"")
+                                && argument.endsWith("\"")) {
+                            argument = argument.substring(1, argument.length() - 1);
+                        }
+                        directives.putIfAbsent(name, argument);
+                    }
+                }
+            }
+        }
+
+        return new CacheControl(directives);
+    }
+
+    public boolean has(String directive) {
+        return directives.containsKey(directive);
+    }
+
+    /**
+     * @return the value of a delta-seconds directive, or -1 if the directive is absent or invalid.
+     */
+    public long seconds(String directive) {
+        String value = directives.get(directive);
+        if (value == null) {
+            return -1;
+        }
+
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException nfe) {
+            return -1;
+        }
+    }
+}
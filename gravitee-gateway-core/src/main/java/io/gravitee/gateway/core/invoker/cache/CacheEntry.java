@@ -0,0 +1,270 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker.cache;
+
+import io.gravitee.common.http.HttpHeaders;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * A response stored by the {@link HttpCache}, with its freshness computed from its headers, as done by a shared
+ * cache (RFC 7234).
+ *
+ * The body is kept in memory, or in a file once the entry has been spilled to disk.
+ *
+ * @author GraviteeSource Team
+ */
+public class CacheEntry {
+
+    private static final String AGE = "Age";
+    private static final String DATE = "Date";
+    private static final String EXPIRES = "Expires";
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String VARY = "Vary";
+    private static final String SET_COOKIE = "Set-Cookie";
+    private static final String AUTHORIZATION = "Authorization";
+
+    private static final Set<Integer> CACHEABLE_STATUSES = new HashSet<>(Arrays.asList(200, 203, 300, 301, 404, 410));
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "content-length"));
+
+    private final int status;
+
+    private final String reason;
+
+    private volatile HttpHeaders headers;
+
+    private volatile long storedAt;
+
+    private volatile long freshnessLifetime;
+
+    private volatile long staleWhileRevalidate;
+
+    private volatile boolean mustRevalidate;
+
+    private volatile byte[] body;
+
+    private volatile Path file;
+
+    private final long size;
+
+    private String variantKey;
+
+    CacheEntry(int status, String reason, HttpHeaders headers, byte[] body, long now) {
+        this.status = status;
+        this.reason = reason;
+        this.body = body;
+        this.size = body.length;
+        this.headers = copy(headers, new HttpHeaders());
+        updateFreshness(now);
+    }
+
+    /**
+     * @return the entry built from the given response, or <code>null</code> if the response can not be stored by a
+     * shared cache.
+     */
+    public static CacheEntry of(HttpHeaders requestHeaders, int status, String reason, HttpHeaders responseHeaders,
+                                byte[] body, long now) {
+        return isStorable(requestHeaders, status, responseHeaders) ?
+                new CacheEntry(status, reason, responseHeaders, body, now) : null;
+    }
+
+    /**
+     * Tells if a response can be stored, before reading its body.
+     */
+    public static boolean isStorable(HttpHeaders requestHeaders, int status, HttpHeaders responseHeaders) {
+        if (!CACHEABLE_STATUSES.contains(status) || responseHeaders.containsKey(SET_COOKIE)) {
+            return false;
+        }
+
+        CacheControl cacheControl = CacheControl.parse(responseHeaders);
+        if (cacheControl.has(CacheControl.NO_STORE) || cacheControl.has(CacheControl.PRIVATE)) {
+            return false;
+        }
+
+        List<String> vary = responseHeaders.get(VARY);
+        if (vary != null && vary.stream().anyMatch(value -> value.trim().equals("*"))) {
+            return false;
+        }
+
+        // Responses to authenticated requests can only be shared when explicitly allowed
+        if (requestHeaders.containsKey(AUTHORIZATION) && !cacheControl.has(CacheControl.PUBLIC)
+                && !cacheControl.has(CacheControl.S_MAXAGE) && !cacheControl.has(CacheControl.MUST_REVALIDATE)) {
+            return false;
+        }
+
+        return freshnessLifetime(cacheControl, responseHeaders) >= 0
+                || responseHeaders.getFirst(ETAG) != null || responseHeaders.getFirst(LAST_MODIFIED) != null;
+    }
+
+    /**
+     * Updates the entry with the headers of a <code>304 Not Modified</code> response.
+     */
+    void refresh(HttpHeaders notModifiedHeaders, long now) {
+        this.headers = copy(notModifiedHeaders, copy(headers, new HttpHeaders()));
+        updateFreshness(now);
+    }
+
+    private void updateFreshness(long now) {
+        CacheControl cacheControl = CacheControl.parse(headers);
+
+        this.storedAt = now - Math.max(0, seconds(headers.getFirst(AGE))) * 1000;
+        this.freshnessLifetime = Math.max(0, freshnessLifetime(cacheControl, headers));
+        this.staleWhileRevalidate = Math.max(0, cacheControl.seconds(CacheControl.STALE_WHILE_REVALIDATE)) * 1000;
+        this.mustRevalidate = cacheControl.has(CacheControl.MUST_REVALIDATE)
+                || cacheControl.has(CacheControl.PROXY_REVALIDATE) || cacheControl.has(CacheControl.NO_CACHE);
+    }
+
+    /**
+     * @return the freshness lifetime in milliseconds, or -1 if the response does not define it explicitly.
+     */
+    static long freshnessLifetime(CacheControl cacheControl, HttpHeaders headers) {
+        if (cacheControl.has(CacheControl.NO_CACHE)) {
+            return 0;
+        }
+
+        long sMaxAge = cacheControl.seconds(CacheControl.S_MAXAGE);
+        if (sMaxAge >= 0) {
+            return sMaxAge * 1000;
+        }
+
+        long maxAge = cacheControl.seconds(CacheControl.MAX_AGE);
+        if (maxAge >= 0) {
+            return maxAge * 1000;
+        }
+
+        String expires = headers.getFirst(EXPIRES);
+        if (expires != null) {
+            long expiresAt = date(expires);
+            long date = date(headers.getFirst(DATE));
+
+            // An invalid date means the response is already expired
+            return (expiresAt == -1) ? 0 : Math.max(0, expiresAt - ((date == -1) ? System.currentTimeMillis() : date));
+        }
+
+        return -1;
+    }
+
+    public boolean isFresh(long now) {
+        return now - storedAt < freshnessLifetime;
+    }
+
+    /**
+     * @return <code>true</code> if the entry is stale, but can still be served while being revalidated.
+     */
+    public boolean isStaleWhileRevalidate(long now) {
+        return !mustRevalidate && now - storedAt < freshnessLifetime + staleWhileRevalidate;
+    }
+
+    public boolean hasValidator() {
+        return etag() != null || lastModified() != null;
+    }
+
+    public String etag() {
+        return headers.getFirst(ETAG);
+    }
+
+    public String lastModified() {
+        return headers.getFirst(LAST_MODIFIED);
+    }
+
+    /**
+     * @return the current age of the entry, in seconds.
+     */
+    public long age(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public String reason() {
+        return reason;
+    }
+
+    /**
+     * @return the stored headers. They must not be modified.
+     */
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    void spilled(Path file) {
+        this.file = file;
+        this.body = null;
+    }
+
+    String variantKey() {
+        return variantKey;
+    }
+
+    void variantKey(String variantKey) {
+        this.variantKey = variantKey;
+    }
+
+    private static HttpHeaders copy(HttpHeaders from, HttpHeaders to) {
+        from.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                to.put(name, new ArrayList<>(values));
+            }
+        });
+        return to;
+    }
+
+    private static long seconds(String value) {
+        if (value == null) {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException nfe) {
+            return 0;
+        }
+    }
+
+    private static long date(String value) {
+        if (value == null) {
+            return -1;
+        }
+
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException dtpe) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker.cache;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.core.proxy.BufferedProxyResponse;
+
+/**
+ * A response served from the cache, without calling the endpoint.
+ *
+ * @author GraviteeSource Team
+ */
+public class CachedProxyResponse extends BufferedProxyResponse {
+
+    private static final int NOT_MODIFIED = 304;
+
+    /**
+     * @param body the body of the entry, or <code>null</code> to send a <code>304 Not Modified</code> response.
+     */
+    public CachedProxyResponse(CacheEntry entry, Buffer body, long now) {
+        super((body == null) ? NOT_MODIFIED : entry.status(), (body == null) ? null : entry.reason(),
+                entry.headers(), body);
+
+        headers().set("Age", Long.toString(entry.age(now)));
+        if (body != null) {
+            headers().set(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length()));
+        }
+    }
+}
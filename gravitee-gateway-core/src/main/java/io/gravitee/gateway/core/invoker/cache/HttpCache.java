@@ -0,0 +1,291 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker.cache;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.vertx.core.file.FileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores the responses of an API, in memory up to a maximum size, the least recently used entries being evicted
+ * first. Evicted entries can be spilled to a local directory, also bounded in size, instead of being dropped.
+ *
+ * Entries are looked up by a primary key (method and target of the request) and by the values of the request
+ * headers listed by the <code>Vary</code> header of the stored response.
+ *
+ * @author GraviteeSource Team
+ */
+public class HttpCache {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(HttpCache.class);
+
+    private static final String VARY = "Vary";
+
+    private final long maxMemorySize;
+
+    private final long maxEntrySize;
+
+    private final Path spillDirectory;
+
+    private final long maxDiskSize;
+
+    private final FileSystem fileSystem;
+
+    private final Map<String, List<String>> variants = new ConcurrentHashMap<>();
+
+    private final LinkedHashMap<String, CacheEntry> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<String, CacheEntry> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long memorySize;
+
+    private long diskSize;
+
+    /**
+     * @param spillDirectory the directory to spill the evicted entries to, <code>null</code> to drop them.
+     * @param fileSystem the file system used to read and write spilled entries, without blocking the event-loop.
+     */
+    public HttpCache(long maxMemorySize, long maxEntrySize, Path spillDirectory, long maxDiskSize,
+                     FileSystem fileSystem) {
+        this.maxMemorySize = maxMemorySize;
+        this.maxEntrySize = Math.min(maxEntrySize, maxMemorySize);
+        this.spillDirectory = spillDirectory;
+        this.maxDiskSize = maxDiskSize;
+        this.fileSystem = fileSystem;
+    }
+
+    public long maxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * @return the entry stored for the given key and request headers, or <code>null</code>.
+     */
+    public CacheEntry get(String key, HttpHeaders requestHeaders) {
+        List<String> vary = variants.get(key);
+        if (vary == null) {
+            return null;
+        }
+
+        String variantKey = variantKey(key, vary, requestHeaders);
+
+        synchronized (this) {
+            CacheEntry entry = memoryEntries.get(variantKey);
+            return (entry != null) ? entry : diskEntries.get(variantKey);
+        }
+    }
+
+    /**
+     * Stores an entry, replacing the previous entry of the same variant.
+     */
+    public void put(String key, HttpHeaders requestHeaders, CacheEntry entry) {
+        if (entry.size() > maxEntrySize) {
+            return;
+        }
+
+        List<String> vary = vary(entry.headers());
+        variants.put(key, vary);
+        entry.variantKey(variantKey(key, vary, requestHeaders));
+
+        List<CacheEntry> spilled = new ArrayList<>();
+        List<CacheEntry> removed = new ArrayList<>();
+
+        synchronized (this) {
+            CacheEntry previous = memoryEntries.put(entry.variantKey(), entry);
+            if (previous != null) {
+                memorySize -= previous.size();
+            }
+
+            previous = diskEntries.remove(entry.variantKey());
+            if (previous != null) {
+                diskSize -= previous.size();
+                removed.add(previous);
+            }
+
+            memorySize += entry.size();
+
+            Iterator<CacheEntry> eldest = memoryEntries.values().iterator();
+            while (memorySize > maxMemorySize && eldest.hasNext()) {
+                CacheEntry evicted = eldest.next();
+                eldest.remove();
+                memorySize -= evicted.size();
+
+                if (spillDirectory != null && evicted.size() <= maxDiskSize) {
+                    diskEntries.put(evicted.variantKey(), evicted);
+                    diskSize += evicted.size();
+                    spilled.add(evicted);
+                }
+            }
+
+            eldest = diskEntries.values().iterator();
+            while (diskSize > maxDiskSize && eldest.hasNext()) {
+                CacheEntry evicted = eldest.next();
+                eldest.remove();
+                diskSize -= evicted.size();
+                removed.add(evicted);
+            }
+        }
+
+        spilled.forEach(this::spill);
+        removed.forEach(this::delete);
+    }
+
+    /**
+     * Updates an entry with the headers of a <code>304 Not Modified</code> response.
+     */
+    public void refresh(CacheEntry entry, HttpHeaders notModifiedHeaders, long now) {
+        entry.refresh(notModifiedHeaders, now);
+    }
+
+    public void remove(CacheEntry entry) {
+        boolean removed = false;
+
+        synchronized (this) {
+            if (memoryEntries.remove(entry.variantKey(), entry)) {
+                memorySize -= entry.size();
+            } else if (diskEntries.remove(entry.variantKey(), entry)) {
+                diskSize -= entry.size();
+                removed = true;
+            }
+        }
+
+        if (removed) {
+            delete(entry);
+        }
+    }
+
+    /**
+     * Reads the body of an entry. The handler is called with <code>null</code> if the body is no longer available.
+     */
+    public void read(CacheEntry entry, Handler<Buffer> handler) {
+        byte[] body = entry.body();
+        if (body != null) {
+            handler.handle(Buffer.buffer(body));
+            return;
+        }
+
+        Path file = entry.file();
+        if (file == null) {
+            handler.handle(null);
+            return;
+        }
+
+        fileSystem.readFile(file.toString(), result -> {
+            if (result.succeeded()) {
+                handler.handle(Buffer.buffer(result.result().getBytes()));
+            } else {
+                LOGGER.debug("Unable to read cache entry from {}: {}", file, result.cause().getMessage());
+                remove(entry);
+                handler.handle(null);
+            }
+        });
+    }
+
+    public synchronized long memorySize() {
+        return memorySize;
+    }
+
+    public synchronized long diskSize() {
+        return diskSize;
+    }
+
+    public synchronized int size() {
+        return memoryEntries.size() + diskEntries.size();
+    }
+
+    private void spill(CacheEntry entry) {
+        byte[] body = entry.body();
+        if (body == null) {
+            return;
+        }
+
+        Path file = spillDirectory.resolve(UUID.randomUUID().toString());
+        fileSystem.writeFile(file.toString(), io.vertx.core.buffer.Buffer.buffer(body), result -> {
+            boolean stored;
+
+            synchronized (this) {
+                stored = result.succeeded() && diskEntries.get(entry.variantKey()) == entry;
+                if (stored) {
+                    entry.spilled(file);
+                } else if (diskEntries.remove(entry.variantKey(), entry)) {
+                    diskSize -= entry.size();
+                }
+            }
+
+            if (result.failed()) {
+                LOGGER.warn("Unable to spill cache entry to {}: {}", file, result.cause().getMessage());
+            } else if (!stored) {
+                // Evicted from the disk while being written
+                fileSystem.delete(file.toString(), deleted -> { });
+            }
+        });
+    }
+
+    private void delete(CacheEntry entry) {
+        Path file = entry.file();
+        if (file != null) {
+            fileSystem.delete(file.toString(), result -> {
+                if (result.failed()) {
+                    LOGGER.debug("Unable to delete cache entry {}: {}", file, result.cause().getMessage());
+                }
+            });
+        }
+    }
+
+    private static List<String> vary(HttpHeaders headers) {
+        List<String> values = headers.get(VARY);
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> names = new ArrayList<>();
+        for (String value : values) {
+            for (String name : value.split(",")) {
+                name = name.trim().toLowerCase(Locale.ROOT);
+                if (!name.isEmpty() && !names.contains(name)) {
+                    names.add(name);
+                }
+            }
+        }
+
+        Collections.sort(names);
+        return names;
+    }
+
+    private static String variantKey(String key, List<String> vary, HttpHeaders requestHeaders) {
+        if (vary.isEmpty()) {
+            return key;
+        }
+
+        StringBuilder variantKey = new StringBuilder(key);
+        for (String name : vary) {
+            List<String> values = requestHeaders.get(name);
+            variantKey.append('\n').append(name).append(':');
+            if (values != null) {
+                variantKey.append(String.join(",", values));
+            }
+        }
+
+        return variantKey.toString();
+    }
+}
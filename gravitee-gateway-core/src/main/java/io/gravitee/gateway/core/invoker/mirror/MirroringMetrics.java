@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker.mirror;
+
+import io.gravitee.gateway.core.latency.RollingLatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of the requests copied to the shadow endpoints of an API. They are kept apart from the metrics of the
+ * requests themselves, which only reflect the primary endpoints.
+ *
+ * @author GraviteeSource Team
+ */
+public class MirroringMetrics {
+
+    private static final long LATENCY_WINDOW = 60000L;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder mirrored = new LongAdder();
+
+    private final LongAdder succeeded = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final RollingLatencyHistogram latencies = new RollingLatencyHistogram(LATENCY_WINDOW, 6);
+
+    /**
+     * @return <code>false</code> if the maximum number of copies in flight has been reached, in which case the
+     * request is not copied.
+     */
+    public boolean tryAcquire(int maxConcurrent) {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrent) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        mirrored.increment();
+        return true;
+    }
+
+    public void succeeded(long latency) {
+        inFlight.decrementAndGet();
+        succeeded.increment();
+        latencies.record(latency);
+    }
+
+    public void failed(long latency) {
+        inFlight.decrementAndGet();
+        failed.increment();
+        latencies.record(latency);
+    }
+
+    public void error() {
+        inFlight.decrementAndGet();
+        errors.increment();
+    }
+
+    public void timeout() {
+        inFlight.decrementAndGet();
+        timeouts.increment();
+    }
+
+    public void drop() {
+        inFlight.decrementAndGet();
+        dropped.increment();
+    }
+
+    /**
+     * @return the number of copies waiting for their response.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the number of requests copied to the shadow endpoints.
+     */
+    public long mirrored() {
+        return mirrored.sum();
+    }
+
+    /**
+     * @return the number of copies answered with a status lower than 500.
+     */
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * @return the number of copies answered with a 5xx status.
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the number of copies which could not be sent, or whose response could not be read.
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return the number of copies not answered in time.
+     */
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return the number of requests not copied because too many copies were in flight.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of copies aborted because the shadow endpoint could not keep up with the request content.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100.
+     * @return the response time of the shadow endpoints over the last minute, or -1 if no response was received.
+     */
+    public long latency(double percentile) {
+        return latencies.percentile(percentile);
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker.mirror;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the mirroring metrics of the APIs, across their redeployments.
+ *
+ * @author GraviteeSource Team
+ */
+public class MirroringMetricsRegistry {
+
+    private final Map<String, MirroringMetrics> metrics = new ConcurrentHashMap<>();
+
+    public MirroringMetrics metrics(String api) {
+        return metrics.computeIfAbsent(api, id -> new MirroringMetrics());
+    }
+
+    /**
+     * @return the mirroring metrics, by API id.
+     */
+    public Map<String, MirroringMetrics> metrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+}
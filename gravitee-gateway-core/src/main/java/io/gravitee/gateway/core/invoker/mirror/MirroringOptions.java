@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker.mirror;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MirroringOptions {
+
+    private String group;
+
+    private double percentage = 100;
+
+    private int maxConcurrent = 50;
+
+    private long timeout = 5000L;
+
+    /**
+     * @param group the name of the endpoint group receiving the copies of the requests.
+     */
+    public MirroringOptions setGroup(String group) {
+        this.group = group;
+        return this;
+    }
+
+    /**
+     * @param percentage the percentage of the requests copied to the group, between 0 and 100.
+     */
+    public MirroringOptions setPercentage(double percentage) {
+        this.percentage = percentage;
+        return this;
+    }
+
+    public MirroringOptions setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        return this;
+    }
+
+    public MirroringOptions setTimeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.latency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies (in milliseconds) over a window driven by the caller: values are kept until the histogram
+ * is reset. Values are counted in the same log-linear buckets as the {@link RollingLatencyHistogram}.
+ *
+ * This class is thread-safe and lock-free: a value recorded while the histogram is reset is either part of the
+ * returned snapshot, or kept for the next one.
+ *
+ * @author GraviteeSource Team
+ */
+public class LatencyHistogram {
+
+    private final AtomicLongArray counts = new AtomicLongArray(RollingLatencyHistogram.BUCKETS);
+
+    public void record(long latency) {
+        counts.incrementAndGet(RollingLatencyHistogram.index(Math.max(0, latency)));
+    }
+
+    /**
+     * Returns the values recorded since the previous reset, and resets the histogram.
+     */
+    public Snapshot getAndReset() {
+        long[] snapshot = new long[RollingLatencyHistogram.BUCKETS];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.getAndSet(i, 0);
+        }
+
+        return new Snapshot(snapshot);
+    }
+
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private final long count;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+
+            long total = 0;
+            for (long bucketCount : counts) {
+                total += bucketCount;
+            }
+            this.count = total;
+        }
+
+        /**
+         * @return the number of values recorded.
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * @param percentile the percentile, between 0 and 100.
+         * @return the value under which the given percentage of the recorded values fall, or -1 if no value has been
+         * recorded.
+         */
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return -1;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+            long cumulated = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulated += counts[i];
+                if (cumulated >= rank) {
+                    return RollingLatencyHistogram.upperBound(i);
+                }
+            }
+
+            return RollingLatencyHistogram.upperBound(counts.length - 1);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.latency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * A histogram of latencies (in milliseconds) over a rolling time window.
+ *
+ * The window is split into slices: recording a value only increments a counter of the current slice, and a slice is
+ * reset when it is reused for a new period. Values are counted in log-linear buckets (8 sub-buckets per power of
+ * two), so that percentiles are known with a precision of 12.5%.
+ *
+ * This class is thread-safe and lock-free on the recording path.
+ *
+ * @author GraviteeSource Team
+ */
+public class RollingLatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 16;
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_EXPONENT = 40;
+
+    static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - 4 + 1) * SUB_BUCKETS;
+
+    private final Slice[] slices;
+
+    private final long sliceDuration;
+
+    private final LongSupplier clock;
+
+    /**
+     * @param window the duration of the window, in milliseconds.
+     * @param slices the number of slices the window is split into.
+     */
+    public RollingLatencyHistogram(long window, int slices) {
+        this(window, slices, System::currentTimeMillis);
+    }
+
+    RollingLatencyHistogram(long window, int slices, LongSupplier clock) {
+        if (slices <= 0) {
+            throw new IllegalArgumentException("slices must be greater than 0: " + slices);
+        }
+
+        this.slices = new Slice[slices];
+        for (int i = 0; i < slices; i++) {
+            this.slices[i] = new Slice();
+        }
+        this.sliceDuration = Math.max(1, window / slices);
+        this.clock = clock;
+    }
+
+    public void record(long latency) {
+        long period = clock.getAsLong() / sliceDuration;
+        Slice slice = slices[(int) (period % slices.length)];
+
+        if (slice.period != period) {
+            slice.reset(period);
+        }
+
+        slice.counts.incrementAndGet(index(Math.max(0, latency)));
+    }
+
+    /**
+     * @return the number of values recorded during the window.
+     */
+    public long count() {
+        long period = clock.getAsLong() / sliceDuration;
+        long count = 0;
+
+        for (Slice slice : slices) {
+            if (slice.isActive(period, slices.length)) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    count += slice.counts.get(i);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100.
+     * @return the value under which the given percentage of the values recorded during the window fall, or -1 if no
+     * value has been recorded.
+     */
+    public long percentile(double percentile) {
+        long period = clock.getAsLong() / sliceDuration;
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+
+        for (Slice slice : slices) {
+            if (slice.isActive(period, slices.length)) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    long count = slice.counts.get(i);
+                    counts[i] += count;
+                    total += count;
+                }
+            }
+        }
+
+        if (total == 0) {
+            return -1;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulated += counts[i];
+            if (cumulated >= rank) {
+                return upperBound(i);
+            }
+        }
+
+        return upperBound(BUCKETS - 1);
+    }
+
+    static int index(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(value));
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+
+        int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static final class Slice {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        private volatile long period = -1;
+
+        boolean isActive(long currentPeriod, int slices) {
+            long p = period;
+            return p > currentPeriod - slices && p <= currentPeriod;
+        }
+
+        synchronized void reset(long newPeriod) {
+            if (period != newPeriod) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    counts.set(i, 0);
+                }
+                period = newPeriod;
+            }
+        }
+    }
+}
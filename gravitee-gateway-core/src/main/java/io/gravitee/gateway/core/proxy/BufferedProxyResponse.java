@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.proxy;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
+
+import java.util.ArrayList;
+
+/**
+ * A response whose body is already fully available. The body is sent once the response is resumed.
+ *
+ * @author GraviteeSource Team
+ */
+public class BufferedProxyResponse implements ProxyResponse {
+
+    private final int status;
+
+    private final String reason;
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    private final Buffer body;
+
+    private Handler<Buffer> bodyHandler;
+
+    private Handler<Void> endHandler;
+
+    private boolean sent;
+
+    /**
+     * @param headers the headers of the response, copied so that they can be modified independently.
+     * @param body the body of the response, <code>null</code> if the response has no body.
+     */
+    public BufferedProxyResponse(int status, String reason, HttpHeaders headers, Buffer body) {
+        this.status = status;
+        this.reason = reason;
+        this.body = body;
+
+        headers.forEach((name, values) -> this.headers.put(name, new ArrayList<>(values)));
+    }
+
+    @Override
+    public int status() {
+        return status;
+    }
+
+    @Override
+    public String reason() {
+        return reason;
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    @Override
+    public ProxyResponse bodyHandler(Handler<Buffer> bodyHandler) {
+        this.bodyHandler = bodyHandler;
+        return this;
+    }
+
+    @Override
+    public ProxyResponse endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        if (!sent) {
+            sent = true;
+
+            if (body != null && body.length() > 0 && bodyHandler != null) {
+                bodyHandler.handle(body);
+            }
+
+            if (endHandler != null) {
+                endHandler.handle(null);
+            }
+        }
+
+        return this;
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.proxy;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
+
+/**
+ * Copies the body of a response of the endpoint while it is relayed to the client, up to a maximum size.
+ *
+ * @author GraviteeSource Team
+ */
+public class CopyingProxyResponse implements ProxyResponse {
+
+    private final ProxyResponse response;
+
+    private final long maxSize;
+
+    private final Handler<byte[]> copyHandler;
+
+    private Buffer body = Buffer.buffer();
+
+    /**
+     * @param copyHandler called with the whole body once the response has ended, or with <code>null</code> if the
+     *                    body is larger than the maximum size.
+     */
+    public CopyingProxyResponse(ProxyResponse response, long maxSize, Handler<byte[]> copyHandler) {
+        this.response = response;
+        this.maxSize = maxSize;
+        this.copyHandler = copyHandler;
+    }
+
+    @Override
+    public int status() {
+        return response.status();
+    }
+
+    @Override
+    public String reason() {
+        return response.reason();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return response.headers();
+    }
+
+    @Override
+    public boolean connected() {
+        return response.connected();
+    }
+
+    @Override
+    public ReadStream<Buffer> bodyHandler(Handler<Buffer> bodyHandler) {
+        response.bodyHandler(chunk -> {
+            if (body != null) {
+                if (body.length() + chunk.length() > maxSize) {
+                    body = null;
+                } else {
+                    body.appendBuffer(chunk);
+                }
+            }
+
+            bodyHandler.handle(chunk);
+        });
+
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        response.endHandler(result -> {
+            copyHandler.handle((body == null) ? null : body.getBytes());
+            endHandler.handle(result);
+        });
+
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        response.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        response.resume();
+        return this;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.proxy;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.WriteStream;
+
+/**
+ * A connection to the endpoint whose response is intercepted before being handed to the gateway, to be copied or
+ * replaced by another response.
+ *
+ * @author GraviteeSource Team
+ */
+public class InterceptingProxyConnection implements ProxyConnection {
+
+    private final ProxyConnection connection;
+
+    private final ResponseInterceptor interceptor;
+
+    public InterceptingProxyConnection(ProxyConnection connection, ResponseInterceptor interceptor) {
+        this.connection = connection;
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public WriteStream<Buffer> write(Buffer content) {
+        connection.write(content);
+        return this;
+    }
+
+    @Override
+    public void end() {
+        connection.end();
+    }
+
+    @Override
+    public void end(Buffer buffer) {
+        connection.end(buffer);
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+        return connection.writeQueueFull();
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> drainHandler) {
+        connection.drainHandler(drainHandler);
+        return this;
+    }
+
+    @Override
+    public ProxyConnection cancel() {
+        connection.cancel();
+        interceptor.cancelled();
+        return this;
+    }
+
+    @Override
+    public ProxyConnection exceptionHandler(Handler<Throwable> exceptionHandler) {
+        connection.exceptionHandler(exceptionHandler);
+        return this;
+    }
+
+    @Override
+    public ProxyConnection responseHandler(Handler<ProxyResponse> responseHandler) {
+        connection.responseHandler(response -> interceptor.intercept(response, responseHandler));
+        return this;
+    }
+
+    public interface ResponseInterceptor {
+
+        /**
+         * Hands the response of the endpoint, or a response replacing it, to the given handler.
+         */
+        void intercept(ProxyResponse response, Handler<ProxyResponse> responseHandler);
+
+        /**
+         * Called when the request is canceled, the response of the endpoint will not be received.
+         */
+        void cancelled();
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.proxy;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.WriteStream;
+
+/**
+ * A connection serving a response which is already available, without calling the endpoint. The content of the
+ * request is ignored.
+ *
+ * @author GraviteeSource Team
+ */
+public class StaticProxyConnection implements ProxyConnection {
+
+    private final ProxyResponse response;
+
+    private Handler<ProxyResponse> responseHandler;
+
+    public StaticProxyConnection(ProxyResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    public WriteStream<Buffer> write(Buffer content) {
+        return this;
+    }
+
+    @Override
+    public void end() {
+        // Nothing to do here...
+    }
+
+    @Override
+    public ProxyConnection responseHandler(Handler<ProxyResponse> responseHandler) {
+        this.responseHandler = responseHandler;
+        return this;
+    }
+
+    public void sendResponse() {
+        this.responseHandler.handle(response);
+    }
+}
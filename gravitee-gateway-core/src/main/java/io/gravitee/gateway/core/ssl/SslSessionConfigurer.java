@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.ssl;
+
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.OpenSslSessionContext;
+import io.netty.handler.ssl.OpenSslSessionTicketKey;
+import io.vertx.core.http.HttpConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Applies the TLS session resumption settings (session cache size and timeout, session ticket keys) to the session
+ * context of the TLS connections.
+ *
+ * Vert.x does not expose the SSL context it creates, so the settings are applied to its session context the first
+ * time a connection using it is established.
+ *
+ * Session ticket keys are only supported by the OpenSSL engine. A key file contains 48 bytes: the name of the key, the
+ * AES key and the HMAC key (16 bytes each), which is the format used by nginx. The first key is used to encrypt new
+ * tickets, the other ones are only used to decrypt tickets (key rotation).
+ *
+ * @author GraviteeSource Team
+ */
+public class SslSessionConfigurer {
+
+    private static final int TICKET_KEY_LENGTH = 48;
+    private static final int TICKET_KEY_PART_LENGTH = 16;
+
+    private final Logger logger = LoggerFactory.getLogger(SslSessionConfigurer.class);
+
+    private final int sessionCacheSize;
+
+    private final int sessionTimeout;
+
+    private final List<byte[]> ticketKeys = new ArrayList<>();
+
+    private final Set<SSLSessionContext> configured = Collections.newSetFromMap(
+            Collections.synchronizedMap(new WeakHashMap<>()));
+
+    /**
+     * @param sessionCacheSize max number of cached sessions, the default of the engine is kept if not positive.
+     * @param sessionTimeout timeout of the cached sessions in seconds, the default of the engine is kept if not positive.
+     * @param ticketKeyPaths paths of the session ticket key files, may be <code>null</code>.
+     */
+    public SslSessionConfigurer(int sessionCacheSize, int sessionTimeout, Collection<String> ticketKeyPaths)
+            throws IOException {
+        this.sessionCacheSize = sessionCacheSize;
+        this.sessionTimeout = sessionTimeout;
+
+        if (ticketKeyPaths != null) {
+            for (String path : ticketKeyPaths) {
+                ticketKeys.add(readTicketKey(Paths.get(path)));
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if there is at least one setting to apply.
+     */
+    public boolean isEnabled() {
+        return sessionCacheSize > 0 || sessionTimeout > 0 || !ticketKeys.isEmpty();
+    }
+
+    public void configure(HttpConnection connection) {
+        if (!connection.isSsl()) {
+            return;
+        }
+
+        SSLSession session = connection.sslSession();
+        SSLSessionContext context = (session != null) ? session.getSessionContext() : null;
+
+        if (context != null && configured.add(context)) {
+            configure(context);
+        }
+    }
+
+    void configure(SSLSessionContext context) {
+        if (sessionCacheSize > 0) {
+            context.setSessionCacheSize(sessionCacheSize);
+        }
+
+        if (sessionTimeout > 0) {
+            context.setSessionTimeout(sessionTimeout);
+        }
+
+        if (!ticketKeys.isEmpty()) {
+            // The OpenSSL classes must not be loaded when netty-tcnative is missing
+            if (OpenSsl.isAvailable() && context instanceof OpenSslSessionContext) {
+                ((OpenSslSessionContext) context).setTicketKeys(ticketKeys.stream()
+                        .map(key -> new OpenSslSessionTicketKey(
+                                Arrays.copyOfRange(key, 0, TICKET_KEY_PART_LENGTH),
+                                Arrays.copyOfRange(key, 2 * TICKET_KEY_PART_LENGTH, TICKET_KEY_LENGTH),
+                                Arrays.copyOfRange(key, TICKET_KEY_PART_LENGTH, 2 * TICKET_KEY_PART_LENGTH)))
+                        .toArray(OpenSslSessionTicketKey[]::new));
+            } else {
+                logger.warn("Session ticket keys are only supported by the OpenSSL engine, they are ignored");
+            }
+        }
+
+        logger.debug("TLS session context configured: cacheSize={}, timeout={}s", context.getSessionCacheSize(),
+                context.getSessionTimeout());
+    }
+
+    static byte[] readTicketKey(Path path) throws IOException {
+        byte[] key = Files.readAllBytes(path);
+        if (key.length != TICKET_KEY_LENGTH) {
+            throw new IllegalArgumentException("Session ticket key " + path + " must be " + TICKET_KEY_LENGTH
+                    + " bytes long, found " + key.length);
+        }
+
+        return key;
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.timer;
+
+/**
+ * A hashed timing wheel: timeouts are stored in a ring of buckets, each bucket covering one tick, so that scheduling
+ * and cancelling a timeout are O(1) operations. Timeouts further than one revolution of the wheel are kept in their
+ * bucket with a number of remaining rounds.
+ *
+ * The precision of a timeout is one tick: a task is never run before its deadline, but may be run up to one tick
+ * after it.
+ *
+ * This class is not thread-safe: it is meant to be owned and advanced by a single event-loop.
+ *
+ * @author GraviteeSource Team
+ */
+public class HashedWheelTimer {
+
+    private final long tickDuration;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final long startTime;
+
+    /**
+     * The next tick to be processed.
+     */
+    private long tick;
+
+    private int pending;
+
+    /**
+     * @param tickDuration the duration of a tick, in milliseconds.
+     * @param wheelSize the number of buckets of the wheel, rounded up to the next power of two.
+     * @param now the current time, in milliseconds.
+     */
+    public HashedWheelTimer(long tickDuration, int wheelSize, long now) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0: " + tickDuration);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be between 1 and 2^30: " + wheelSize);
+        }
+
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+
+        this.tickDuration = tickDuration;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = now;
+    }
+
+    /**
+     * Schedules a task to be run once the given delay has elapsed.
+     *
+     * @param delay the delay, in milliseconds.
+     * @param task the task to run.
+     * @param now the current time, in milliseconds.
+     * @return the timeout, which can be used to cancel the task.
+     */
+    public Timeout schedule(long delay, Runnable task, long now) {
+        long deadline = Math.max(0, now - startTime) + Math.max(0, delay);
+        long deadlineTick = Math.max(tick, (deadline + tickDuration - 1) / tickDuration);
+
+        Timeout timeout = new Timeout(task);
+        timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+        wheel[(int) (deadlineTick & mask)].add(timeout);
+        pending++;
+
+        return timeout;
+    }
+
+    /**
+     * Processes all the ticks elapsed until the given time, and runs the expired tasks.
+     *
+     * @param now the current time, in milliseconds.
+     */
+    public void advance(long now) {
+        long lastTick = (now - startTime) / tickDuration;
+
+        while (tick <= lastTick) {
+            Bucket bucket = wheel[(int) (tick & mask)];
+            tick++;
+            bucket.expire();
+        }
+    }
+
+    /**
+     * @return the number of scheduled timeouts which have neither expired nor been cancelled.
+     */
+    public int pending() {
+        return pending;
+    }
+
+    public long tickDuration() {
+        return tickDuration;
+    }
+
+    public final class Timeout {
+
+        private final Runnable task;
+
+        private long remainingRounds;
+
+        private Bucket bucket;
+
+        private Timeout prev;
+
+        private Timeout next;
+
+        private boolean cancelled;
+
+        private boolean expired;
+
+        private Timeout(Runnable task) {
+            this.task = task;
+        }
+
+        /**
+         * Cancels the timeout, the task will not be run.
+         *
+         * @return <code>false</code> if the timeout has already expired or been cancelled.
+         */
+        public boolean cancel() {
+            if (cancelled || expired) {
+                return false;
+            }
+
+            cancelled = true;
+            if (bucket != null) {
+                bucket.remove(this);
+            }
+            pending--;
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isExpired() {
+            return expired;
+        }
+    }
+
+    private final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expire() {
+            // Expired timeouts are unlinked first, so that tasks can freely schedule or cancel other timeouts
+            Timeout expired = null;
+            Timeout lastExpired = null;
+            Timeout timeout = head;
+
+            while (timeout != null) {
+                Timeout next = timeout.next;
+
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (lastExpired == null) {
+                        expired = timeout;
+                    } else {
+                        lastExpired.next = timeout;
+                    }
+                    lastExpired = timeout;
+                } else {
+                    timeout.remainingRounds--;
+                }
+
+                timeout = next;
+            }
+
+            while (expired != null) {
+                Timeout next = expired.next;
+                expired.next = null;
+
+                if (!expired.cancelled) {
+                    expired.expired = true;
+                    pending--;
+                    expired.task.run();
+                }
+
+                expired = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.timer;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the timeouts of an event-loop on its own {@link HashedWheelTimer}, instead of creating a Vert.x timer per
+ * timeout. The wheel is advanced by a single periodic timer, which only runs while some timeouts are pending.
+ *
+ * A scheduler is bound to a Vert.x context and must only be used from that context.
+ *
+ * @author GraviteeSource Team
+ */
+public final class TimeoutScheduler {
+
+    private static final String CONTEXT_KEY = TimeoutScheduler.class.getName();
+
+    /**
+     * Duration of a tick, in milliseconds. This is the precision of the timeouts.
+     */
+    private static final long TICK_DURATION = 10;
+
+    /**
+     * Number of buckets: one revolution of the wheel covers ~5 seconds.
+     */
+    private static final int WHEEL_SIZE = 512;
+
+    private final Vertx vertx;
+
+    private final HashedWheelTimer wheel;
+
+    private long timerId = -1;
+
+    private TimeoutScheduler(Vertx vertx) {
+        this.vertx = vertx;
+        this.wheel = new HashedWheelTimer(TICK_DURATION, WHEEL_SIZE, now());
+    }
+
+    /**
+     * @return the scheduler of the current context, or <code>null</code> if the caller is not running on a Vert.x
+     * context.
+     */
+    public static TimeoutScheduler current() {
+        Context context = Vertx.currentContext();
+        return (context == null) ? null : of(context);
+    }
+
+    public static TimeoutScheduler of(Context context) {
+        TimeoutScheduler scheduler = context.get(CONTEXT_KEY);
+        if (scheduler == null) {
+            scheduler = new TimeoutScheduler(context.owner());
+            context.put(CONTEXT_KEY, scheduler);
+        }
+
+        return scheduler;
+    }
+
+    /**
+     * Schedules a task to be run on this context once the given delay has elapsed.
+     *
+     * @param delay the delay, in milliseconds.
+     * @param task the task to run.
+     * @return the timeout, which can be used to cancel the task.
+     */
+    public HashedWheelTimer.Timeout schedule(long delay, Runnable task) {
+        HashedWheelTimer.Timeout timeout = wheel.schedule(delay, task, now());
+
+        if (timerId == -1) {
+            timerId = vertx.setPeriodic(TICK_DURATION, id -> tick());
+        }
+
+        return timeout;
+    }
+
+    public int pending() {
+        return wheel.pending();
+    }
+
+    private void tick() {
+        wheel.advance(now());
+
+        // Do not wake up the event-loop while there is nothing to expire
+        if (wheel.pending() == 0 && timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+}
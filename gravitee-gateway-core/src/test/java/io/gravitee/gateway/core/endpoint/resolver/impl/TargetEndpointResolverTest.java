@@ -361,6 +361,25 @@ public class TargetEndpointResolverTest {
         );
     }
 
+    @Test
+    public void shouldResolveUserDefinedEndpoint_unixDomainSocket() {
+        resolveUserDefinedEndpoint(
+                "unix://%2Fvar%2Frun%2Fbackend.sock/test/",
+                "unix://%2Fvar%2Frun%2Fbackend.sock/test/",
+                "endpoint",
+                "unix://%2Fvar%2Frun%2Fbackend.sock/"
+        );
+    }
+
+    @Test
+    public void shouldResolveUserDefinedEndpoint_startingWithSlash_unixDomainSocket() {
+        resolveUserDefinedEndpoint(
+                "unix://%2Fvar%2Frun%2Fbackend.sock/test/my/path",
+                "/my/path",
+                "endpoint",
+                "unix://%2Fvar%2Frun%2Fbackend.sock/test/"
+        );
+    }
 
     private void resolveUserDefinedEndpoint(String expectedURI, String requestEndpoint, String endpointName, String endpointTarget) {
         resolveUserDefinedEndpoint(expectedURI, null, requestEndpoint, endpointName, endpointTarget);
@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.api.stream.WriteStream;
+import org.junit.Before;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Base class of the tests of the invokers wrapping the endpoint invoker: the calls to the endpoint are recorded, and
+ * answered by the tests through {@link TestProxyConnection#respond(int, String, String...)}.
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractInvokerTest {
+
+    @Mock
+    protected Invoker delegate;
+
+    protected final List<TestProxyConnection> upstreamConnections = new ArrayList<>();
+
+    protected final List<Request> upstreamRequests = new ArrayList<>();
+
+    protected final List<HttpHeaders> upstreamRequestHeaders = new ArrayList<>();
+
+    @Before
+    public void setUpDelegate() {
+        doAnswer(invocation -> {
+            ExecutionContext context = invocation.getArgument(0);
+            Handler<ProxyConnection> connectionHandler = invocation.getArgument(2);
+
+            HttpHeaders headers = new HttpHeaders();
+            context.request().headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+            upstreamRequests.add(context.request());
+            upstreamRequestHeaders.add(headers);
+
+            TestProxyConnection connection = new TestProxyConnection();
+            upstreamConnections.add(connection);
+            connectionHandler.handle(connection);
+            return null;
+        }).when(delegate).invoke(any(), any(), any());
+    }
+
+    /**
+     * @return the invoker under test.
+     */
+    protected abstract Invoker invoker();
+
+    protected ClientResponse invoke(HttpMethod method, String... headers) {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        for (int i = 0; i < headers.length; i += 2) {
+            requestHeaders.set(headers[i], headers[i + 1]);
+        }
+
+        Request request = mock(Request.class);
+        when(request.method()).thenReturn(method);
+        lenient().when(request.headers()).thenReturn(requestHeaders);
+        lenient().when(request.uri()).thenReturn("/products");
+
+        ExecutionContext context = mock(ExecutionContext.class);
+        when(context.request()).thenReturn(request);
+
+        ClientResponse clientResponse = new ClientResponse(request);
+        invoker().invoke(context, BufferedReadStream.empty(),
+                connection -> connection.responseHandler(response -> {
+                    clientResponse.status = response.status();
+                    clientResponse.headers = response.headers();
+                    response
+                            .bodyHandler(clientResponse.body::appendBuffer)
+                            .endHandler(result -> clientResponse.ended = true);
+                    response.resume();
+                }));
+
+        return clientResponse;
+    }
+
+    protected static class ClientResponse {
+
+        protected final Request request;
+
+        protected int status;
+
+        protected HttpHeaders headers;
+
+        protected final Buffer body = Buffer.buffer();
+
+        protected boolean ended;
+
+        ClientResponse(Request request) {
+            this.request = request;
+        }
+    }
+
+    protected static class TestProxyConnection implements ProxyConnection {
+
+        private Handler<ProxyResponse> responseHandler;
+
+        @Override
+        public WriteStream<Buffer> write(Buffer content) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+
+        @Override
+        public ProxyConnection responseHandler(Handler<ProxyResponse> responseHandler) {
+            this.responseHandler = responseHandler;
+            return this;
+        }
+
+        void respond(int status, String body, String... headers) {
+            TestProxyResponse response = new TestProxyResponse(status, body);
+            for (int i = 0; i < headers.length; i += 2) {
+                response.headers.set(headers[i], headers[i + 1]);
+            }
+            responseHandler.handle(response);
+        }
+    }
+
+    private static class TestProxyResponse implements ProxyResponse {
+
+        private final int status;
+
+        private final String body;
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private Handler<Buffer> bodyHandler;
+
+        private Handler<Void> endHandler;
+
+        TestProxyResponse(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        @Override
+        public ProxyResponse bodyHandler(Handler<Buffer> bodyHandler) {
+            this.bodyHandler = bodyHandler;
+            return this;
+        }
+
+        @Override
+        public ProxyResponse endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            if (!body.isEmpty()) {
+                bodyHandler.handle(Buffer.buffer(body));
+            }
+            endHandler.handle(null);
+            return this;
+        }
+    }
+}
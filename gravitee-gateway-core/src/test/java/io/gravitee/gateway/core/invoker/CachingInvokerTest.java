@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.core.invoker.cache.HttpCache;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingInvokerTest extends AbstractInvokerTest {
+
+    private CachingInvoker invoker;
+
+    @Before
+    public void setUp() {
+        invoker = new CachingInvoker(delegate, new HttpCache(1024, 1024, null, 0, null));
+    }
+
+    @Test
+    public void shouldServeFreshResponseFromCache() {
+        ClientResponse first = invoke(HttpMethod.GET);
+        upstreamConnections.get(0).respond(200, "payload", "Cache-Control", "max-age=60");
+
+        ClientResponse second = invoke(HttpMethod.GET);
+
+        verify(delegate, times(1)).invoke(any(), any(), any());
+        Assert.assertEquals("payload", first.body.toString());
+        Assert.assertEquals(200, second.status);
+        Assert.assertEquals("payload", second.body.toString());
+        Assert.assertTrue(second.ended);
+    }
+
+    @Test
+    public void shouldNotCachePrivateResponse() {
+        invoke(HttpMethod.GET);
+        upstreamConnections.get(0).respond(200, "payload", "Cache-Control", "private, max-age=60");
+
+        invoke(HttpMethod.GET);
+
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotCacheOtherMethods() {
+        invoke(HttpMethod.POST);
+        upstreamConnections.get(0).respond(200, "payload", "Cache-Control", "max-age=60");
+
+        invoke(HttpMethod.POST);
+
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Test
+    public void shouldRevalidateOnceForConcurrentRequests() {
+        invoke(HttpMethod.GET);
+        upstreamConnections.get(0).respond(200, "payload", "Cache-Control", "max-age=0", "ETag", "\"v1\"");
+
+        ClientResponse first = invoke(HttpMethod.GET);
+        ClientResponse second = invoke(HttpMethod.GET);
+
+        // A single conditional request is sent for both requests
+        verify(delegate, times(2)).invoke(any(), any(), any());
+        Assert.assertEquals("\"v1\"", upstreamRequestHeaders.get(1).getFirst("If-None-Match"));
+
+        upstreamConnections.get(1).respond(304, "", "Cache-Control", "max-age=0", "ETag", "\"v1\"");
+
+        Assert.assertEquals(200, first.status);
+        Assert.assertEquals("payload", first.body.toString());
+        Assert.assertEquals(200, second.status);
+        Assert.assertEquals("payload", second.body.toString());
+    }
+
+    @Test
+    public void shouldServeStaleWhileRevalidating() {
+        invoke(HttpMethod.GET);
+        upstreamConnections.get(0).respond(200, "payload", "Cache-Control", "max-age=0, stale-while-revalidate=60",
+                "ETag", "\"v1\"");
+
+        ClientResponse response = invoke(HttpMethod.GET);
+
+        // Served right away, the entry being revalidated in the background
+        Assert.assertEquals("payload", response.body.toString());
+        verify(delegate, times(2)).invoke(any(), any(), any());
+
+        upstreamConnections.get(1).respond(200, "updated", "Cache-Control", "max-age=60", "ETag", "\"v2\"");
+
+        Assert.assertEquals("updated", invoke(HttpMethod.GET).body.toString());
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Test
+    public void shouldRevalidateInBackgroundApartFromClientRequest() {
+        invoke(HttpMethod.GET);
+        upstreamConnections.get(0).respond(200, "payload", "Cache-Control", "max-age=0, stale-while-revalidate=60",
+                "ETag", "\"v1\"");
+
+        ClientResponse response = invoke(HttpMethod.GET, "If-None-Match", "\"v0\"");
+
+        // The conditional request is sent with its own headers and metrics
+        Request revalidation = upstreamRequests.get(1);
+        Assert.assertNotSame(response.request, revalidation);
+        Assert.assertEquals("\"v1\"", revalidation.headers().getFirst("If-None-Match"));
+        Assert.assertNotNull(revalidation.metrics());
+        Assert.assertNotSame(response.request.metrics(), revalidation.metrics());
+
+        Assert.assertEquals("\"v0\"", response.request.headers().getFirst("If-None-Match"));
+        Assert.assertEquals(200, response.status);
+        Assert.assertEquals("payload", response.body.toString());
+    }
+
+    @Test
+    public void shouldRespondNotModifiedToConditionalRequest() {
+        invoke(HttpMethod.GET);
+        upstreamConnections.get(0).respond(200, "payload", "Cache-Control", "max-age=60", "ETag", "\"v1\"");
+
+        ClientResponse response = invoke(HttpMethod.GET, "If-None-Match", "W/\"v1\"");
+
+        Assert.assertEquals(304, response.status);
+        Assert.assertEquals(0, response.body.length());
+    }
+
+    @Test
+    public void shouldVaryOnRequestHeaders() {
+        invoke(HttpMethod.GET, "Accept", "application/json");
+        upstreamConnections.get(0).respond(200, "{}", "Cache-Control", "max-age=60", "Vary", "Accept");
+
+        invoke(HttpMethod.GET, "Accept", "application/xml");
+        invoke(HttpMethod.GET, "Accept", "application/json");
+
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Override
+    protected Invoker invoker() {
+        return invoker;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.Invoker;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CoalescingInvokerTest extends AbstractInvokerTest {
+
+    private CoalescingInvoker invoker;
+
+    @Before
+    public void setUp() {
+        invoker = new CoalescingInvoker(delegate, Collections.singletonList("Accept"), 10, 1024);
+    }
+
+    @Test
+    public void shouldShareResponseBetweenIdenticalRequests() {
+        ClientResponse first = invoke(HttpMethod.GET);
+        ClientResponse second = invoke(HttpMethod.GET);
+
+        verify(delegate, times(1)).invoke(any(), any(), any());
+
+        upstreamConnections.get(0).respond(200, "payload", "Content-Type", "text/plain");
+
+        Assert.assertEquals("payload", first.body.toString());
+        Assert.assertEquals(200, second.status);
+        Assert.assertEquals("payload", second.body.toString());
+        Assert.assertEquals("text/plain", second.headers.getFirst("Content-Type"));
+        Assert.assertEquals("true", second.headers.getFirst("X-Gravitee-Coalesced"));
+        Assert.assertTrue(second.ended);
+    }
+
+    @Test
+    public void shouldNotCoalesceOtherMethods() {
+        invoke(HttpMethod.POST);
+        invoke(HttpMethod.POST);
+
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotCoalesceRequestsWithDifferentKeyHeaders() {
+        invoke(HttpMethod.GET, "Accept", "application/json");
+        invoke(HttpMethod.GET, "Accept", "application/xml");
+
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotCoalesceRequestsWithCredentials() {
+        invoke(HttpMethod.GET, "Authorization", "Bearer a");
+        invoke(HttpMethod.GET, "Authorization", "Bearer b");
+
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotShareResponseSettingCookies() {
+        invoke(HttpMethod.GET);
+        ClientResponse second = invoke(HttpMethod.GET);
+
+        upstreamConnections.get(0).respond(200, "payload", "Set-Cookie", "session=1");
+
+        // The waiting request is sent on its own
+        verify(delegate, times(2)).invoke(any(), any(), any());
+        upstreamConnections.get(1).respond(200, "other", "Set-Cookie", "session=2");
+        Assert.assertEquals("other", second.body.toString());
+    }
+
+    @Test
+    public void shouldSendWaitersOnTheirOwnWhenBodyIsTooLarge() {
+        invoker = new CoalescingInvoker(delegate, Collections.emptyList(), 10, 4);
+
+        ClientResponse first = invoke(HttpMethod.GET);
+        invoke(HttpMethod.GET);
+
+        upstreamConnections.get(0).respond(200, "payload");
+
+        Assert.assertEquals("payload", first.body.toString());
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Test
+    public void shouldLimitWaiters() {
+        invoker = new CoalescingInvoker(delegate, Collections.emptyList(), 1, 1024);
+
+        invoke(HttpMethod.GET);
+        invoke(HttpMethod.GET);
+        invoke(HttpMethod.GET);
+
+        verify(delegate, times(2)).invoke(any(), any(), any());
+    }
+
+    @Override
+    protected Invoker invoker() {
+        return invoker;
+    }
+}
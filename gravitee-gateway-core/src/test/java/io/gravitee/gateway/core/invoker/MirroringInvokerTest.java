@@ -0,0 +1,229 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.Connector;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Invoker;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.proxy.ProxyConnection;
+import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.core.endpoint.GroupManager;
+import io.gravitee.gateway.core.endpoint.lifecycle.LoadBalancedEndpointGroup;
+import io.gravitee.gateway.core.invoker.mirror.MirroringMetrics;
+import io.gravitee.gateway.core.invoker.mirror.MirroringOptions;
+import io.gravitee.gateway.core.proxy.BufferedProxyResponse;
+import io.vertx.core.Vertx;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MirroringInvokerTest {
+
+    @Mock
+    private Invoker delegate;
+
+    @Mock
+    private GroupManager groupManager;
+
+    @Mock
+    private LoadBalancedEndpointGroup group;
+
+    @Mock
+    private Endpoint endpoint;
+
+    @Mock
+    private Connector connector;
+
+    @Mock
+    private ProxyConnection shadowConnection;
+
+    @Mock
+    private Vertx vertx;
+
+    @Mock
+    private Request request;
+
+    @Mock
+    private ExecutionContext context;
+
+    private final MirroringMetrics metrics = new MirroringMetrics();
+
+    private final TestReadStream stream = new TestReadStream();
+
+    private final List<Buffer> primaryContent = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        lenient().when(groupManager.get("shadow")).thenReturn(group);
+        lenient().when(group.next()).thenReturn(endpoint);
+        lenient().when(endpoint.available()).thenReturn(true);
+        lenient().when(endpoint.target()).thenReturn("http://shadow:8080");
+        lenient().when(endpoint.connector()).thenReturn(connector);
+        lenient().when(connector.request(any())).thenReturn(shadowConnection);
+
+        when(context.request()).thenReturn(request);
+        when(request.headers()).thenReturn(new HttpHeaders());
+        lenient().when(request.method()).thenReturn(HttpMethod.POST);
+        lenient().when(request.pathInfo()).thenReturn("/products");
+
+        // The primary invoker reads the content of the request
+        doAnswer(invocation -> {
+            ReadStream<Buffer> content = invocation.getArgument(1);
+            content.bodyHandler(primaryContent::add).endHandler(result -> { });
+            return null;
+        }).when(delegate).invoke(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotMirrorWhenNotSampled() {
+        invoker(0, 10).invoke(context, stream, connection -> { });
+
+        verify(delegate).invoke(eq(context), eq(stream), any());
+        verify(connector, never()).request(any());
+    }
+
+    @Test
+    public void shouldCopyRequestContentToShadowEndpoint() {
+        invoker(100, 10).invoke(context, stream, connection -> { });
+
+        Buffer chunk = Buffer.buffer("payload");
+        stream.push(chunk);
+        stream.end();
+
+        // The same chunk is handed to both connections
+        verify(shadowConnection).write(same(chunk));
+        verify(shadowConnection).end();
+        Assert.assertSame(chunk, primaryContent.get(0));
+        Assert.assertEquals(1, metrics.mirrored());
+        Assert.assertEquals(1, metrics.inFlight());
+    }
+
+    @Test
+    public void shouldNotMirrorBeyondMaxConcurrent() {
+        MirroringInvoker invoker = invoker(100, 1);
+
+        invoker.invoke(context, stream, connection -> { });
+        invoker.invoke(context, new TestReadStream(), connection -> { });
+
+        verify(connector, times(1)).request(any());
+        verify(delegate, times(2)).invoke(any(), any(), any());
+        Assert.assertEquals(1, metrics.rejected());
+    }
+
+    @Test
+    public void shouldDropShadowWhichCannotKeepUp() {
+        when(shadowConnection.writeQueueFull()).thenReturn(true);
+        invoker(100, 10).invoke(context, stream, connection -> { });
+
+        stream.push(Buffer.buffer("first"));
+        stream.push(Buffer.buffer("second"));
+        stream.end();
+
+        verify(shadowConnection, times(1)).write(any());
+        verify(shadowConnection).cancel();
+        verify(shadowConnection, never()).end();
+        Assert.assertEquals(2, primaryContent.size());
+        Assert.assertEquals(1, metrics.dropped());
+        Assert.assertEquals(0, metrics.inFlight());
+    }
+
+    @Test
+    public void shouldCancelShadowOnTimeout() {
+        invoker(100, 10).invoke(context, stream, connection -> { });
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<io.vertx.core.Handler<Long>> timeoutHandler =
+                ArgumentCaptor.forClass(io.vertx.core.Handler.class);
+        verify(vertx).setTimer(eq(1000L), timeoutHandler.capture());
+        timeoutHandler.getValue().handle(1L);
+
+        verify(shadowConnection).cancel();
+        Assert.assertEquals(1, metrics.timeouts());
+        Assert.assertEquals(0, metrics.inFlight());
+    }
+
+    @Test
+    public void shouldReportShadowResponse() {
+        invoker(100, 10).invoke(context, stream, connection -> { });
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Handler<ProxyResponse>> responseHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(shadowConnection).responseHandler(responseHandler.capture());
+        responseHandler.getValue().handle(new BufferedProxyResponse(503, null, new HttpHeaders(), null));
+
+        verify(vertx).cancelTimer(anyLong());
+        Assert.assertEquals(1, metrics.failed());
+        Assert.assertEquals(0, metrics.succeeded());
+        Assert.assertEquals(0, metrics.inFlight());
+    }
+
+    private MirroringInvoker invoker(double percentage, int maxConcurrent) {
+        return new MirroringInvoker(delegate, new MirroringOptions()
+                .setGroup("shadow")
+                .setPercentage(percentage)
+                .setMaxConcurrent(maxConcurrent)
+                .setTimeout(1000L), metrics, groupManager, vertx);
+    }
+
+    private static class TestReadStream implements ReadStream<Buffer> {
+
+        private Handler<Buffer> bodyHandler;
+
+        private Handler<Void> endHandler;
+
+        @Override
+        public ReadStream<Buffer> bodyHandler(Handler<Buffer> bodyHandler) {
+            this.bodyHandler = bodyHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        void push(Buffer chunk) {
+            bodyHandler.handle(chunk);
+        }
+
+        void end() {
+            endHandler.handle(null);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.invoker.cache;
+
+import io.gravitee.common.http.HttpHeaders;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class HttpCacheTest {
+
+    private final HttpCache cache = new HttpCache(10, 10, null, 0, null);
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntries() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+
+        cache.put("/a", requestHeaders, entry(4));
+        cache.put("/b", requestHeaders, entry(4));
+        Assert.assertNotNull(cache.get("/a", requestHeaders));
+
+        cache.put("/c", requestHeaders, entry(4));
+
+        Assert.assertNotNull(cache.get("/a", requestHeaders));
+        Assert.assertNull(cache.get("/b", requestHeaders));
+        Assert.assertNotNull(cache.get("/c", requestHeaders));
+        Assert.assertEquals(8, cache.memorySize());
+    }
+
+    @Test
+    public void shouldNotStoreEntryLargerThanMaxEntrySize() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+
+        cache.put("/a", requestHeaders, entry(11));
+
+        Assert.assertNull(cache.get("/a", requestHeaders));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldComputeFreshnessFromHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(CacheControl.HEADER, "max-age=60, s-maxage=10");
+        headers.set("Age", "5");
+
+        CacheEntry entry = CacheEntry.of(new HttpHeaders(), 200, null, headers, new byte[0], 100_000);
+
+        Assert.assertNotNull(entry);
+        Assert.assertTrue(entry.isFresh(100_000 + 4_000));
+        Assert.assertFalse(entry.isFresh(100_000 + 5_000));
+        Assert.assertEquals(5, entry.age(100_000));
+    }
+
+    @Test
+    public void shouldNotStoreResponseToAuthorizedRequest() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.set("Authorization", "Bearer token");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(CacheControl.HEADER, "max-age=60");
+
+        Assert.assertFalse(CacheEntry.isStorable(requestHeaders, 200, headers));
+
+        headers.set(CacheControl.HEADER, "public, max-age=60");
+        Assert.assertTrue(CacheEntry.isStorable(requestHeaders, 200, headers));
+    }
+
+    private static CacheEntry entry(int size) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(CacheControl.HEADER, "max-age=60");
+        return CacheEntry.of(new HttpHeaders(), 200, null, headers, new byte[size], System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.latency;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldComputePercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.getAndReset();
+        Assert.assertEquals(100, snapshot.count());
+
+        long p50 = snapshot.percentile(50);
+        Assert.assertTrue(p50 >= 50 && p50 <= 50 * 1.125);
+
+        long p99 = snapshot.percentile(99);
+        Assert.assertTrue(p99 >= 99 && p99 <= 99 * 1.125);
+    }
+
+    @Test
+    public void shouldReturnNoPercentileWhenEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getAndReset().count());
+        Assert.assertEquals(-1, histogram.getAndReset().percentile(99));
+    }
+
+    @Test
+    public void shouldOnlyKeepValuesRecordedSinceReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(1_000);
+        Assert.assertEquals(1, histogram.getAndReset().count());
+
+        histogram.record(10);
+        LatencyHistogram.Snapshot snapshot = histogram.getAndReset();
+        Assert.assertEquals(1, snapshot.count());
+        Assert.assertEquals(10, snapshot.percentile(100));
+    }
+}
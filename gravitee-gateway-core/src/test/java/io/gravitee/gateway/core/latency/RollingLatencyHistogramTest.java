@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.latency;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class RollingLatencyHistogramTest {
+
+    @Test
+    public void shouldMapValuesToBuckets() {
+        for (long value = 0; value < 100_000; value++) {
+            int index = RollingLatencyHistogram.index(value);
+            Assert.assertTrue(value <= RollingLatencyHistogram.upperBound(index));
+            Assert.assertTrue(index == 0 || value > RollingLatencyHistogram.upperBound(index - 1));
+        }
+    }
+
+    @Test
+    public void shouldComputePercentile() {
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(60_000, 10, () -> 0);
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(100, histogram.count());
+
+        long p50 = histogram.percentile(50);
+        Assert.assertTrue(p50 >= 50 && p50 <= 50 * 1.125);
+
+        long p99 = histogram.percentile(99);
+        Assert.assertTrue(p99 >= 99 && p99 <= 99 * 1.125);
+    }
+
+    @Test
+    public void shouldReturnNoPercentileWhenEmpty() {
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(60_000, 10, () -> 0);
+
+        Assert.assertEquals(-1, histogram.percentile(99));
+    }
+
+    @Test
+    public void shouldForgetValuesOutsideOfTheWindow() {
+        AtomicLong clock = new AtomicLong();
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(10_000, 10, clock::get);
+
+        histogram.record(1_000);
+
+        clock.set(5_000);
+        histogram.record(10);
+        Assert.assertEquals(2, histogram.count());
+
+        clock.set(10_500);
+        Assert.assertEquals(1, histogram.count());
+        Assert.assertEquals(10, histogram.percentile(100));
+    }
+}
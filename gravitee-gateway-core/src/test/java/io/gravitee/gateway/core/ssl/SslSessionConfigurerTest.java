@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.ssl;
+
+import io.vertx.core.http.HttpConnection;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class SslSessionConfigurerTest {
+
+    @Test
+    public void shouldBeDisabledByDefault() throws IOException {
+        Assert.assertFalse(new SslSessionConfigurer(-1, -1, null).isEnabled());
+    }
+
+    @Test
+    public void shouldConfigureSessionContextOnce() throws IOException {
+        SslSessionConfigurer configurer = new SslSessionConfigurer(1000, 300, null);
+
+        SSLSessionContext sessionContext = mock(SSLSessionContext.class);
+        SSLSession session = mock(SSLSession.class);
+        when(session.getSessionContext()).thenReturn(sessionContext);
+        HttpConnection connection = mock(HttpConnection.class);
+        when(connection.isSsl()).thenReturn(true);
+        when(connection.sslSession()).thenReturn(session);
+
+        configurer.configure(connection);
+        configurer.configure(connection);
+
+        verify(sessionContext, times(1)).setSessionCacheSize(1000);
+        verify(sessionContext, times(1)).setSessionTimeout(300);
+    }
+
+    @Test
+    public void shouldIgnorePlainConnection() throws IOException {
+        SslSessionConfigurer configurer = new SslSessionConfigurer(1000, 300, null);
+
+        HttpConnection connection = mock(HttpConnection.class);
+        configurer.configure(connection);
+
+        verify(connection, never()).sslSession();
+    }
+
+    @Test
+    public void shouldReadTicketKey() throws IOException {
+        Path key = Files.createTempFile("ticket", ".key");
+        key.toFile().deleteOnExit();
+        Files.write(key, new byte[48]);
+
+        Assert.assertTrue(new SslSessionConfigurer(-1, -1, Collections.singletonList(key.toString())).isEnabled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidTicketKey() throws IOException {
+        Path key = Files.createTempFile("ticket", ".key");
+        key.toFile().deleteOnExit();
+        Files.write(key, new byte[32]);
+
+        new SslSessionConfigurer(-1, -1, Collections.singletonList(key.toString()));
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.timer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class HashedWheelTimerTest {
+
+    @Test
+    public void shouldNotExpireBeforeDeadline() {
+        HashedWheelTimer timer = new HashedWheelTimer(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+
+        timer.schedule(25, () -> expired.add("task"), 0);
+
+        timer.advance(20);
+        Assert.assertTrue(expired.isEmpty());
+
+        timer.advance(30);
+        Assert.assertEquals(1, expired.size());
+        Assert.assertEquals(0, timer.pending());
+    }
+
+    @Test
+    public void shouldExpireAfterSeveralRounds() {
+        HashedWheelTimer timer = new HashedWheelTimer(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+
+        // The wheel covers 80ms: this timeout needs more than two rounds
+        timer.schedule(200, () -> expired.add("task"), 0);
+
+        timer.advance(80);
+        timer.advance(160);
+        timer.advance(190);
+        Assert.assertTrue(expired.isEmpty());
+
+        timer.advance(200);
+        Assert.assertEquals(1, expired.size());
+    }
+
+    @Test
+    public void shouldNotRunCancelledTimeout() {
+        HashedWheelTimer timer = new HashedWheelTimer(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+
+        HashedWheelTimer.Timeout first = timer.schedule(10, () -> expired.add("first"), 0);
+        timer.schedule(10, () -> expired.add("second"), 0);
+
+        Assert.assertTrue(first.cancel());
+        Assert.assertFalse(first.cancel());
+        Assert.assertEquals(1, timer.pending());
+
+        timer.advance(10);
+        Assert.assertEquals(1, expired.size());
+        Assert.assertEquals("second", expired.get(0));
+        Assert.assertTrue(first.isCancelled());
+    }
+
+    @Test
+    public void shouldCancelTimeoutFromExpiringTask() {
+        HashedWheelTimer timer = new HashedWheelTimer(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+        List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+
+        timeouts.add(timer.schedule(10, () -> {
+            expired.add("first");
+            timeouts.get(1).cancel();
+        }, 0));
+        timeouts.add(timer.schedule(10, () -> expired.add("second"), 0));
+
+        timer.advance(10);
+        Assert.assertEquals(1, expired.size());
+        Assert.assertEquals(0, timer.pending());
+    }
+
+    @Test
+    public void shouldRescheduleFromExpiringTask() {
+        HashedWheelTimer timer = new HashedWheelTimer(10, 8, 0);
+        List<String> expired = new ArrayList<>();
+
+        timer.schedule(10, () -> timer.schedule(80, () -> expired.add("rescheduled"), 10), 0);
+
+        timer.advance(10);
+        Assert.assertEquals(1, timer.pending());
+
+        timer.advance(80);
+        Assert.assertTrue(expired.isEmpty());
+
+        timer.advance(90);
+        Assert.assertEquals(1, expired.size());
+        Assert.assertEquals(0, timer.pending());
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.env;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Properties published by the gateway along with its heartbeat, so that they can be read by the other gateways of the
+ * cluster through the management repository.
+ *
+ * The names of the properties must be prefixed by the name of the component publishing them, so that they never
+ * override the properties of the heartbeat itself.
+ *
+ * @author GraviteeSource Team
+ */
+public class HeartbeatProperties {
+
+    private final Map<String, String> properties = new ConcurrentHashMap<>();
+
+    public void put(String name, String value) {
+        properties.put(name, value);
+    }
+
+    public void remove(String name) {
+        properties.remove(name);
+    }
+
+    /**
+     * @return a read-only view of the properties to publish with the next heartbeat.
+     */
+    public Map<String, String> properties() {
+        return Collections.unmodifiableMap(properties);
+    }
+}
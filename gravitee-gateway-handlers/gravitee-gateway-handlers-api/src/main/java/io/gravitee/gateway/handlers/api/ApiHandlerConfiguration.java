@@ -25,6 +25,9 @@ import io.gravitee.gateway.core.endpoint.ref.impl.DefaultReferenceRegister;
 import io.gravitee.gateway.core.endpoint.resolver.EndpointResolver;
 import io.gravitee.gateway.core.endpoint.resolver.impl.TargetEndpointResolver;
 import io.gravitee.gateway.core.invoker.InvokerFactory;
+import io.gravitee.gateway.handlers.api.compression.ResponseCompressionFactory;
+import io.gravitee.gateway.handlers.api.concurrency.AdmissionControllerFactory;
+import io.gravitee.gateway.handlers.api.concurrency.ConcurrencyLimiterFactory;
 import io.gravitee.gateway.handlers.api.context.ApiTemplateVariableProvider;
 import io.gravitee.gateway.handlers.api.path.PathResolver;
 import io.gravitee.gateway.handlers.api.path.impl.ApiPathResolverImpl;
@@ -164,4 +167,19 @@ public class ApiHandlerConfiguration {
     public OnErrorProcessorChainFactory errorProcessorChainFactory() {
         return new OnErrorProcessorChainFactory();
     }
+
+    @Bean
+    public ConcurrencyLimiterFactory concurrencyLimiterFactory() {
+        return new ConcurrencyLimiterFactory();
+    }
+
+    @Bean
+    public AdmissionControllerFactory admissionControllerFactory() {
+        return new AdmissionControllerFactory();
+    }
+
+    @Bean
+    public ResponseCompressionFactory responseCompressionFactory() {
+        return new ResponseCompressionFactory();
+    }
 }
@@ -20,11 +20,17 @@ import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.Invoker;
 import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.context.MutableExecutionContext;
 import io.gravitee.gateway.api.proxy.ProxyResponse;
 import io.gravitee.gateway.core.endpoint.lifecycle.GroupLifecyleManager;
 import io.gravitee.gateway.core.invoker.EndpointInvoker;
 import io.gravitee.gateway.core.processor.ProcessorFailure;
 import io.gravitee.gateway.core.processor.StreamableProcessor;
+import io.gravitee.gateway.handlers.api.compression.CompressedResponse;
+import io.gravitee.gateway.handlers.api.compression.ResponseCompression;
+import io.gravitee.gateway.handlers.api.compression.ResponseEncoder;
+import io.gravitee.gateway.handlers.api.concurrency.AdmissionController;
+import io.gravitee.gateway.handlers.api.concurrency.ConcurrencyLimiter;
 import io.gravitee.gateway.handlers.api.definition.Api;
 import io.gravitee.gateway.handlers.api.processor.OnErrorProcessorChainFactory;
 import io.gravitee.gateway.handlers.api.processor.RequestProcessorChainFactory;
@@ -34,6 +40,7 @@ import io.gravitee.gateway.reactor.Reactable;
 import io.gravitee.gateway.reactor.handler.AbstractReactorHandler;
 import io.gravitee.gateway.resource.ResourceLifecycleManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.Map;
 import java.util.Objects;
@@ -63,6 +70,15 @@ public class ApiReactorHandler extends AbstractReactorHandler {
     @Autowired
     private OnErrorProcessorChainFactory errorProcessorChain;
 
+    @Autowired
+    private AdmissionController admissionController;
+
+    @Autowired
+    private ResponseCompression responseCompression;
+
+    @Value("${handlers.request.concurrency.retryAfter:1}")
+    private int retryAfter;
+
     @Override
     protected void doHandle(final ExecutionContext context) {
         final Request request = context.request();
@@ -90,7 +106,7 @@ public class ApiReactorHandler extends AbstractReactorHandler {
         final StreamableProcessor<ExecutionContext, Buffer> chain = requestProcessorChain.create();
 
         chain
-                .handler(__ -> handleProxyInvocation(context, chain))
+                .handler(__ -> handleAdmission(context, chain))
                 .streamErrorHandler(failure -> {
                     handleError(context, failure);
                 })
@@ -104,22 +120,50 @@ public class ApiReactorHandler extends AbstractReactorHandler {
                 .handle(context);
     }
 
-    private void handleProxyInvocation(
+    private void handleAdmission(
             final ExecutionContext context,
             final StreamableProcessor<ExecutionContext, Buffer> chain) {
 
+        // Wait for the backend to be able to handle one more in-flight request, or reject the request
+        admissionController.admit(context, limiterListener -> {
+            if (context.response().ended()) {
+                // The request has been waiting for too long and has already been ended (by a request timeout)
+                if (limiterListener != null) {
+                    limiterListener.onIgnore();
+                }
+            } else if (limiterListener == null) {
+                context.response().headers().set(RETRY_AFTER, Integer.toString(retryAfter));
+                handleError(context, CONCURRENCY_LIMIT_PROCESSOR_FAILURE);
+            } else {
+                handleProxyInvocation(context, chain, limiterListener);
+            }
+        });
+    }
+
+    private void handleProxyInvocation(
+            final ExecutionContext context,
+            final StreamableProcessor<ExecutionContext, Buffer> chain,
+            final ConcurrencyLimiter.Listener limiterListener) {
+
+        // A request timeout means the backend was not able to handle the request in time
+        context.request().timeoutHandler(result -> {
+            limiterListener.onDropped();
+            handleError(context, TIMEOUT_PROCESSOR_FAILURE);
+        });
+
         // Call an invoker to get a proxy connection (connection to an underlying backend, mainly HTTP)
         Invoker upstreamInvoker = (Invoker) context.getAttribute(ExecutionContext.ATTR_INVOKER);
 
         context.request().metrics().setApiResponseTimeMs(System.currentTimeMillis());
 
         upstreamInvoker.invoke(context, chain, connection -> {
-            connection.responseHandler(proxyResponse -> handleProxyResponse(context, proxyResponse));
+            connection.responseHandler(proxyResponse -> handleProxyResponse(context, proxyResponse, limiterListener));
 
             // Override the stream error handler to be able to cancel connection to backend
             chain.streamErrorHandler(failure -> {
                 context.request().metrics().setApiResponseTimeMs(System.currentTimeMillis() -
                         context.request().metrics().getApiResponseTimeMs());
+                limiterListener.onIgnore();
                 connection.cancel();
                 handleError(context, failure);
             });
@@ -139,21 +183,26 @@ public class ApiReactorHandler extends AbstractReactorHandler {
         }
     }
 
-    private void handleProxyResponse(final ExecutionContext context, final ProxyResponse proxyResponse) {
+    private void handleProxyResponse(final ExecutionContext context, final ProxyResponse proxyResponse,
+                                     final ConcurrencyLimiter.Listener limiterListener) {
         // If the response is not yet ended (by a request timeout for example)
         if (! context.response().ended()) {
             if (proxyResponse == null || !proxyResponse.connected()) {
+                limiterListener.onDropped();
                 context.response().status((proxyResponse == null) ? HttpStatusCode.SERVICE_UNAVAILABLE_503 : proxyResponse.status());
                 context.request().metrics().setApiResponseTimeMs(System.currentTimeMillis() -
                         context.request().metrics().getApiResponseTimeMs());
                 handler.handle(context);
             } else {
-                handleClientResponse(context, proxyResponse);
+                handleClientResponse(context, proxyResponse, limiterListener);
             }
+        } else {
+            limiterListener.onIgnore();
         }
     }
 
-    private void handleClientResponse(final ExecutionContext context, final ProxyResponse proxyResponse) {
+    private void handleClientResponse(final ExecutionContext context, final ProxyResponse proxyResponse,
+                                      final ConcurrencyLimiter.Listener limiterListener) {
         // Set the status
         context.response().status(proxyResponse.status());
         context.response().reason(proxyResponse.reason());
@@ -164,13 +213,40 @@ public class ApiReactorHandler extends AbstractReactorHandler {
         final StreamableProcessor<ExecutionContext, Buffer> chain = responseProcessorChain.create();
 
         chain
-                .errorHandler(failure -> handleError(context, failure))
-                .streamErrorHandler(failure -> handleError(context, failure))
-                .exitHandler(__ -> handler.handle(context))
+                .errorHandler(failure -> {
+                    limiterListener.onIgnore();
+                    handleError(context, failure);
+                })
+                .streamErrorHandler(failure -> {
+                    limiterListener.onIgnore();
+                    handleError(context, failure);
+                })
+                .exitHandler(__ -> {
+                    limiterListener.onIgnore();
+                    handler.handle(context);
+                })
                 .handler(stream -> {
-                    chain
-                            .bodyHandler(chunk -> context.response().write(chunk))
-                            .endHandler(__ -> handler.handle(context));
+                    // Response policies have been applied: the headers of the response are now final
+                    final ResponseEncoder encoder = responseCompression.encoder(context.request().method(),
+                            context.request().headers(), context.response().status(), context.response().headers());
+
+                    if (encoder == null) {
+                        chain
+                                .bodyHandler(chunk -> context.response().write(chunk))
+                                .endHandler(__ -> handler.handle(context));
+                    } else {
+                        // The encoder is released once the response is ended, even if the response is not complete
+                        // (request timeout, canceled proxy connection, ...)
+                        ((MutableExecutionContext) context).response(
+                                new CompressedResponse(context.response(), encoder));
+
+                        chain
+                                .bodyHandler(chunk -> write(context, encoder.encode(chunk)))
+                                .endHandler(__ -> {
+                                    write(context, encoder.finish());
+                                    handler.handle(context);
+                                });
+                    }
 
                     proxyResponse
                             .bodyHandler(buffer -> {
@@ -183,6 +259,7 @@ public class ApiReactorHandler extends AbstractReactorHandler {
                             }).endHandler(__ -> {
                                 context.request().metrics().setApiResponseTimeMs(System.currentTimeMillis() -
                                     context.request().metrics().getApiResponseTimeMs());
+                                limiterListener.onSuccess();
                                 chain.end();
                             });
 
@@ -192,6 +269,12 @@ public class ApiReactorHandler extends AbstractReactorHandler {
                 .handle(context);
     }
 
+    private void write(ExecutionContext context, Buffer chunk) {
+        // The compressor may not output anything until it has enough data
+        if (chunk.length() > 0) {
+            context.response().write(chunk);
+        }
+    }
 
     private void handleError(ExecutionContext context, ProcessorFailure failure) {
         if (context.request().metrics().getApiResponseTimeMs() > Integer.MAX_VALUE) {
@@ -261,6 +344,37 @@ public class ApiReactorHandler extends AbstractReactorHandler {
         return Objects.hash(api);
     }
 
+    private final static String RETRY_AFTER = "Retry-After";
+
+    private final static ProcessorFailure CONCURRENCY_LIMIT_PROCESSOR_FAILURE = new ProcessorFailure() {
+        private static final String CONCURRENCY_LIMIT_EXCEEDED = "CONCURRENCY_LIMIT_EXCEEDED";
+
+        @Override
+        public int statusCode() {
+            return HttpStatusCode.SERVICE_UNAVAILABLE_503;
+        }
+
+        @Override
+        public String message() {
+            return "Service temporarily unavailable";
+        }
+
+        @Override
+        public String key() {
+            return CONCURRENCY_LIMIT_EXCEEDED;
+        }
+
+        @Override
+        public Map<String, Object> parameters() {
+            return null;
+        }
+
+        @Override
+        public String contentType() {
+            return null;
+        }
+    };
+
     private final static ProcessorFailure TIMEOUT_PROCESSOR_FAILURE = new ProcessorFailure() {
         private static final String REQUEST_TIMEOUT = "REQUEST_TIMEOUT";
 
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.compression;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.gateway.api.Response;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.stream.WriteStream;
+
+/**
+ * The response of a request whose body is compressed by the gateway.
+ *
+ * The response is always ended, whatever the outcome of the request (request timeout, failure of the backend, ...),
+ * so the resources of the encoder are released when the response ends.
+ *
+ * @author GraviteeSource Team
+ */
+public class CompressedResponse implements Response {
+
+    private final Response response;
+
+    private final ResponseEncoder encoder;
+
+    public CompressedResponse(final Response response, final ResponseEncoder encoder) {
+        this.response = response;
+        this.encoder = encoder;
+    }
+
+    @Override
+    public Response status(int i) {
+        return response.status(i);
+    }
+
+    @Override
+    public int status() {
+        return response.status();
+    }
+
+    @Override
+    public String reason() {
+        return response.reason();
+    }
+
+    @Override
+    public Response reason(String reason) {
+        return response.reason(reason);
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return response.headers();
+    }
+
+    @Override
+    public boolean ended() {
+        return response.ended();
+    }
+
+    @Override
+    public WriteStream<Buffer> write(Buffer buffer) {
+        return response.write(buffer);
+    }
+
+    @Override
+    public void end() {
+        response.end();
+
+        encoder.close();
+    }
+
+    @Override
+    public void end(Buffer buffer) {
+        response.end(buffer);
+
+        encoder.close();
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> drainHandler) {
+        return response.drainHandler(drainHandler);
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+        return response.writeQueueFull();
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.compression;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+
+import java.util.*;
+
+/**
+ * The response compression settings of an API.
+ *
+ * Responses are compressed by the gateway only when the client accepts one of the configured algorithms, the content
+ * type is part of the allow-list and the body is not known to be smaller than the minimum size. Bodies already
+ * encoded by the endpoint are passed through as they are.
+ *
+ * @author GraviteeSource Team
+ */
+public class ResponseCompression {
+
+    public static final ResponseCompression DISABLED = new ResponseCompression(
+            Collections.emptyList(), 0, Collections.emptyList(), 0);
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String VARY = "Vary";
+    private static final String IDENTITY = "identity";
+    private static final String NO_TRANSFORM = "no-transform";
+
+    public enum Algorithm {
+        GZIP("gzip"),
+        DEFLATE("deflate");
+
+        private final String encoding;
+
+        Algorithm(String encoding) {
+            this.encoding = encoding;
+        }
+
+        public String encoding() {
+            return encoding;
+        }
+
+        public static Algorithm of(String encoding) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.encoding.equalsIgnoreCase(encoding)) {
+                    return algorithm;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private final List<Algorithm> algorithms;
+
+    private final long minSize;
+
+    private final List<String> contentTypes;
+
+    private final int level;
+
+    /**
+     * @param algorithms the algorithms, by order of preference.
+     * @param minSize the minimum size of the bodies to compress, in bytes.
+     * @param contentTypes the media types to compress (<code>text/*</code> for all the sub-types of a type), all the
+     *                     content types if empty.
+     * @param level the compression level, from 0 to 9.
+     */
+    public ResponseCompression(List<Algorithm> algorithms, long minSize, Collection<String> contentTypes, int level) {
+        this.algorithms = new ArrayList<>(algorithms);
+        this.minSize = minSize;
+        this.level = level;
+        this.contentTypes = new ArrayList<>();
+        contentTypes.forEach(contentType -> this.contentTypes.add(contentType.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    public boolean isEnabled() {
+        return !algorithms.isEmpty();
+    }
+
+    /**
+     * Prepares the headers of the response to be compressed, and returns the encoder of its body, or <code>null</code>
+     * if the response has to be sent as it is.
+     */
+    public ResponseEncoder encoder(HttpMethod method, HttpHeaders requestHeaders, int status,
+                                   HttpHeaders responseHeaders) {
+        if (!isEnabled() || method == HttpMethod.HEAD || status < 200 || status == 204 || status == 304) {
+            return null;
+        }
+
+        // Already encoded by the endpoint: passed through without being inflated and deflated again
+        String contentEncoding = responseHeaders.getFirst(CONTENT_ENCODING);
+        if (contentEncoding != null && !IDENTITY.equalsIgnoreCase(contentEncoding.trim())) {
+            return null;
+        }
+
+        String cacheControl = responseHeaders.getFirst(CACHE_CONTROL);
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains(NO_TRANSFORM)) {
+            return null;
+        }
+
+        if (!isCompressible(responseHeaders.getFirst(HttpHeaders.CONTENT_TYPE))) {
+            return null;
+        }
+
+        String contentLength = responseHeaders.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null && minSize > 0) {
+            try {
+                if (Long.parseLong(contentLength.trim()) < minSize) {
+                    return null;
+                }
+            } catch (NumberFormatException nfe) {
+                return null;
+            }
+        }
+
+        // From here, the representation depends on the encodings accepted by the client
+        List<String> vary = responseHeaders.get(VARY);
+        if (vary == null || vary.stream().noneMatch(value -> value.toLowerCase(Locale.ROOT).contains("accept-encoding"))) {
+            responseHeaders.add(VARY, ACCEPT_ENCODING);
+        }
+
+        Algorithm algorithm = negotiate(requestHeaders.getFirst(ACCEPT_ENCODING));
+        if (algorithm == null) {
+            return null;
+        }
+
+        responseHeaders.set(CONTENT_ENCODING, algorithm.encoding());
+        responseHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+
+        return new ResponseEncoder(algorithm, level);
+    }
+
+    /**
+     * Selects the algorithm to use from the <code>Accept-Encoding</code> header of the client: the one with the
+     * highest quality value, or the first configured one in case of a tie.
+     */
+    Algorithm negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Float> qualities = new HashMap<>();
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            float quality = 1.0f;
+
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Float.parseFloat(parameter.substring(2));
+                    } catch (NumberFormatException nfe) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            if (!name.isEmpty()) {
+                qualities.put(name, quality);
+            }
+        }
+
+        Algorithm selected = null;
+        float selectedQuality = 0;
+
+        for (Algorithm algorithm : algorithms) {
+            Float quality = qualities.get(algorithm.encoding());
+            if (quality == null) {
+                quality = qualities.get("*");
+            }
+
+            if (quality != null && quality > selectedQuality) {
+                selected = algorithm;
+                selectedQuality = quality;
+            }
+        }
+
+        return selected;
+    }
+
+    boolean isCompressible(String contentType) {
+        if (contentTypes.isEmpty()) {
+            return true;
+        }
+
+        if (contentType == null) {
+            return false;
+        }
+
+        int separator = contentType.indexOf(';');
+        String mediaType = ((separator == -1) ? contentType : contentType.substring(0, separator))
+                .trim().toLowerCase(Locale.ROOT);
+
+        for (String allowed : contentTypes) {
+            if (allowed.equals(mediaType) || (allowed.endsWith("/*")
+                    && mediaType.startsWith(allowed.substring(0, allowed.length() - 1)))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
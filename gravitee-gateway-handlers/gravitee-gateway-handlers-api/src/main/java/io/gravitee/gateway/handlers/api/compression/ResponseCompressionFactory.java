@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.compression;
+
+import io.gravitee.gateway.handlers.api.definition.Api;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates the response compression settings of an API.
+ *
+ * The settings of <code>handlers.response.compression</code> can be overridden for an API with
+ * <code>handlers.response.compression.apis.[api id or api name].[setting]</code>.
+ *
+ * @author GraviteeSource Team
+ */
+public class ResponseCompressionFactory implements FactoryBean<ResponseCompression> {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ResponseCompressionFactory.class);
+
+    private static final String APIS_PREFIX = "handlers.response.compression.apis.";
+
+    @Autowired
+    private Api api;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${handlers.response.compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${handlers.response.compression.algorithms:gzip,deflate}")
+    private String algorithms;
+
+    @Value("${handlers.response.compression.minSize:1024}")
+    private long minSize;
+
+    @Value("${handlers.response.compression.contentTypes:text/*,application/json,application/javascript,application/xml}")
+    private String contentTypes;
+
+    @Value("${handlers.response.compression.level:6}")
+    private int level;
+
+    @Override
+    public ResponseCompression getObject() throws Exception {
+        if (!property("enabled", Boolean.class, enabled)) {
+            return ResponseCompression.DISABLED;
+        }
+
+        List<ResponseCompression.Algorithm> supported = new ArrayList<>();
+        for (String encoding : split(property("algorithms", String.class, algorithms))) {
+            ResponseCompression.Algorithm algorithm = ResponseCompression.Algorithm.of(encoding);
+            if (algorithm == null) {
+                LOGGER.warn("Compression algorithm {} is not supported for API {}, ignoring it", encoding, api.getName());
+            } else if (!supported.contains(algorithm)) {
+                supported.add(algorithm);
+            }
+        }
+
+        int compressionLevel = property("level", Integer.class, level);
+        if (compressionLevel < 0 || compressionLevel > 9) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9: " + compressionLevel);
+        }
+
+        return new ResponseCompression(supported, property("minSize", Long.class, minSize),
+                split(property("contentTypes", String.class, contentTypes)), compressionLevel);
+    }
+
+    private <T> T property(String name, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(APIS_PREFIX + api.getId() + '.' + name, type);
+        if (value == null && api.getName() != null) {
+            value = environment.getProperty(APIS_PREFIX + api.getName() + '.' + name, type);
+        }
+
+        return (value == null) ? defaultValue : value;
+    }
+
+    private static List<String> split(String values) {
+        if (values == null || values.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> result = new ArrayList<>();
+        Arrays.stream(values.split(",")).map(String::trim).filter(value -> !value.isEmpty()).forEach(result::add);
+        return result;
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return ResponseCompression.class;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.compression;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the body of a response, chunk by chunk.
+ *
+ * Each chunk is flushed (as done by the compression of the HTTP server), so that streamed responses are not delayed
+ * by the gateway.
+ *
+ * @author GraviteeSource Team
+ */
+public class ResponseEncoder {
+
+    private static final byte[] GZIP_HEADER = new byte[] {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private final ResponseCompression.Algorithm algorithm;
+
+    private final Deflater deflater;
+
+    private final CRC32 crc;
+
+    private final byte[] output = new byte[8192];
+
+    private boolean headerWritten;
+
+    private boolean closed;
+
+    ResponseEncoder(ResponseCompression.Algorithm algorithm, int level) {
+        this.algorithm = algorithm;
+        this.deflater = new Deflater(level, algorithm == ResponseCompression.Algorithm.GZIP);
+        this.crc = (algorithm == ResponseCompression.Algorithm.GZIP) ? new CRC32() : null;
+    }
+
+    public ResponseCompression.Algorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return the compressed chunk, which may be empty. Chunks are dropped once the encoder is closed.
+     */
+    public Buffer encode(Buffer chunk) {
+        if (closed) {
+            return Buffer.buffer();
+        }
+
+        byte[] bytes = chunk.getBytes();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+
+        writeHeader(out);
+
+        if (crc != null) {
+            crc.update(bytes);
+        }
+
+        deflater.setInput(bytes);
+
+        int length;
+        do {
+            length = deflater.deflate(output, 0, output.length, Deflater.SYNC_FLUSH);
+            out.write(output, 0, length);
+        } while (length == output.length);
+
+        return Buffer.buffer(out.toByteArray());
+    }
+
+    /**
+     * @return the end of the compressed body, which is empty if the encoder is already closed. The encoder can not be
+     * used once finished.
+     */
+    public Buffer finish() {
+        if (closed) {
+            return Buffer.buffer();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        try {
+            writeHeader(out);
+
+            deflater.finish();
+            while (!deflater.finished()) {
+                out.write(output, 0, deflater.deflate(output));
+            }
+
+            if (crc != null) {
+                writeInt(out, (int) crc.getValue());
+                writeInt(out, (int) deflater.getBytesRead());
+            }
+        } finally {
+            close();
+        }
+
+        return Buffer.buffer(out.toByteArray());
+    }
+
+    /**
+     * Releases the resources of the encoder. Closing the encoder more than once has no effect.
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            deflater.end();
+        }
+    }
+
+    private void writeHeader(ByteArrayOutputStream out) {
+        if (crc != null && !headerWritten) {
+            out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+            headerWritten = true;
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        // Little-endian, as required by the GZIP trailer
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+}
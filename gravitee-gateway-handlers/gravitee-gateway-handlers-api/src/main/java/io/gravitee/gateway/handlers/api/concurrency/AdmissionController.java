@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.handler.Handler;
+
+/**
+ * Decides when a request is allowed to be sent to the backend of an API.
+ *
+ * @author GraviteeSource Team
+ */
+public interface AdmissionController {
+
+    /**
+     * Request the admission of the request to the backend.
+     *
+     * @param context the execution context of the request.
+     * @param handler called with the listener of the acquired concurrency slot once the request is admitted, or with
+     *                <code>null</code> if the request has been rejected.
+     */
+    void admit(ExecutionContext context, Handler<ConcurrencyLimiter.Listener> handler);
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.handlers.api.definition.Api;
+import io.gravitee.gateway.handlers.api.definition.Plan;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the admission controller of an API.
+ *
+ * When the admission queue is enabled, the priority of a plan is read from
+ * <code>handlers.request.concurrency.admission.priorities.[plan id or plan name]</code>, and the maximum time a
+ * request can wait in the queue from <code>handlers.request.concurrency.admission.timeouts.[priority]</code>.
+ *
+ * @author GraviteeSource Team
+ */
+public class AdmissionControllerFactory implements FactoryBean<AdmissionController> {
+
+    private static final String PRIORITIES_PREFIX = "handlers.request.concurrency.admission.priorities.";
+
+    private static final String TIMEOUTS_PREFIX = "handlers.request.concurrency.admission.timeouts.";
+
+    @Autowired
+    private Api api;
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${handlers.request.concurrency.admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${handlers.request.concurrency.admission.maxQueueSize:100}")
+    private int maxQueueSize;
+
+    @Value("${handlers.request.concurrency.admission.defaultPriority:1}")
+    private int defaultPriority;
+
+    @Value("${handlers.request.concurrency.admission.timeout:1000}")
+    private long defaultTimeout;
+
+    @Override
+    public AdmissionController getObject() throws Exception {
+        if (!enabled) {
+            return new DirectAdmissionController(concurrencyLimiter);
+        }
+
+        final Map<String, Integer> priorities = new ConcurrentHashMap<>();
+        final Map<Integer, Long> timeouts = new ConcurrentHashMap<>();
+
+        return new PlanPriorityAdmissionController(
+                concurrencyLimiter,
+                context -> {
+                    String planId = (String) context.getAttribute(ExecutionContext.ATTR_PLAN);
+                    return (planId == null) ? defaultPriority : priorities.computeIfAbsent(planId, this::priority);
+                },
+                priority -> timeouts.computeIfAbsent(priority, this::timeout),
+                maxQueueSize);
+    }
+
+    private int priority(String planId) {
+        String priority = environment.getProperty(PRIORITIES_PREFIX + planId);
+
+        if (priority == null) {
+            Plan plan = api.getPlan(planId);
+            if (plan != null && plan.getName() != null) {
+                priority = environment.getProperty(PRIORITIES_PREFIX + plan.getName());
+            }
+        }
+
+        return (priority == null) ? defaultPriority : Integer.parseInt(priority.trim());
+    }
+
+    private long timeout(int priority) {
+        return Math.max(1, environment.getProperty(TIMEOUTS_PREFIX + priority, Long.class, defaultTimeout));
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return AdmissionController.class;
+    }
+}
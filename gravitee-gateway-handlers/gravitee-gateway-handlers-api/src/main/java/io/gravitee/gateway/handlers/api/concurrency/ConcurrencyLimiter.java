@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+/**
+ * Limits the number of requests an API is allowed to have in-flight to its backend.
+ *
+ * @author GraviteeSource Team
+ */
+public interface ConcurrencyLimiter {
+
+    /**
+     * Try to acquire a slot for a new in-flight request.
+     *
+     * @return a listener to notify once the request has completed, or <code>null</code> if the limit has been reached
+     * and the request must be rejected.
+     */
+    Listener acquire();
+
+    /**
+     * @return the current concurrency limit.
+     */
+    int limit();
+
+    /**
+     * @return the number of requests currently in-flight.
+     */
+    int inFlight();
+
+    interface Listener {
+
+        /**
+         * The request has been processed by the backend, its latency can be used to adjust the limit.
+         */
+        void onSuccess();
+
+        /**
+         * The request has been dropped (timeout, backend unavailable, ...), the limit should be reduced.
+         */
+        void onDropped();
+
+        /**
+         * The request has completed but its outcome must not be taken into account (client failure, ...).
+         */
+        void onIgnore();
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Creates the concurrency limiter of an API. A new limiter is created for each deployed API.
+ *
+ * @author GraviteeSource Team
+ */
+public class ConcurrencyLimiterFactory implements FactoryBean<ConcurrencyLimiter> {
+
+    @Value("${handlers.request.concurrency.enabled:false}")
+    private boolean enabled;
+
+    @Value("${handlers.request.concurrency.initialLimit:20}")
+    private int initialLimit;
+
+    @Value("${handlers.request.concurrency.minLimit:1}")
+    private int minLimit;
+
+    @Value("${handlers.request.concurrency.maxLimit:1000}")
+    private int maxLimit;
+
+    @Value("${handlers.request.concurrency.tolerance:1.5}")
+    private double tolerance;
+
+    @Override
+    public ConcurrencyLimiter getObject() throws Exception {
+        if (!enabled) {
+            return new NoOpConcurrencyLimiter();
+        }
+
+        return new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance);
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return ConcurrencyLimiter.class;
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.handler.Handler;
+
+/**
+ * Admits the request immediately if the concurrency limit allows it, rejects it otherwise.
+ *
+ * @author GraviteeSource Team
+ */
+public class DirectAdmissionController implements AdmissionController {
+
+    private final ConcurrencyLimiter limiter;
+
+    public DirectAdmissionController(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void admit(ExecutionContext context, Handler<ConcurrencyLimiter.Listener> handler) {
+        handler.handle(limiter.acquire());
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limiter learning the safe in-flight limit from the observed latency.
+ *
+ * The limit is adjusted by the gradient between a long term latency average (the latency of the backend when it is
+ * not under pressure) and the latency of the last request. When the latency grows, the gradient drops below 1 and
+ * the limit is reduced. When the latency is stable, the limit grows by a small queue allowance.
+ *
+ * Dropped requests (timeouts, unavailable backend) apply a multiplicative decrease.
+ *
+ * @author GraviteeSource Team
+ */
+public class GradientConcurrencyLimiter implements ConcurrencyLimiter {
+
+    private static final int WARMUP_SAMPLES = 10;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private final double backoffRatio;
+
+    private final int longWindow;
+
+    private volatile int limit;
+
+    private double estimatedLimit;
+
+    private double longRtt;
+
+    private int samples;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this(initialLimit, minLimit, maxLimit, tolerance, 0.2, 0.9, 600);
+    }
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, double backoffRatio, int longWindow) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.longWindow = longWindow;
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public Listener acquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        return new GradientListener(current + 1, System.nanoTime());
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void onSample(long rtt, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+            limit = (int) estimatedLimit;
+            return;
+        }
+
+        // Long term latency, averaged over the warmup samples before switching to an exponential average
+        if (samples < WARMUP_SAMPLES) {
+            samples++;
+            longRtt = longRtt + (rtt - longRtt) / samples;
+        } else {
+            double factor = 2.0 / (longWindow + 1);
+            longRtt = longRtt * (1 - factor) + rtt * factor;
+        }
+
+        double shortRtt = Math.max(1, rtt);
+
+        // The backend is faster than it used to be: let the long term average converge quickly
+        if (longRtt / shortRtt > 2) {
+            longRtt = longRtt * 0.95;
+        }
+
+        // The API does not make use of the current limit, no need to grow it
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    private class GradientListener implements Listener {
+
+        private final int inFlightAtStart;
+
+        private final long startTime;
+
+        private boolean released;
+
+        GradientListener(int inFlightAtStart, long startTime) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void onSuccess() {
+            if (release()) {
+                onSample(System.nanoTime() - startTime, inFlightAtStart, false);
+            }
+        }
+
+        @Override
+        public void onDropped() {
+            if (release()) {
+                onSample(System.nanoTime() - startTime, inFlightAtStart, true);
+            }
+        }
+
+        @Override
+        public void onIgnore() {
+            release();
+        }
+
+        private boolean release() {
+            // A request is always completed from the same event-loop, no need to synchronize
+            if (released) {
+                return false;
+            }
+
+            released = true;
+            inFlight.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+/**
+ * Concurrency limiter used when concurrency limiting is disabled: every request is accepted.
+ *
+ * @author GraviteeSource Team
+ */
+public class NoOpConcurrencyLimiter implements ConcurrencyLimiter {
+
+    private static final Listener NOOP_LISTENER = new Listener() {
+        @Override
+        public void onSuccess() {
+        }
+
+        @Override
+        public void onDropped() {
+        }
+
+        @Override
+        public void onIgnore() {
+        }
+    };
+
+    @Override
+    public Listener acquire() {
+        return NOOP_LISTENER;
+    }
+
+    @Override
+    public int limit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int inFlight() {
+        return 0;
+    }
+}
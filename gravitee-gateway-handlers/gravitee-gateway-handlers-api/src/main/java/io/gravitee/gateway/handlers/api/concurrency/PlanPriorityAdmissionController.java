@@ -0,0 +1,246 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.handler.Handler;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntToLongFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Queues the requests of an API while its concurrency limit is reached, and admits them by priority of their plan as
+ * soon as a slot is released.
+ *
+ * Each priority has its own queue. Queues are served by weighted round-robin (the weight of a queue being its
+ * priority) so that higher priorities get most of the released slots without starving lower ones. When the queues are
+ * full, the oldest request of the lowest priority is shed in favor of a request with a higher priority.
+ *
+ * @author GraviteeSource Team
+ */
+public class PlanPriorityAdmissionController implements AdmissionController {
+
+    private final ConcurrencyLimiter limiter;
+
+    private final ToIntFunction<ExecutionContext> priorityResolver;
+
+    private final IntToLongFunction timeoutResolver;
+
+    private final int maxQueueSize;
+
+    private final TreeMap<Integer, PriorityLane> lanes = new TreeMap<>();
+
+    private volatile int queued;
+
+    public PlanPriorityAdmissionController(ConcurrencyLimiter limiter, ToIntFunction<ExecutionContext> priorityResolver,
+                                           IntToLongFunction timeoutResolver, int maxQueueSize) {
+        this.limiter = limiter;
+        this.priorityResolver = priorityResolver;
+        this.timeoutResolver = timeoutResolver;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    @Override
+    public void admit(ExecutionContext context, Handler<ConcurrencyLimiter.Listener> handler) {
+        // Fast path: nobody is waiting and the limit is not reached
+        if (queued == 0) {
+            ConcurrencyLimiter.Listener listener = limiter.acquire();
+            if (listener != null) {
+                handler.handle(new AdmissionListener(listener));
+                return;
+            }
+        }
+
+        final int priority = priorityResolver.applyAsInt(context);
+        final Waiter waiter = new Waiter(Vertx.currentContext(), handler);
+        Waiter evicted = null;
+        boolean rejected = false;
+
+        synchronized (this) {
+            if (queued >= maxQueueSize) {
+                evicted = evict(priority);
+                rejected = (evicted == null);
+            }
+
+            if (!rejected) {
+                lanes.computeIfAbsent(priority, PriorityLane::new).waiters.add(waiter);
+                queued++;
+            }
+        }
+
+        if (rejected) {
+            // Queues are full of requests with the same or a higher priority
+            handler.handle(null);
+            return;
+        }
+
+        if (evicted != null) {
+            evicted.reject();
+        }
+
+        waiter.timerId = waiter.context.owner().setTimer(timeoutResolver.applyAsLong(priority), id -> {
+            boolean removed;
+            synchronized (PlanPriorityAdmissionController.this) {
+                removed = lanes.get(priority).waiters.remove(waiter);
+                if (removed) {
+                    queued--;
+                }
+            }
+
+            if (removed) {
+                handler.handle(null);
+            }
+        });
+
+        // A slot may have been released in the meantime
+        drain();
+    }
+
+    private Waiter evict(int priority) {
+        for (Map.Entry<Integer, PriorityLane> lane : lanes.headMap(priority, false).entrySet()) {
+            Waiter waiter = lane.getValue().waiters.poll();
+            if (waiter != null) {
+                queued--;
+                return waiter;
+            }
+        }
+
+        return null;
+    }
+
+    private void drain() {
+        while (queued > 0) {
+            Waiter waiter;
+            ConcurrencyLimiter.Listener listener;
+
+            synchronized (this) {
+                if (queued == 0) {
+                    return;
+                }
+
+                listener = limiter.acquire();
+                if (listener == null) {
+                    return;
+                }
+
+                waiter = next();
+                queued--;
+            }
+
+            waiter.admit(new AdmissionListener(listener));
+        }
+    }
+
+    /**
+     * Smooth weighted round-robin between the non-empty lanes.
+     */
+    private Waiter next() {
+        PriorityLane selected = null;
+        int total = 0;
+
+        for (PriorityLane lane : lanes.values()) {
+            if (!lane.waiters.isEmpty()) {
+                lane.currentWeight += lane.weight;
+                total += lane.weight;
+
+                if (selected == null || lane.currentWeight > selected.currentWeight) {
+                    selected = lane;
+                }
+            }
+        }
+
+        selected.currentWeight -= total;
+        return selected.waiters.poll();
+    }
+
+    int queued() {
+        return queued;
+    }
+
+    private static class PriorityLane {
+
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+        private final int weight;
+
+        private int currentWeight;
+
+        PriorityLane(int priority) {
+            this.weight = Math.max(1, priority);
+        }
+    }
+
+    private static class Waiter {
+
+        private final Context context;
+
+        private final Handler<ConcurrencyLimiter.Listener> handler;
+
+        private long timerId;
+
+        Waiter(Context context, Handler<ConcurrencyLimiter.Listener> handler) {
+            this.context = context;
+            this.handler = handler;
+        }
+
+        void admit(ConcurrencyLimiter.Listener listener) {
+            context.runOnContext(v -> {
+                context.owner().cancelTimer(timerId);
+                handler.handle(listener);
+            });
+        }
+
+        void reject() {
+            context.runOnContext(v -> {
+                context.owner().cancelTimer(timerId);
+                handler.handle(null);
+            });
+        }
+    }
+
+    private class AdmissionListener implements ConcurrencyLimiter.Listener {
+
+        private final ConcurrencyLimiter.Listener listener;
+
+        AdmissionListener(ConcurrencyLimiter.Listener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onSuccess() {
+            listener.onSuccess();
+            drain();
+        }
+
+        @Override
+        public void onDropped() {
+            listener.onDropped();
+            drain();
+        }
+
+        @Override
+        public void onIgnore() {
+            listener.onIgnore();
+            drain();
+        }
+    }
+}
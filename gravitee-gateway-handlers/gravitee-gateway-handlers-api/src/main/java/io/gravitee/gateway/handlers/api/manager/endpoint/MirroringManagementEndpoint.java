@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.manager.endpoint;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.common.http.MediaType;
+import io.gravitee.gateway.core.invoker.mirror.MirroringMetricsRegistry;
+import io.gravitee.node.management.http.endpoint.ManagementEndpoint;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Exposes the outcomes of the requests copied to the shadow endpoints, by API.
+ *
+ * @author GraviteeSource Team
+ */
+public class MirroringManagementEndpoint implements Handler<RoutingContext>, ManagementEndpoint {
+
+    @Autowired
+    private MirroringMetricsRegistry mirroringMetricsRegistry;
+
+    @Override
+    public HttpMethod method() {
+        return HttpMethod.GET;
+    }
+
+    @Override
+    public String path() {
+        return "/mirroring";
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        JsonObject apis = new JsonObject();
+
+        mirroringMetricsRegistry.metrics().forEach((api, metrics) -> apis.put(api, new JsonObject()
+                .put("inFlight", metrics.inFlight())
+                .put("mirrored", metrics.mirrored())
+                .put("succeeded", metrics.succeeded())
+                .put("failed", metrics.failed())
+                .put("errors", metrics.errors())
+                .put("timeouts", metrics.timeouts())
+                .put("rejected", metrics.rejected())
+                .put("dropped", metrics.dropped())
+                .put("latency", new JsonObject()
+                        .put("p50", metrics.latency(50))
+                        .put("p90", metrics.latency(90))
+                        .put("p99", metrics.latency(99)))));
+
+        HttpServerResponse response = ctx.response();
+        response.setStatusCode(HttpStatusCode.OK_200);
+        response.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        response.end(apis.encodePrettily());
+    }
+}
@@ -32,9 +32,12 @@ public class NodeApisEndpointInitializer implements InitializingBean {
     private ApisManagementEndpoint apisManagementEndpoint;
     @Autowired
     private ApiManagementEndpoint apiManagementEndpoint;
+    @Autowired
+    private MirroringManagementEndpoint mirroringManagementEndpoint;
 
     public void afterPropertiesSet() {
         managementEndpointManager.register(apisManagementEndpoint);
         managementEndpointManager.register(apiManagementEndpoint);
+        managementEndpointManager.register(mirroringManagementEndpoint);
     }
 }
@@ -15,13 +15,19 @@
  */
 package io.gravitee.gateway.handlers.api.spring;
 
+import io.gravitee.gateway.core.endpoint.EndpointStatusNotifier;
+import io.gravitee.gateway.core.invoker.mirror.MirroringMetricsRegistry;
 import io.gravitee.gateway.handlers.api.manager.ApiManager;
 import io.gravitee.gateway.handlers.api.manager.endpoint.ApiManagementEndpoint;
 import io.gravitee.gateway.handlers.api.manager.endpoint.ApisManagementEndpoint;
+import io.gravitee.gateway.handlers.api.manager.endpoint.MirroringManagementEndpoint;
 import io.gravitee.gateway.handlers.api.manager.endpoint.NodeApisEndpointInitializer;
 import io.gravitee.gateway.handlers.api.manager.impl.ApiManagerImpl;
 import io.gravitee.gateway.handlers.api.validator.Validator;
 import io.gravitee.gateway.handlers.api.validator.ValidatorImpl;
+import io.gravitee.gateway.http.connector.HttpClientRegistry;
+import io.gravitee.gateway.http.connector.dns.HostResolver;
+import io.gravitee.gateway.http.connector.ws.WebSocketFlowControl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -52,8 +58,38 @@ public class ApiHandlerConfiguration {
         return new ApiManagementEndpoint();
     }
 
+    @Bean
+    public MirroringManagementEndpoint mirroringManagementEndpoint() {
+        return new MirroringManagementEndpoint();
+    }
+
     @Bean
     public NodeApisEndpointInitializer nodeApisEndpointInitializer() {
         return new NodeApisEndpointInitializer();
     }
+
+    @Bean
+    public HttpClientRegistry httpClientRegistry() {
+        return new HttpClientRegistry();
+    }
+
+    @Bean
+    public HostResolver hostResolver() {
+        return new HostResolver();
+    }
+
+    @Bean
+    public WebSocketFlowControl webSocketFlowControl() {
+        return new WebSocketFlowControl();
+    }
+
+    @Bean
+    public EndpointStatusNotifier endpointStatusNotifier() {
+        return new EndpointStatusNotifier();
+    }
+
+    @Bean
+    public MirroringMetricsRegistry mirroringMetricsRegistry() {
+        return new MirroringMetricsRegistry();
+    }
 }
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.compression;
+
+import io.gravitee.gateway.api.Response;
+import io.gravitee.gateway.api.buffer.Buffer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CompressedResponseTest {
+
+    @Mock
+    private Response response;
+
+    private final ResponseEncoder encoder = new ResponseEncoder(ResponseCompression.Algorithm.GZIP, 6);
+
+    @Test
+    public void shouldReleaseEncoderWhenResponseEnds() {
+        CompressedResponse compressedResponse = new CompressedResponse(response, encoder);
+        compressedResponse.write(encoder.encode(Buffer.buffer("Hello")));
+        compressedResponse.write(encoder.finish());
+
+        compressedResponse.end();
+
+        verify(response).end();
+        Assert.assertEquals(0, encoder.encode(Buffer.buffer("world")).length());
+    }
+
+    @Test
+    public void shouldReleaseEncoderWhenResponseIsAborted() {
+        CompressedResponse compressedResponse = new CompressedResponse(response, encoder);
+        compressedResponse.write(encoder.encode(Buffer.buffer("Hello")));
+
+        // The response is ended before the end of the body, by a request timeout for instance
+        Buffer error = Buffer.buffer("Gateway timeout");
+        compressedResponse.end(error);
+
+        verify(response).end(error);
+
+        // The rest of the body, still coming from the backend, is dropped
+        Assert.assertEquals(0, encoder.encode(Buffer.buffer("world")).length());
+        Assert.assertEquals(0, encoder.finish().length());
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.compression;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.gateway.api.buffer.Buffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ResponseCompressionTest {
+
+    private final ResponseCompression compression = new ResponseCompression(
+            Arrays.asList(ResponseCompression.Algorithm.GZIP, ResponseCompression.Algorithm.DEFLATE),
+            10, Arrays.asList("text/*", "application/json"), 6);
+
+    @Test
+    public void shouldNegotiateAlgorithm() {
+        Assert.assertEquals(ResponseCompression.Algorithm.GZIP, compression.negotiate("gzip, deflate, br"));
+        Assert.assertEquals(ResponseCompression.Algorithm.DEFLATE, compression.negotiate("gzip;q=0.5, deflate"));
+        Assert.assertEquals(ResponseCompression.Algorithm.GZIP, compression.negotiate("*"));
+        Assert.assertNull(compression.negotiate("gzip;q=0, deflate;q=0"));
+        Assert.assertNull(compression.negotiate("br"));
+        Assert.assertNull(compression.negotiate(null));
+    }
+
+    @Test
+    public void shouldMatchContentTypes() {
+        Assert.assertTrue(compression.isCompressible("text/html; charset=utf-8"));
+        Assert.assertTrue(compression.isCompressible("application/JSON"));
+        Assert.assertFalse(compression.isCompressible("image/png"));
+        Assert.assertFalse(compression.isCompressible(null));
+    }
+
+    @Test
+    public void shouldPassThroughEncodedResponse() {
+        HttpHeaders responseHeaders = responseHeaders("application/json");
+        responseHeaders.set("Content-Encoding", "br");
+
+        Assert.assertNull(compression.encoder(HttpMethod.GET, requestHeaders("gzip"), 200, responseHeaders));
+        Assert.assertEquals("br", responseHeaders.getFirst("Content-Encoding"));
+    }
+
+    @Test
+    public void shouldNotCompressSmallResponse() {
+        HttpHeaders responseHeaders = responseHeaders("application/json");
+        responseHeaders.set(HttpHeaders.CONTENT_LENGTH, "5");
+
+        Assert.assertNull(compression.encoder(HttpMethod.GET, requestHeaders("gzip"), 200, responseHeaders));
+        Assert.assertNull(responseHeaders.getFirst("Content-Encoding"));
+    }
+
+    @Test
+    public void shouldVaryWhenNotAccepted() {
+        HttpHeaders responseHeaders = responseHeaders("application/json");
+
+        Assert.assertNull(compression.encoder(HttpMethod.GET, requestHeaders(null), 200, responseHeaders));
+        Assert.assertEquals("Accept-Encoding", responseHeaders.getFirst("Vary"));
+    }
+
+    @Test
+    public void shouldCompressResponse() throws Exception {
+        HttpHeaders responseHeaders = responseHeaders("text/plain");
+        responseHeaders.set(HttpHeaders.CONTENT_LENGTH, "22");
+
+        ResponseEncoder encoder = compression.encoder(HttpMethod.GET, requestHeaders("gzip"), 200, responseHeaders);
+
+        Assert.assertNotNull(encoder);
+        Assert.assertEquals("gzip", responseHeaders.getFirst("Content-Encoding"));
+        Assert.assertNull(responseHeaders.getFirst(HttpHeaders.CONTENT_LENGTH));
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        compressed.write(encoder.encode(Buffer.buffer("Hello, ")).getBytes());
+        compressed.write(encoder.encode(Buffer.buffer("compressed world")).getBytes());
+        compressed.write(encoder.finish().getBytes());
+
+        Assert.assertEquals("Hello, compressed world", gunzip(compressed.toByteArray()));
+    }
+
+    @Test
+    public void shouldNotCompressWhenDisabled() {
+        Assert.assertNull(ResponseCompression.DISABLED.encoder(HttpMethod.GET, requestHeaders("gzip"), 200,
+                responseHeaders("text/plain")));
+    }
+
+    private static HttpHeaders requestHeaders(String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        if (acceptEncoding != null) {
+            headers.set("Accept-Encoding", acceptEncoding);
+        }
+        return headers;
+    }
+
+    private static HttpHeaders responseHeaders(String contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+        return headers;
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toString("UTF-8");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class GradientConcurrencyLimiterTest {
+
+    @Test
+    public void shouldRejectWhenLimitIsReached() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10, 1.5);
+
+        Assert.assertNotNull(limiter.acquire());
+        Assert.assertNotNull(limiter.acquire());
+        Assert.assertNull(limiter.acquire());
+        Assert.assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    public void shouldReleaseOnlyOnce() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10, 1.5);
+
+        ConcurrencyLimiter.Listener listener = limiter.acquire();
+        listener.onIgnore();
+        listener.onIgnore();
+        listener.onSuccess();
+
+        Assert.assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    public void shouldDecreaseLimitWhenDropped() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100, 1.5);
+
+        limiter.acquire().onDropped();
+
+        Assert.assertEquals(18, limiter.limit());
+    }
+
+    @Test
+    public void shouldNotGoBelowMinLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 2, 100, 1.5);
+
+        limiter.acquire().onDropped();
+
+        Assert.assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    public void shouldIncreaseLimitWhenLatencyIsStable() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 1, 100, 1.5);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 10, false);
+        }
+
+        Assert.assertTrue(limiter.limit() > 10);
+    }
+
+    @Test
+    public void shouldDecreaseLimitWhenLatencyIncreases() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(50, 1, 100, 1.5);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 50, false);
+        }
+
+        int limit = limiter.limit();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100), limit, false);
+        }
+
+        Assert.assertTrue(limiter.limit() < limit);
+    }
+
+    @Test
+    public void shouldNotIncreaseLimitWhenUnderUsed() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 1, 100, 1.5);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+        }
+
+        Assert.assertEquals(10, limiter.limit());
+    }
+}
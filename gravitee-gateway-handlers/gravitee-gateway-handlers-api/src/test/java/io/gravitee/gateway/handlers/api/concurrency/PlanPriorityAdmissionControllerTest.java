@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.concurrency;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.vertx.core.Vertx;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PlanPriorityAdmissionControllerTest {
+
+    private Vertx vertx;
+
+    private ExecutionContext freeContext;
+
+    private ExecutionContext goldContext;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+
+        freeContext = mock(ExecutionContext.class);
+        when(freeContext.getAttribute(ExecutionContext.ATTR_PLAN)).thenReturn("free");
+
+        goldContext = mock(ExecutionContext.class);
+        when(goldContext.getAttribute(ExecutionContext.ATTR_PLAN)).thenReturn("gold");
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void shouldAdmitHigherPriorityFirst() throws InterruptedException {
+        PlanPriorityAdmissionController controller = controller(10, 10_000);
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        vertx.runOnContext(v -> {
+            controller.admit(freeContext, listener -> {
+                admitted.add("first");
+                latch.countDown();
+
+                controller.admit(freeContext, l -> {
+                    admitted.add("free");
+                    latch.countDown();
+                    l.onSuccess();
+                });
+                controller.admit(goldContext, l -> {
+                    admitted.add("gold");
+                    latch.countDown();
+                    l.onSuccess();
+                });
+
+                listener.onSuccess();
+            });
+        });
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals("first", admitted.get(0));
+        Assert.assertEquals("gold", admitted.get(1));
+        Assert.assertEquals("free", admitted.get(2));
+    }
+
+    @Test
+    public void shouldShedLowerPriorityWhenQueueIsFull() throws InterruptedException {
+        PlanPriorityAdmissionController controller = controller(1, 10_000);
+        List<String> outcomes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+
+        vertx.runOnContext(v -> controller.admit(freeContext, listener -> {
+            controller.admit(freeContext, l -> {
+                outcomes.add(l == null ? "free-rejected" : "free-admitted");
+                latch.countDown();
+            });
+            controller.admit(goldContext, l -> {
+                outcomes.add(l == null ? "gold-rejected" : "gold-admitted");
+                latch.countDown();
+                l.onSuccess();
+            });
+
+            listener.onSuccess();
+        }));
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(outcomes.contains("free-rejected"));
+        Assert.assertTrue(outcomes.contains("gold-admitted"));
+    }
+
+    @Test
+    public void shouldRejectLowerPriorityWhenQueueIsFull() throws InterruptedException {
+        PlanPriorityAdmissionController controller = controller(1, 10_000);
+        List<String> outcomes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        vertx.runOnContext(v -> controller.admit(freeContext, listener -> {
+            controller.admit(goldContext, l -> outcomes.add("gold"));
+            controller.admit(freeContext, l -> {
+                outcomes.add(l == null ? "free-rejected" : "free-admitted");
+                latch.countDown();
+            });
+        }));
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals("free-rejected", outcomes.get(0));
+        Assert.assertEquals(1, controller.queued());
+    }
+
+    @Test
+    public void shouldRejectAfterTimeout() throws InterruptedException {
+        PlanPriorityAdmissionController controller = controller(10, 50);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        vertx.runOnContext(v -> controller.admit(freeContext, listener ->
+                controller.admit(goldContext, l -> {
+                    if (l == null) {
+                        latch.countDown();
+                    }
+                })));
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, controller.queued());
+    }
+
+    private PlanPriorityAdmissionController controller(int maxQueueSize, long timeout) {
+        return new PlanPriorityAdmissionController(
+                new GradientConcurrencyLimiter(1, 1, 1, 1.5),
+                context -> "gold".equals(context.getAttribute(ExecutionContext.ATTR_PLAN)) ? 10 : 1,
+                priority -> timeout,
+                maxQueueSize);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector;
+
+import io.gravitee.gateway.core.latency.RollingLatencyHistogram;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Derives the read timeout of an endpoint from its observed latencies: the timeout is a multiple of a percentile of
+ * the latencies recorded during a rolling window, bounded by a minimum and a maximum.
+ *
+ * Requests which timed out or failed are recorded as lasting at least the timeout they were given, so that an
+ * endpoint which stops answering, or fails fast, does not make the timeout shorter.
+ *
+ * Until enough latencies have been recorded, the maximum is used. A maximum lower or equal to 0 means the timeout is
+ * not bounded (and disabled until enough latencies have been recorded).
+ *
+ * @author GraviteeSource Team
+ */
+class AdaptiveTimeout {
+
+    /**
+     * The percentile is computed again at most every REFRESH_INTERVAL milliseconds.
+     */
+    private static final long REFRESH_INTERVAL = 1000;
+
+    private final RollingLatencyHistogram histogram;
+
+    private final double percentile;
+
+    private final double multiplier;
+
+    private final long minTimeout;
+
+    private final long maxTimeout;
+
+    private final long minSamples;
+
+    private final LongSupplier clock;
+
+    private volatile long timeout;
+
+    private volatile long refreshedAt;
+
+    AdaptiveTimeout(long window, double percentile, double multiplier, long minTimeout, long maxTimeout, long minSamples) {
+        this(window, percentile, multiplier, minTimeout, maxTimeout, minSamples, System::currentTimeMillis);
+    }
+
+    AdaptiveTimeout(long window, double percentile, double multiplier, long minTimeout, long maxTimeout, long minSamples,
+                    LongSupplier clock) {
+        this.histogram = new RollingLatencyHistogram(window, 10);
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+        this.minSamples = minSamples;
+        this.clock = clock;
+        this.timeout = this.maxTimeout;
+    }
+
+    /**
+     * Records the latency of a request which got a response.
+     */
+    void record(long latency) {
+        histogram.record(latency);
+    }
+
+    /**
+     * Records a request which timed out or failed after the given elapsed time, while it was given the given timeout.
+     */
+    void recordFailure(long elapsed, long timeout) {
+        histogram.record(Math.max(elapsed, timeout));
+    }
+
+    long timeout() {
+        long now = clock.getAsLong();
+        if (now - refreshedAt >= REFRESH_INTERVAL) {
+            refreshedAt = now;
+            timeout = compute();
+        }
+
+        return timeout;
+    }
+
+    private long compute() {
+        if (histogram.count() < minSamples) {
+            return maxTimeout;
+        }
+
+        long value = Math.max(minTimeout, (long) (histogram.percentile(percentile) * multiplier));
+        return (maxTimeout > 0) ? Math.min(maxTimeout, value) : value;
+    }
+}
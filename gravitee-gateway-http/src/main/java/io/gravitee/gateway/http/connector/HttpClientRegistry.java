@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector;
+
+import io.vertx.core.Context;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+
+/**
+ * Shares the HTTP clients (and so their connection pools) between the endpoints of all the APIs targeting the same
+ * origin with the same client configuration (TLS, proxy, timeouts, pool size, ...).
+ *
+ * Clients are still created per event-loop. Each client is reference counted, and closed when the last endpoint
+ * using it is stopped.
+ *
+ * The registry also keeps track of the event-loop contexts serving the requests, and of the usage of the pool of
+ * each client, so that the missing connections can be opened in advance on each of them.
+ *
+ * @author GraviteeSource Team
+ */
+public class HttpClientRegistry {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(HttpClientRegistry.class);
+
+    private final Map<ClientKey, SharedClient> clients = new HashMap<>();
+
+    // HTTP clients do not override equals / hashCode, entries are looked up by identity
+    private final Map<HttpClient, SharedClient> leases = new ConcurrentHashMap<>();
+
+    private final Set<Context> contexts = new CopyOnWriteArraySet<>();
+
+    public void registerContext(Context context) {
+        contexts.add(context);
+    }
+
+    public void unregisterContext(Context context) {
+        contexts.remove(context);
+    }
+
+    /**
+     * @return the event-loop contexts serving the requests.
+     */
+    public Collection<Context> contexts() {
+        return Collections.unmodifiableSet(contexts);
+    }
+
+    /**
+     * Returns the client shared by the given context for the given origin and options, creating it if needed.
+     */
+    public synchronized HttpClient acquire(Context context, URI origin, HttpClientOptions options,
+                                           Supplier<HttpClient> factory) {
+        ClientKey key = new ClientKey(context, origin(origin), options.toJson().encode());
+        SharedClient shared = clients.get(key);
+
+        if (shared == null) {
+            shared = new SharedClient(key, factory.get());
+            shared.client.connectionHandler(shared.usage::connectionOpened);
+            clients.put(key, shared);
+            leases.put(shared.client, shared);
+            LOGGER.debug("New HTTP client shared for origin {}", key.origin);
+        }
+
+        shared.references++;
+        return shared.client;
+    }
+
+    /**
+     * @return the usage of the pool of a client previously acquired.
+     */
+    public PoolUsage usage(HttpClient client) {
+        SharedClient shared = leases.get(client);
+        return (shared != null) ? shared.usage : new PoolUsage();
+    }
+
+    /**
+     * Releases a client previously acquired. The client is closed once it has been released by all of its users.
+     */
+    public void release(HttpClient client) {
+        SharedClient shared;
+
+        synchronized (this) {
+            shared = leases.get(client);
+            if (shared == null || --shared.references > 0) {
+                return;
+            }
+
+            leases.remove(client);
+            clients.remove(shared.key);
+        }
+
+        LOGGER.debug("Closing HTTP client shared for origin {}", shared.key.origin);
+        try {
+            client.close();
+        } catch (IllegalStateException ise) {
+            LOGGER.warn(ise.getMessage());
+        }
+    }
+
+    private static String origin(URI uri) {
+        String scheme = uri.getScheme().toLowerCase();
+        int port = (uri.getPort() != -1) ? uri.getPort() :
+                ("https".equals(scheme) || "wss".equals(scheme)) ? 443 : 80;
+
+        // The authority of a Unix domain socket target is the path of the socket
+        return scheme + "://" + (UnixDomainSocket.isUnixDomainSocket(uri) ? uri.getRawAuthority() : uri.getHost())
+                + ':' + port;
+    }
+
+    private static final class SharedClient {
+
+        private final ClientKey key;
+
+        private final HttpClient client;
+
+        private final PoolUsage usage = new PoolUsage();
+
+        private int references;
+
+        SharedClient(ClientKey key, HttpClient client) {
+            this.key = key;
+            this.client = client;
+        }
+    }
+
+    /**
+     * Usage of the pool of connections of a client. As a client is bound to an event-loop, the usage is only updated
+     * and read from this event-loop.
+     */
+    public static final class PoolUsage {
+
+        private int connections;
+
+        private int requests;
+
+        private int warmings;
+
+        private void connectionOpened(HttpConnection connection) {
+            connections++;
+            connection.closeHandler(v -> connections--);
+        }
+
+        /**
+         * @return the handler to run once the request is complete, whatever its result. Running it more than once
+         * has no effect.
+         */
+        public Runnable requestStarted() {
+            requests++;
+            return once(() -> requests--);
+        }
+
+        /**
+         * @return the handler to run once the warm-up request is complete, whatever its result. Running it more than
+         * once has no effect.
+         */
+        public Runnable warmingStarted() {
+            warmings++;
+            return once(() -> warmings--);
+        }
+
+        public int connections() {
+            return connections;
+        }
+
+        public int warmings() {
+            return warmings;
+        }
+
+        /**
+         * @param multiplexed <code>true</code> if the connections can serve concurrent requests (HTTP/2).
+         * @return the number of connections available for a new request, including the connections being opened by
+         * warm-up requests.
+         */
+        public int idleConnections(boolean multiplexed) {
+            return (multiplexed ? connections : Math.max(0, connections - requests)) + warmings;
+        }
+
+        private static Runnable once(Runnable runnable) {
+            return new Runnable() {
+                private boolean done;
+
+                @Override
+                public void run() {
+                    if (!done) {
+                        done = true;
+                        runnable.run();
+                    }
+                }
+            };
+        }
+    }
+
+    private static final class ClientKey {
+
+        private final Context context;
+
+        private final String origin;
+
+        private final String options;
+
+        ClientKey(Context context, String origin, String options) {
+            this.context = context;
+            this.origin = origin;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ClientKey that = (ClientKey) o;
+
+            return context == that.context && origin.equals(that.origin) && options.equals(that.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(context), origin, options);
+        }
+    }
+}
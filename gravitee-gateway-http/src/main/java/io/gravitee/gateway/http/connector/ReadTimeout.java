@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector;
+
+import io.gravitee.gateway.core.timer.HashedWheelTimer;
+import io.gravitee.gateway.core.timer.TimeoutScheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Read timeout of an upstream request: fires when no data has been received from the backend for the given delay.
+ *
+ * Receiving data only records the time of the last activity, the timeout itself is re-scheduled lazily on expiry
+ * for the remaining delay. This keeps the cost of a chunk to a clock read.
+ *
+ * @author GraviteeSource Team
+ */
+class ReadTimeout {
+
+    private final Scheduler scheduler;
+
+    private final long delay;
+
+    private final LongSupplier clock;
+
+    private Runnable onTimeout;
+
+    private long lastActivity;
+
+    private HashedWheelTimer.Timeout timeout;
+
+    private boolean cancelled;
+
+    private boolean expired;
+
+    /**
+     * @param scheduler the scheduler of the current event-loop, or <code>null</code> to disable the timeout.
+     * @param delay the read timeout, in milliseconds. A value lower or equal to 0 disables the timeout.
+     */
+    ReadTimeout(TimeoutScheduler scheduler, long delay) {
+        this((scheduler == null) ? null : scheduler::schedule, delay,
+                () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    ReadTimeout(Scheduler scheduler, long delay, LongSupplier clock) {
+        this.scheduler = scheduler;
+        this.delay = delay;
+        this.clock = clock;
+    }
+
+    void start(Runnable onTimeout) {
+        if (scheduler != null && delay > 0) {
+            this.onTimeout = onTimeout;
+            lastActivity = now();
+            timeout = scheduler.schedule(delay, this::check);
+        }
+    }
+
+    void touch() {
+        lastActivity = now();
+    }
+
+    void cancel() {
+        cancelled = true;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    boolean isExpired() {
+        return expired;
+    }
+
+    private void check() {
+        if (cancelled) {
+            return;
+        }
+
+        long elapsed = now() - lastActivity;
+        if (elapsed >= delay) {
+            expired = true;
+            onTimeout.run();
+        } else {
+            timeout = scheduler.schedule(delay - elapsed, this::check);
+        }
+    }
+
+    private long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Schedules the checks of the timeout, see {@link TimeoutScheduler#schedule(long, Runnable)}.
+     */
+    interface Scheduler {
+
+        HashedWheelTimer.Timeout schedule(long delay, Runnable task);
+    }
+}
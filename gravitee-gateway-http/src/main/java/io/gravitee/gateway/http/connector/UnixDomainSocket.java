@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLDecoder;
+
+/**
+ * Endpoints listening on a Unix domain socket are targeted with the <code>unix</code> scheme, the path of the socket
+ * being URL-encoded as the authority of the target, for instance:
+ * <code>unix://%2Fvar%2Frun%2Fbackend.sock/api</code>
+ *
+ * Such targets require the native transport (epoll / kqueue) to be enabled on Vert.x.
+ *
+ * @author GraviteeSource Team
+ */
+public final class UnixDomainSocket {
+
+    public static final String SCHEME = "unix";
+
+    /**
+     * Value of the <code>Host</code> header sent to the backend.
+     */
+    public static final String HOST = "localhost";
+
+    private UnixDomainSocket() {
+    }
+
+    public static boolean isUnixDomainSocket(URI uri) {
+        return SCHEME.equalsIgnoreCase(uri.getScheme());
+    }
+
+    /**
+     * @return the path of the socket targeted by the given URI, or <code>null</code> if the URI does not target a
+     * Unix domain socket.
+     */
+    public static String path(URI uri) {
+        if (!isUnixDomainSocket(uri) || uri.getRawAuthority() == null) {
+            return null;
+        }
+
+        try {
+            // '+' is kept as is, it is not a space in an URI authority
+            return URLDecoder.decode(uri.getRawAuthority().replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException uee) {
+            // UTF-8 is always supported
+            throw new IllegalStateException(uee);
+        }
+    }
+}
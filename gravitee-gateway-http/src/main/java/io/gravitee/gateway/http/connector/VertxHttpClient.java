@@ -19,6 +19,7 @@ import io.gravitee.common.component.AbstractLifecycleComponent;
 import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.common.http.HttpHeadersValues;
 import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.definition.model.Endpoint;
 import io.gravitee.definition.model.HttpClientSslOptions;
 import io.gravitee.definition.model.HttpProxy;
 import io.gravitee.definition.model.endpoint.HttpEndpoint;
@@ -35,12 +36,19 @@ import io.gravitee.gateway.api.proxy.ProxyRequest;
 import io.gravitee.gateway.api.proxy.ProxyResponse;
 import io.gravitee.gateway.api.proxy.ws.WebSocketProxyRequest;
 import io.gravitee.gateway.core.endpoint.EndpointException;
+import io.gravitee.gateway.core.endpoint.EndpointStatusNotifier;
 import io.gravitee.gateway.core.proxy.EmptyProxyResponse;
 import io.gravitee.gateway.core.proxy.ws.SwitchProtocolProxyResponse;
+import io.gravitee.gateway.core.ssl.SslSessionConfigurer;
+import io.gravitee.gateway.core.timer.TimeoutScheduler;
+import io.gravitee.gateway.http.connector.dns.HostResolver;
 import io.gravitee.gateway.http.connector.ws.VertxWebSocketFrame;
 import io.gravitee.gateway.http.connector.ws.VertxWebSocketProxyConnection;
+import io.gravitee.gateway.http.connector.ws.WebSocketFlowControl;
+import io.gravitee.gateway.http.connector.ws.WebSocketWriter;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -49,9 +57,11 @@ import io.vertx.core.net.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 
@@ -64,6 +74,7 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
     private final Logger LOGGER = LoggerFactory.getLogger(VertxHttpClient.class);
 
     private static final String HTTPS_SCHEME = "https";
+    private static final String WS_SCHEME = "ws";
     private static final String WSS_SCHEME = "wss";
     private static final int DEFAULT_HTTP_PORT = 80;
     private static final int DEFAULT_HTTPS_PORT = 443;
@@ -101,16 +112,131 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
     @Autowired
     private Vertx vertx;
 
+    @Autowired
+    private HttpClientRegistry httpClientRegistry;
+
+    @Autowired
+    private HostResolver hostResolver;
+
+    @Autowired
+    private WebSocketFlowControl webSocketFlowControl;
+
+    @Autowired
+    private EndpointStatusNotifier endpointStatusNotifier;
+
     private final HttpEndpoint endpoint;
 
     private HttpClientOptions httpClientOptions;
 
+    @Value("${http.client.adaptiveTimeout.enabled:false}")
+    private boolean adaptiveTimeoutEnabled;
+
+    @Value("${http.client.adaptiveTimeout.percentile:99}")
+    private double adaptiveTimeoutPercentile;
+
+    @Value("${http.client.adaptiveTimeout.multiplier:3}")
+    private double adaptiveTimeoutMultiplier;
+
+    @Value("${http.client.adaptiveTimeout.min:1000}")
+    private long adaptiveTimeoutMin;
+
+    @Value("${http.client.adaptiveTimeout.max:0}")
+    private long adaptiveTimeoutMax;
+
+    @Value("${http.client.adaptiveTimeout.window:60000}")
+    private long adaptiveTimeoutWindow;
+
+    @Value("${http.client.adaptiveTimeout.minSamples:100}")
+    private long adaptiveTimeoutMinSamples;
+
+    private AdaptiveTimeout adaptiveTimeout;
+
+    @Value("${http.client.http2.enabled:false}")
+    private boolean http2Enabled;
+
+    @Value("${http.client.http2.clearTextUpgrade:true}")
+    private boolean http2ClearTextUpgrade;
+
+    @Value("${http.client.http2.multiplexingLimit:-1}")
+    private int http2MultiplexingLimit;
+
+    @Value("${http.client.http2.maxPoolSize:1}")
+    private int http2MaxPoolSize;
+
+    @Value("${http.client.http2.connectionWindowSize:-1}")
+    private int http2ConnectionWindowSize;
+
+    @Value("${http.client.http2.initialWindowSize:65535}")
+    private int http2InitialWindowSize;
+
+    @Value("${http.client.prewarm.enabled:false}")
+    private boolean prewarmEnabled;
+
+    @Value("${http.client.prewarm.connections:1}")
+    private int prewarmConnections;
+
+    @Value("${http.client.prewarm.interval:0}")
+    private long prewarmInterval;
+
+    @Value("${http.client.prewarm.path:*}")
+    private String prewarmPath;
+
+    private boolean prewarming;
+
+    private long prewarmTimerId = -1;
+
+    private io.gravitee.gateway.api.handler.Handler<Endpoint.Status> endpointStatusListener;
+
+    @Value("${http.client.ssl.openssl:false}")
+    private boolean openssl;
+
+    @Value("${http.client.ssl.sessionCacheSize:-1}")
+    private int sslSessionCacheSize;
+
+    @Value("${http.client.ssl.sessionTimeout:-1}")
+    private int sslSessionTimeout;
+
+    private SslSessionConfigurer sslSessionConfigurer;
+
+    @Value("${http.client.compressionPassthrough:false}")
+    private boolean compressionPassthrough;
+
+    @Value("${http.client.websocket.perMessageDeflate.enabled:false}")
+    private boolean websocketPerMessageDeflate;
+
+    @Value("${http.client.websocket.perMessageDeflate.compressionLevel:6}")
+    private int websocketCompressionLevel;
+
+    @Value("${http.client.websocket.perMessageDeflate.allowClientNoContext:false}")
+    private boolean websocketAllowClientNoContext;
+
+    @Value("${http.client.websocket.perMessageDeflate.requestServerNoContext:false}")
+    private boolean websocketRequestServerNoContext;
+
+    @Value("${http.client.reusePort:false}")
+    private boolean reusePort;
+
+    @Value("${http.client.tcpFastOpen:false}")
+    private boolean tcpFastOpen;
+
+    @Value("${http.client.tcpQuickAck:false}")
+    private boolean tcpQuickAck;
+
+    @Value("${http.client.tcpCork:false}")
+    private boolean tcpCork;
+
+    @Value("${http.client.sendBufferSize:-1}")
+    private int sendBufferSize;
+
+    @Value("${http.client.receiveBufferSize:-1}")
+    private int receiveBufferSize;
+
     @Autowired
     public VertxHttpClient(HttpEndpoint endpoint) {
         this.endpoint = endpoint;
     }
 
-    private final Map<Context, HttpClient> httpClients = new HashMap<>();
+    private final Map<Context, HttpClient> httpClients = new ConcurrentHashMap<>();
 
     @Override
     public ProxyConnection request(ProxyRequest proxyRequest) {
@@ -118,9 +244,16 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
 
         // Remove hop-by-hop headers.
         if (! proxyRequest.isWebSocket()) {
+            // HTTP/2 allows the TE header with the 'trailers' value (required by gRPC for instance)
+            String te = http2Enabled ? proxyRequest.headers().getFirst(HttpHeaderNames.TE.toString()) : null;
+
             for (CharSequence header : HOP_HEADERS) {
                 proxyRequest.headers().remove(header);
             }
+
+            if (te != null && HttpHeaderValues.TRAILERS.contentEqualsIgnoreCase(te.trim())) {
+                proxyRequest.headers().set(HttpHeaderNames.TE.toString(), HttpHeaderValues.TRAILERS.toString());
+            }
         } else {
             for (CharSequence header : WS_HOP_HEADERS) {
                 proxyRequest.headers().remove(header);
@@ -129,11 +262,15 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
 
         final URI uri = proxyRequest.uri();
 
+        // For a Unix domain socket, the authority of the URI is the path of the socket, not a host
+        final String socketPath = UnixDomainSocket.path(uri);
+        final String uriHost = (socketPath != null) ? UnixDomainSocket.HOST : uri.getHost();
+
         final int port = uri.getPort() != -1 ? uri.getPort() :
                 (HTTPS_SCHEME.equals(uri.getScheme()) || WSS_SCHEME.equals(uri.getScheme()) ? 443 : 80);
 
         final String host = (port == DEFAULT_HTTP_PORT || port == DEFAULT_HTTPS_PORT) ?
-                uri.getHost() : uri.getHost() + ':' + port;
+                uriHost : uriHost + ':' + port;
 
         proxyRequest.headers().set(HttpHeaders.HOST, host);
 
@@ -151,28 +288,39 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
             VertxWebSocketProxyConnection webSocketProxyConnection = new VertxWebSocketProxyConnection();
             WebSocketProxyRequest wsProxyRequest = (WebSocketProxyRequest) proxyRequest;
 
-            httpClient.websocket(port, uri.getHost(), relativeUri, new Handler<WebSocket>() {
+            // The WebSocket client of Vert.x can not connect to a Unix domain socket. The rejection is deferred until
+            // the response handler of the connection has been set by the caller.
+            if (socketPath != null) {
+                vertx.runOnContext(v -> {
+                    wsProxyRequest.reject(HttpStatusCode.BAD_GATEWAY_502);
+                    ProxyResponse clientResponse = new EmptyProxyResponse(HttpStatusCode.BAD_GATEWAY_502);
+
+                    clientResponse.headers().set(HttpHeaders.CONNECTION, HttpHeadersValues.CONNECTION_CLOSE);
+                    webSocketProxyConnection.handleResponse(clientResponse);
+                });
+                return webSocketProxyConnection;
+            }
+
+            httpClient.websocket(port, uriHost, relativeUri, new Handler<WebSocket>() {
                 @Override
                 public void handle(WebSocket event) {
                     // The client -> gateway connection must be upgraded now that the one between gateway -> upstream
                     // has been accepted
                     wsProxyRequest.upgrade();
 
-                    // From server to client
-                    wsProxyRequest.frameHandler(frame -> {
-                        if (frame.type() == io.gravitee.gateway.api.ws.WebSocketFrame.Type.BINARY) {
-                            event.writeBinaryMessage(io.vertx.core.buffer.Buffer.buffer(frame.data().getBytes()));
-                        } else if (frame.type() == io.gravitee.gateway.api.ws.WebSocketFrame.Type.TEXT) {
-                            event.writeTextMessage(frame.data().toString());
-                        }
-                    });
+                    // From server to client, the client is paused while the upstream can not keep up
+                    WebSocketWriter upstreamWriter = new WebSocketWriter(event, webSocketFlowControl);
+                    wsProxyRequest.frameHandler(upstreamWriter::write);
 
                     wsProxyRequest.closeHandler(result -> event.close());
 
                     // From client to server
-                    event.frameHandler(frame -> wsProxyRequest.write(new VertxWebSocketFrame(frame)));
+                    event.frameHandler(frame -> wsProxyRequest.write(new VertxWebSocketFrame(frame, event)));
 
-                    event.closeHandler(event1 -> wsProxyRequest.close());
+                    event.closeHandler(event1 -> {
+                        upstreamWriter.closed();
+                        wsProxyRequest.close();
+                    });
 
                     event.exceptionHandler(new Handler<Throwable>() {
                         @Override
@@ -207,42 +355,78 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
             return webSocketProxyConnection;
         } else {
             // Prepare HTTP request
-            HttpClientRequest clientRequest = httpClient.request(
-                    HttpMethod.valueOf(proxyRequest.method().name()), port, uri.getHost(), relativeUri);
-            clientRequest.setTimeout(endpoint.getHttpClientOptions().getReadTimeout());
+            HttpClientRequest clientRequest;
+            io.vertx.core.net.SocketAddress serverAddress = (socketPath != null) ?
+                    io.vertx.core.net.SocketAddress.domainSocketAddress(socketPath) : resolve(uriHost, port);
+            if (serverAddress != null) {
+                // Connect to the address picked by the resolver (or to the Unix domain socket), the host is still
+                // used for TLS (SNI and verification) and for the Host header
+                clientRequest = httpClient.request(
+                        HttpMethod.valueOf(proxyRequest.method().name()), serverAddress, port, uriHost, relativeUri);
+            } else {
+                clientRequest = httpClient.request(
+                        HttpMethod.valueOf(proxyRequest.method().name()), port, uriHost, relativeUri);
+            }
             clientRequest.setFollowRedirects(endpoint.getHttpClientOptions().isFollowRedirects());
 
             if (proxyRequest.method() == io.gravitee.common.http.HttpMethod.OTHER) {
                 clientRequest.setRawMethod(proxyRequest.rawMethod());
             }
 
-            VertxProxyConnection proxyConnection = new VertxProxyConnection(proxyRequest, clientRequest);
-            clientRequest.handler(clientResponse -> handleClientResponse(proxyConnection, clientResponse, clientRequest));
+            // Read timeouts are scheduled on the timing wheel of the event-loop
+            final long readTimeoutDelay = (adaptiveTimeout != null) ?
+                    adaptiveTimeout.timeout() : endpoint.getHttpClientOptions().getReadTimeout();
+            final TimeoutScheduler timeoutScheduler = TimeoutScheduler.current();
+            if (timeoutScheduler == null) {
+                clientRequest.setTimeout(readTimeoutDelay);
+            }
+            final ReadTimeout readTimeout = new ReadTimeout(timeoutScheduler, readTimeoutDelay);
+
+            VertxProxyConnection proxyConnection = new VertxProxyConnection(proxyRequest, clientRequest, http2Enabled);
+            if (prewarming) {
+                // Keep track of the connections in use, to know how many of them are missing in the pool
+                proxyConnection.completionHandler(httpClientRegistry.usage(httpClient).requestStarted());
+            }
+            final long requestStart = System.currentTimeMillis();
+            clientRequest.handler(clientResponse -> {
+                if (adaptiveTimeout != null) {
+                    adaptiveTimeout.record(System.currentTimeMillis() - requestStart);
+                }
+                handleClientResponse(proxyConnection, clientResponse, clientRequest, readTimeout);
+            });
 
             clientRequest.connectionHandler(connection -> {
                 connection.exceptionHandler(ex -> {
                     // I don't want to fill my logs with error
                 });
+
+                if (sslSessionConfigurer != null) {
+                    sslSessionConfigurer.configure(connection);
+                }
             });
 
             clientRequest.exceptionHandler(event -> {
-                if (!proxyConnection.isCanceled() && !proxyConnection.isTransmitted()) {
-                    proxyRequest.metrics().setMessage(event.getMessage());
-
-                    if (proxyConnection.timeoutHandler() != null
-                            && (event instanceof ConnectException ||
-                            event instanceof TimeoutException ||
-                            event instanceof NoRouteToHostException ||
-                            event instanceof UnknownHostException)) {
-                        proxyConnection.handleConnectTimeout(event);
-                    } else {
-                        ProxyResponse clientResponse = new EmptyProxyResponse(
-                                ((event instanceof ConnectTimeoutException) || (event instanceof TimeoutException)) ?
-                                        HttpStatusCode.GATEWAY_TIMEOUT_504 : HttpStatusCode.BAD_GATEWAY_502);
-
-                        clientResponse.headers().set(HttpHeaders.CONNECTION, HttpHeadersValues.CONNECTION_CLOSE);
-                        proxyConnection.handleResponse(clientResponse);
+                // Once the read timeout has expired, the failure has already been handled
+                if (!readTimeout.isExpired()) {
+                    readTimeout.cancel();
+                    proxyConnection.complete();
+                    if (adaptiveTimeout != null) {
+                        adaptiveTimeout.recordFailure(System.currentTimeMillis() - requestStart, readTimeoutDelay);
                     }
+                    handleRequestException(proxyRequest, proxyConnection, event);
+                }
+            });
+
+            readTimeout.start(() -> {
+                proxyConnection.complete();
+                if (adaptiveTimeout != null) {
+                    adaptiveTimeout.recordFailure(System.currentTimeMillis() - requestStart, readTimeoutDelay);
+                }
+                if (!proxyConnection.isCanceled()) {
+                    handleRequestException(proxyRequest, proxyConnection, new TimeoutException(
+                            "The timeout period of " + readTimeoutDelay + "ms has been exceeded while executing "
+                                    + proxyRequest.method() + ' ' + relativeUri + " for host " + host));
+                    clientRequest.reset();
                 }
             });
 
@@ -250,8 +434,42 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
         }
     }
 
+    private io.vertx.core.net.SocketAddress resolve(String host, int port) {
+        // When going through a proxy, the proxy resolves the host
+        if (httpClientOptions.getProxyOptions() != null) {
+            return null;
+        }
+
+        return hostResolver.resolve(host, port);
+    }
+
+    private void handleRequestException(final ProxyRequest proxyRequest, final VertxProxyConnection proxyConnection,
+                                        final Throwable event) {
+        if (!proxyConnection.isCanceled() && !proxyConnection.isTransmitted()) {
+            proxyRequest.metrics().setMessage(event.getMessage());
+
+            if (proxyConnection.timeoutHandler() != null
+                    && (event instanceof ConnectException ||
+                    event instanceof TimeoutException ||
+                    event instanceof NoRouteToHostException ||
+                    event instanceof UnknownHostException)) {
+                proxyConnection.handleConnectTimeout(event);
+            } else {
+                ProxyResponse clientResponse = new EmptyProxyResponse(
+                        ((event instanceof ConnectTimeoutException) || (event instanceof TimeoutException)) ?
+                                HttpStatusCode.GATEWAY_TIMEOUT_504 : HttpStatusCode.BAD_GATEWAY_502);
+
+                clientResponse.headers().set(HttpHeaders.CONNECTION, HttpHeadersValues.CONNECTION_CLOSE);
+                proxyConnection.handleResponse(clientResponse);
+            }
+        }
+    }
+
     private void handleClientResponse(final VertxProxyConnection proxyConnection,
-                                      final HttpClientResponse clientResponse, final HttpClientRequest clientRequest) {
+                                      final HttpClientResponse clientResponse, final HttpClientRequest clientRequest,
+                                      final ReadTimeout readTimeout) {
+        readTimeout.touch();
+
         VertxProxyResponse proxyClientResponse = new VertxProxyResponse(clientResponse);
         proxyConnection.setProxyResponse(proxyClientResponse);
 
@@ -262,12 +480,21 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
         proxyClientResponse.pause();
 
         // Copy body content
-        clientResponse.handler(event -> proxyClientResponse.bodyHandler().handle(Buffer.buffer(event.getBytes())));
+        clientResponse.handler(event -> {
+            readTimeout.touch();
+            proxyClientResponse.bodyHandler().handle(Buffer.buffer(event.getBytes()));
+        });
 
         // Signal end of the response
-        clientResponse.endHandler(v -> proxyClientResponse.endHandler().handle(null));
+        clientResponse.endHandler(v -> {
+            readTimeout.cancel();
+            proxyConnection.complete();
+            proxyClientResponse.endHandler().handle(null);
+        });
 
         clientResponse.exceptionHandler(throwable -> {
+            readTimeout.cancel();
+            proxyConnection.complete();
             LOGGER.error("Unexpected error while handling backend response for request {} {} - {}",
                     clientRequest.method(), clientRequest.absoluteURI(), throwable.getMessage());
             proxyClientResponse.endHandler().handle(null);
@@ -286,7 +513,46 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
         httpClientOptions.setConnectTimeout((int) endpoint.getHttpClientOptions().getConnectTimeout());
         httpClientOptions.setUsePooledBuffers(true);
         httpClientOptions.setMaxPoolSize(endpoint.getHttpClientOptions().getMaxConcurrentConnections());
-        httpClientOptions.setTryUseCompression(endpoint.getHttpClientOptions().isUseCompression());
+        // With the passthrough, the Accept-Encoding header of the client is sent as is, and the bodies encoded by the
+        // endpoint are relayed without being inflated by the gateway
+        httpClientOptions.setTryUseCompression(endpoint.getHttpClientOptions().isUseCompression() && !compressionPassthrough);
+
+        // permessage-deflate is negotiated with the endpoint independently of the client side of the WebSocket: frames
+        // are inflated when received from one side, and deflated again if negotiated on the other side
+        if (websocketPerMessageDeflate) {
+            httpClientOptions
+                    .setTryUsePerMessageWebsocketCompression(true)
+                    .setWebsocketCompressionLevel(websocketCompressionLevel)
+                    .setWebsocketCompressionAllowClientNoContext(websocketAllowClientNoContext)
+                    .setWebsocketCompressionRequestServerNoContext(websocketRequestServerNoContext);
+        }
+
+        // Socket options, SO_REUSEPORT and TCP_* options are only applied with the native transport
+        httpClientOptions
+                .setReusePort(reusePort)
+                .setTcpFastOpen(tcpFastOpen)
+                .setTcpQuickAck(tcpQuickAck)
+                .setTcpCork(tcpCork);
+
+        if (sendBufferSize > 0) {
+            httpClientOptions.setSendBufferSize(sendBufferSize);
+        }
+        if (receiveBufferSize > 0) {
+            httpClientOptions.setReceiveBufferSize(receiveBufferSize);
+        }
+
+        if (http2Enabled) {
+            // Over TLS, the protocol is negotiated with ALPN and falls back to HTTP/1.1 if the backend does not support
+            // HTTP/2. In clear text, the connection is either upgraded (with the same fallback) or opened with prior
+            // knowledge.
+            httpClientOptions
+                    .setProtocolVersion(HttpVersion.HTTP_2)
+                    .setHttp2ClearTextUpgrade(http2ClearTextUpgrade)
+                    .setHttp2MultiplexingLimit(http2MultiplexingLimit)
+                    .setHttp2MaxPoolSize(http2MaxPoolSize)
+                    .setHttp2ConnectionWindowSize(http2ConnectionWindowSize)
+                    .setInitialSettings(new Http2Settings().setInitialWindowSize(http2InitialWindowSize));
+        }
 
         // Configure proxy
         HttpProxy proxy = endpoint.getHttpProxy();
@@ -304,9 +570,30 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
         URI target = URI.create(endpoint.getTarget());
         HttpClientSslOptions sslOptions = endpoint.getHttpClientSslOptions();
 
+        if (UnixDomainSocket.isUnixDomainSocket(target) && !vertx.isNativeTransportEnabled()) {
+            throw new EndpointException("Unix domain sockets require the native transport, which is not enabled, "
+                    + "for endpoint " + endpoint.getName());
+        }
+
         if (HTTPS_SCHEME.equalsIgnoreCase(target.getScheme()) || WSS_SCHEME.equalsIgnoreCase(target.getScheme())) {
             // Configure SSL
             httpClientOptions.setSsl(true);
+            httpClientOptions.setUseAlpn(http2Enabled);
+
+            if (openssl) {
+                if (OpenSSLEngineOptions.isAvailable()) {
+                    httpClientOptions.setOpenSslEngineOptions(new OpenSSLEngineOptions());
+                } else {
+                    LOGGER.warn("OpenSSL engine is not available (netty-tcnative is missing), falling back to JDK SSL engine");
+                }
+            }
+
+            // Sessions are cached by the SSL context of the HTTP client (shared between the endpoints targeting the
+            // same origin), so that they are resumed when connections to the backend are re-opened
+            SslSessionConfigurer configurer = new SslSessionConfigurer(sslSessionCacheSize, sslSessionTimeout, null);
+            if (configurer.isEnabled()) {
+                sslSessionConfigurer = configurer;
+            }
 
             if (sslOptions != null) {
                 httpClientOptions
@@ -402,24 +689,108 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
             }
         }
 
+        if (adaptiveTimeoutEnabled) {
+            // The read timeout of the endpoint is used as the upper bound, unless a maximum is explicitly configured
+            adaptiveTimeout = new AdaptiveTimeout(
+                    adaptiveTimeoutWindow,
+                    adaptiveTimeoutPercentile,
+                    adaptiveTimeoutMultiplier,
+                    adaptiveTimeoutMin,
+                    (adaptiveTimeoutMax > 0) ? adaptiveTimeoutMax : endpoint.getHttpClientOptions().getReadTimeout(),
+                    adaptiveTimeoutMinSamples);
+        }
+
         printHttpClientConfiguration(httpClientOptions);
+
+        // Vert.x pools the connections by server address: when the hosts are resolved by the gateway, requests are
+        // spread across several pools which cannot be known in advance, so that pre-warming is skipped
+        prewarming = prewarmEnabled && !hostResolver.isEnabled() && !UnixDomainSocket.isUnixDomainSocket(target)
+                && !WS_SCHEME.equalsIgnoreCase(target.getScheme()) && !WSS_SCHEME.equalsIgnoreCase(target.getScheme());
+
+        if (prewarming) {
+            prewarm();
+
+            // Open the connections again once the health-check considers the endpoint is back after a failure
+            endpointStatusListener = status -> {
+                if (status != Endpoint.Status.DOWN) {
+                    prewarm();
+                }
+            };
+            endpointStatusNotifier.subscribe(endpoint, endpointStatusListener);
+
+            // Replace the connections closed in the meantime (idle timeout, closed by the endpoint, ...)
+            if (prewarmInterval > 0) {
+                prewarmTimerId = vertx.setPeriodic(prewarmInterval, id -> prewarm());
+            }
+        }
+    }
+
+    /**
+     * Opens connections in advance on each event-loop, so that the first requests do not pay for the TCP and TLS
+     * handshakes. The connections are opened by sending a lightweight request (<code>OPTIONS *</code> by default) and
+     * are then kept in the pool of the HTTP client.
+     *
+     * Only the connections missing to reach the expected number of idle connections are opened, nothing is sent when
+     * the pool already has enough of them.
+     */
+    private void prewarm() {
+        // Do not open connections to an endpoint considered as down by the health-check
+        if (endpoint.getStatus() == Endpoint.Status.DOWN) {
+            return;
+        }
+
+        final URI target = URI.create(endpoint.getTarget());
+        final int port = target.getPort() != -1 ? target.getPort() :
+                (HTTPS_SCHEME.equalsIgnoreCase(target.getScheme()) ? DEFAULT_HTTPS_PORT : DEFAULT_HTTP_PORT);
+
+        for (Context context : httpClientRegistry.contexts()) {
+            context.runOnContext(v -> {
+                HttpClient httpClient = httpClients.computeIfAbsent(context, createHttpClient());
+                HttpClientRegistry.PoolUsage usage = httpClientRegistry.usage(httpClient);
+                int missing = Math.min(prewarmConnections - usage.idleConnections(http2Enabled),
+                        httpClientOptions.getMaxPoolSize() - usage.connections() - usage.warmings());
+
+                // Concurrent requests force the pool to open as many connections
+                for (int i = 0; i < missing; i++) {
+                    Runnable warmed = usage.warmingStarted();
+                    HttpClientRequest request = httpClient.request(HttpMethod.OPTIONS, port, target.getHost(), prewarmPath);
+                    request.setTimeout(Math.max(1, httpClientOptions.getConnectTimeout()) * 2L);
+                    request.handler(response -> {
+                        response.exceptionHandler(throwable -> warmed.run());
+                        response.endHandler(end -> warmed.run());
+                    });
+                    request.exceptionHandler(throwable -> {
+                        warmed.run();
+                        LOGGER.debug("Unable to pre-warm a connection to endpoint [{}]: {}",
+                                endpoint.getTarget(), throwable.getMessage());
+                    });
+                    request.end();
+                }
+            });
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
         LOGGER.info("Closing HTTP Client for '{}' endpoint [{}]", endpoint.getName(), endpoint.getTarget());
 
-        httpClients.values().forEach(httpClient -> {
-            try {
-                httpClient.close();
-            } catch (IllegalStateException ise) {
-                LOGGER.warn(ise.getMessage());
-            }
-        });
+        if (prewarmTimerId != -1) {
+            vertx.cancelTimer(prewarmTimerId);
+            prewarmTimerId = -1;
+        }
+
+        if (endpointStatusListener != null) {
+            endpointStatusNotifier.unsubscribe(endpoint, endpointStatusListener);
+            endpointStatusListener = null;
+        }
+
+        // Shared clients are only closed once released by all the endpoints using them
+        httpClients.values().forEach(httpClientRegistry::release);
     }
 
     private Function<Context, HttpClient> createHttpClient() {
-        return context -> vertx.createHttpClient(httpClientOptions);
+        return context -> httpClientRegistry.acquire(context, URI.create(endpoint.getTarget()), httpClientOptions,
+                () -> vertx.createHttpClient(httpClientOptions));
     }
 
     private void printHttpClientConfiguration(HttpClientOptions httpClientOptions) {
@@ -434,12 +805,33 @@ public class VertxHttpClient extends AbstractLifecycleComponent<Connector> imple
                 ", Pipelining='" + httpClientOptions.isPipelining() + '\'' +
                 ", PipeliningLimit='" + httpClientOptions.getPipeliningLimit() + '\'' +
                 ", TryUseCompression='" + httpClientOptions.isTryUseCompression() + '\'' +
+                ", ProtocolVersion='" + httpClientOptions.getProtocolVersion() + '\'' +
                 '}');
 
+        if (vertx.isNativeTransportEnabled()) {
+            LOGGER.info("\tSocket {" +
+                    "ReusePort='" + httpClientOptions.isReusePort() + '\'' +
+                    ", TcpFastOpen='" + httpClientOptions.isTcpFastOpen() + '\'' +
+                    ", TcpQuickAck='" + httpClientOptions.isTcpQuickAck() + '\'' +
+                    ", TcpCork='" + httpClientOptions.isTcpCork() + '\'' +
+                    '}');
+        }
+
+        if (httpClientOptions.getProtocolVersion() == HttpVersion.HTTP_2) {
+            LOGGER.info("\tHTTP/2 {" +
+                    "ClearTextUpgrade='" + httpClientOptions.isHttp2ClearTextUpgrade() + '\'' +
+                    ", MultiplexingLimit='" + httpClientOptions.getHttp2MultiplexingLimit() + '\'' +
+                    ", MaxPoolSize='" + httpClientOptions.getHttp2MaxPoolSize() + '\'' +
+                    ", ConnectionWindowSize='" + httpClientOptions.getHttp2ConnectionWindowSize() + '\'' +
+                    ", InitialWindowSize='" + httpClientOptions.getInitialSettings().getInitialWindowSize() + '\'' +
+                    '}');
+        }
+
         if (httpClientOptions.isSsl()) {
             LOGGER.info("\tSSL {" +
                     "TrustAll='" + httpClientOptions.isTrustAll() + '\'' +
                     ", VerifyHost='" + httpClientOptions.isVerifyHost() + '\'' +
+                    ", OpenSSL='" + (httpClientOptions.getSslEngineOptions() instanceof OpenSSLEngineOptions) + '\'' +
                     '}');
         }
 
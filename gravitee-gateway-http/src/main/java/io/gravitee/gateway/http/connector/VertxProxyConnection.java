@@ -36,24 +36,48 @@ class VertxProxyConnection implements ProxyConnection {
     private ProxyResponse proxyResponse;
     private Handler<Throwable> timeoutHandler;
     private Handler<ProxyResponse> responseHandler;
+    private Runnable completionHandler;
     private boolean canceled = false;
     private boolean transmitted = false;
     private boolean headersWritten = false;
     private boolean content = false;
+    private final boolean http2;
 
     VertxProxyConnection(final ProxyRequest proxyRequest, final HttpClientRequest httpClientRequest) {
+        this(proxyRequest, httpClientRequest, false);
+    }
+
+    VertxProxyConnection(final ProxyRequest proxyRequest, final HttpClientRequest httpClientRequest, final boolean http2) {
         this.proxyRequest = proxyRequest;
         this.httpClientRequest = httpClientRequest;
+        this.http2 = http2;
     }
 
     public void setProxyResponse(ProxyResponse proxyResponse) {
         this.proxyResponse = proxyResponse;
     }
 
+    /**
+     * Sets the handler to run once the upstream exchange is complete: response fully read, failure, timeout or
+     * cancellation.
+     */
+    public void completionHandler(Runnable completionHandler) {
+        this.completionHandler = completionHandler;
+    }
+
+    public void complete() {
+        if (completionHandler != null) {
+            Runnable handler = completionHandler;
+            completionHandler = null;
+            handler.run();
+        }
+    }
+
     @Override
     public ProxyConnection cancel() {
         this.canceled = true;
         this.httpClientRequest.reset();
+        complete();
         if (proxyResponse != null) {
             proxyResponse.bodyHandler(null);
         }
@@ -133,7 +157,19 @@ class VertxProxyConnection implements ProxyConnection {
         }
 
         // Copy headers to upstream
-        proxyRequest.headers().forEach(httpClientRequest::putHeader);
+        if (http2) {
+            // As per https://tools.ietf.org/html/rfc7540#section-8.1.2.2, connection-specific header fields must not
+            // be sent. Chunked transfer is applied by the client itself if the connection falls back to HTTP/1.1.
+            headers.forEach((headerName, headerValues) -> {
+                if (!headerName.equalsIgnoreCase(HttpHeaders.CONNECTION)
+                        && !headerName.equalsIgnoreCase(HttpHeaders.KEEP_ALIVE)
+                        && !headerName.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)) {
+                    httpClientRequest.putHeader(headerName, headerValues);
+                }
+            });
+        } else {
+            proxyRequest.headers().forEach(httpClientRequest::putHeader);
+        }
 
         headersWritten = true;
     }
@@ -0,0 +1,242 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector.dns;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.resolver.NameResolver;
+import io.netty.resolver.ResolvedAddressTypes;
+import io.netty.resolver.dns.*;
+import io.netty.util.NetUtil;
+import io.vertx.core.Vertx;
+import io.vertx.core.net.SocketAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves the hosts of the endpoints asynchronously, with a resolver configured by the gateway (name servers, cache
+ * TTL bounds, negative cache TTL) instead of the default resolver of Vert.x.
+ *
+ * All the A / AAAA records of a host are kept, and connections are spread across them in a round-robin fashion.
+ * Hosts in use are resolved again on a schedule, so that backends scaling out (Kubernetes headless services, cloud
+ * load balancers, ...) are picked up without waiting for the connections to be recycled.
+ *
+ * Resolution never blocks a request: until a host has been resolved, the default resolver of the HTTP client is used.
+ *
+ * @author GraviteeSource Team
+ */
+public class HostResolver implements InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(HostResolver.class);
+
+    private static final int DEFAULT_DNS_PORT = 53;
+
+    @Autowired
+    private Vertx vertx;
+
+    @Value("${http.client.dns.enabled:false}")
+    private boolean enabled;
+
+    @Value("${http.client.dns.servers:#{null}}")
+    private String servers;
+
+    @Value("${http.client.dns.minTtl:0}")
+    private int minTtl;
+
+    @Value("${http.client.dns.maxTtl:2147483647}")
+    private int maxTtl;
+
+    @Value("${http.client.dns.negativeTtl:0}")
+    private int negativeTtl;
+
+    @Value("${http.client.dns.queryTimeout:5000}")
+    private long queryTimeout;
+
+    @Value("${http.client.dns.addressTypes:IPV4_PREFERRED}")
+    private ResolvedAddressTypes addressTypes;
+
+    @Value("${http.client.dns.refreshInterval:30000}")
+    private long refreshInterval;
+
+    private final Map<String, ResolvedHost> hosts = new ConcurrentHashMap<>();
+
+    private EventLoopGroup eventLoopGroup;
+
+    private NameResolver<InetAddress> resolver;
+
+    private long refreshTimerId = -1;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+
+        // A dedicated thread for DNS queries, the event-loops of Vert.x are left to the requests
+        eventLoopGroup = new NioEventLoopGroup(1);
+
+        DnsNameResolverBuilder builder = new DnsNameResolverBuilder(eventLoopGroup.next())
+                .channelType(NioDatagramChannel.class)
+                .ttl(minTtl, maxTtl)
+                .negativeTtl(negativeTtl)
+                .queryTimeoutMillis(queryTimeout)
+                .resolvedAddressTypes(addressTypes);
+
+        List<InetSocketAddress> nameServers = nameServers();
+        if (!nameServers.isEmpty()) {
+            builder.nameServerProvider(new SequentialDnsServerAddressStreamProvider(nameServers));
+        }
+
+        resolver = builder.build();
+
+        if (refreshInterval > 0) {
+            refreshTimerId = vertx.setPeriodic(refreshInterval, id -> refresh());
+        }
+
+        LOGGER.info("DNS resolver configured for endpoints: servers={}, ttl=[{}, {}], negativeTtl={}, addressTypes={}",
+                nameServers.isEmpty() ? "system" : nameServers, minTtl, maxTtl, negativeTtl, addressTypes);
+    }
+
+    @Override
+    public void destroy() {
+        if (refreshTimerId != -1) {
+            vertx.cancelTimer(refreshTimerId);
+        }
+
+        if (resolver != null) {
+            resolver.close();
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+
+    /**
+     * Returns <code>true</code> when the hosts of the endpoints are resolved by this resolver.
+     */
+    public boolean isEnabled() {
+        return resolver != null;
+    }
+
+    /**
+     * Returns the next address of the given host, or <code>null</code> if the host is not (yet) resolved by this
+     * resolver, in which case the HTTP client has to resolve it by itself.
+     */
+    public SocketAddress resolve(String host, int port) {
+        if (resolver == null || host == null || NetUtil.isValidIpV4Address(host) || NetUtil.isValidIpV6Address(host)) {
+            return null;
+        }
+
+        ResolvedHost resolvedHost = hosts.computeIfAbsent(host, name -> {
+            ResolvedHost newHost = new ResolvedHost(name);
+            resolve(newHost);
+            return newHost;
+        });
+
+        resolvedHost.lastUsed = System.currentTimeMillis();
+
+        InetAddress address = resolvedHost.next();
+        return (address == null) ? null : SocketAddress.inetSocketAddress(port, address.getHostAddress());
+    }
+
+    private void resolve(ResolvedHost host) {
+        resolver.resolveAll(host.name).addListener(future -> {
+            if (future.isSuccess()) {
+                @SuppressWarnings("unchecked")
+                List<InetAddress> addresses = (List<InetAddress>) future.getNow();
+                if (!addresses.equals(host.addresses)) {
+                    LOGGER.debug("Host {} resolved to {}", host.name, addresses);
+                }
+                host.addresses = addresses;
+            } else {
+                // Keep the previous addresses, if any: the HTTP client falls back to its own resolver otherwise
+                LOGGER.debug("Unable to resolve host {}: {}", host.name, future.cause().getMessage());
+            }
+        });
+    }
+
+    private void refresh() {
+        long now = System.currentTimeMillis();
+
+        hosts.values().removeIf(host -> {
+            // Forget the hosts which are no longer used
+            if (now - host.lastUsed > 10 * refreshInterval) {
+                return true;
+            }
+
+            resolve(host);
+            return false;
+        });
+    }
+
+    private List<InetSocketAddress> nameServers() {
+        if (servers == null || servers.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<InetSocketAddress> nameServers = new ArrayList<>();
+        for (String server : servers.split(",")) {
+            server = server.trim();
+            if (!server.isEmpty()) {
+                int separator = server.lastIndexOf(':');
+                if (separator > 0 && server.indexOf(':') == separator) {
+                    nameServers.add(new InetSocketAddress(server.substring(0, separator),
+                            Integer.parseInt(server.substring(separator + 1))));
+                } else {
+                    nameServers.add(new InetSocketAddress(server, DEFAULT_DNS_PORT));
+                }
+            }
+        }
+
+        return nameServers;
+    }
+
+    private static final class ResolvedHost {
+
+        private final String name;
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private volatile List<InetAddress> addresses = Collections.emptyList();
+
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        ResolvedHost(String name) {
+            this.name = name;
+        }
+
+        InetAddress next() {
+            List<InetAddress> current = addresses;
+            if (current.isEmpty()) {
+                return null;
+            }
+
+            return current.get((counter.getAndIncrement() & Integer.MAX_VALUE) % current.size());
+        }
+    }
+}
@@ -17,8 +17,15 @@ package io.gravitee.gateway.http.connector.ws;
 
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.ws.WebSocketFrame;
+import io.vertx.core.http.WebSocketBase;
 
 /**
+ * A frame received from one side of a proxied WebSocket, either from the client or from the endpoint.
+ *
+ * Frames are relayed as is to the other side: the payload is neither copied nor converted, and fragmented messages
+ * are forwarded frame by frame (continuation frames included) without being reassembled. The payload is only copied
+ * when it is read, by a policy for instance, in which case the frame is rebuilt from the (possibly updated) payload.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -26,8 +33,20 @@ public class VertxWebSocketFrame implements WebSocketFrame {
 
     private final io.vertx.core.http.WebSocketFrame frame;
 
+    private final WebSocketBase source;
+
+    private Buffer data;
+
     public VertxWebSocketFrame(io.vertx.core.http.WebSocketFrame frame) {
+        this(frame, null);
+    }
+
+    /**
+     * @param source the WebSocket the frame has been received from, paused when the other side can not keep up.
+     */
+    public VertxWebSocketFrame(io.vertx.core.http.WebSocketFrame frame, WebSocketBase source) {
         this.frame = frame;
+        this.source = source;
     }
 
     @Override
@@ -41,6 +60,47 @@ public class VertxWebSocketFrame implements WebSocketFrame {
 
     @Override
     public Buffer data() {
-        return Buffer.buffer(frame.binaryData().getBytes());
+        if (data == null) {
+            data = Buffer.buffer(frame.binaryData().getBytes());
+        }
+        return data;
+    }
+
+    /**
+     * @return the WebSocket the given frame has been received from, or <code>null</code> if unknown (for a frame
+     * created by a policy for instance).
+     */
+    public static WebSocketBase source(WebSocketFrame frame) {
+        return (frame instanceof VertxWebSocketFrame) ? ((VertxWebSocketFrame) frame).source : null;
+    }
+
+    /**
+     * Returns the Vert.x frame to write to the other side of the WebSocket for the given frame, or <code>null</code> if
+     * the frame must not be relayed (close frames are handled by the WebSockets themselves).
+     */
+    public static io.vertx.core.http.WebSocketFrame toVertxFrame(WebSocketFrame frame) {
+        boolean isFinal = true;
+
+        if (frame instanceof VertxWebSocketFrame) {
+            VertxWebSocketFrame vertxFrame = (VertxWebSocketFrame) frame;
+            if (vertxFrame.data == null) {
+                return vertxFrame.frame.isClose() ? null : vertxFrame.frame;
+            }
+
+            isFinal = vertxFrame.frame.isFinal();
+        }
+
+        switch (frame.type()) {
+            case BINARY:
+                return io.vertx.core.http.WebSocketFrame.binaryFrame(
+                        io.vertx.core.buffer.Buffer.buffer(frame.data().getBytes()), isFinal);
+            case TEXT:
+                return io.vertx.core.http.WebSocketFrame.textFrame(frame.data().toString(), isFinal);
+            case CONTINUATION:
+                return io.vertx.core.http.WebSocketFrame.continuationFrame(
+                        io.vertx.core.buffer.Buffer.buffer(frame.data().getBytes()), isFinal);
+            default:
+                return null;
+        }
     }
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector.ws;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flow control settings and metrics of the proxied WebSockets.
+ *
+ * @author GraviteeSource Team
+ */
+public class WebSocketFlowControl {
+
+    /**
+     * Max number of bytes queued for a WebSocket once its write queue is full, the connection is closed beyond
+     * (<code>0</code> means unbounded).
+     */
+    @Value("${http.websocket.maxQueuedBytes:0}")
+    private long maxQueuedBytes;
+
+    private final AtomicLong pausedSockets = new AtomicLong();
+
+    private final LongAdder pauses = new LongAdder();
+
+    private final LongAdder overflows = new LongAdder();
+
+    public long maxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    void paused() {
+        pausedSockets.incrementAndGet();
+        pauses.increment();
+    }
+
+    void resumed() {
+        pausedSockets.decrementAndGet();
+    }
+
+    void overflowed() {
+        overflows.increment();
+    }
+
+    /**
+     * @return the number of WebSockets currently paused because the other side of the relay can not keep up.
+     */
+    public long pausedSockets() {
+        return pausedSockets.get();
+    }
+
+    /**
+     * @return the number of times a WebSocket has been paused.
+     */
+    public long pauses() {
+        return pauses.sum();
+    }
+
+    /**
+     * @return the number of WebSockets closed because too many bytes were queued.
+     */
+    public long overflows() {
+        return overflows.sum();
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector.ws;
+
+import io.gravitee.gateway.api.ws.WebSocketFrame;
+import io.vertx.core.http.WebSocketBase;
+
+/**
+ * Writes the frames relayed to one side of a proxied WebSocket, with flow control.
+ *
+ * When the write queue of the WebSocket is full, the WebSocket the frames come from is paused until the queue is
+ * drained, so that a fast producer can not make the gateway buffer frames for a slow consumer. Frames still received
+ * while the queue is full are counted, and the WebSocket is closed once the max queued bytes is exceeded: with
+ * a 1009 (message too big) status if a single frame exceeds it, with a 1008 (policy violation) status otherwise.
+ *
+ * @author GraviteeSource Team
+ */
+public class WebSocketWriter {
+
+    private static final short STATUS_POLICY_VIOLATION = 1008;
+    private static final short STATUS_MESSAGE_TOO_BIG = 1009;
+
+    private final WebSocketBase webSocket;
+
+    private final WebSocketFlowControl flowControl;
+
+    private WebSocketBase pausedSource;
+
+    private long queuedBytes;
+
+    private boolean closed;
+
+    /**
+     * @param flowControl settings and metrics, may be <code>null</code> in which case the queued bytes are unbounded.
+     */
+    public WebSocketWriter(WebSocketBase webSocket, WebSocketFlowControl flowControl) {
+        this.webSocket = webSocket;
+        this.flowControl = flowControl;
+
+        webSocket.drainHandler(v -> drained());
+    }
+
+    public void write(WebSocketFrame frame) {
+        io.vertx.core.http.WebSocketFrame vertxFrame = VertxWebSocketFrame.toVertxFrame(frame);
+        if (vertxFrame == null || closed) {
+            return;
+        }
+
+        if (webSocket.writeQueueFull()) {
+            int length = vertxFrame.binaryData().length();
+            long maxQueuedBytes = (flowControl != null) ? flowControl.maxQueuedBytes() : 0;
+
+            queuedBytes += length;
+            if (maxQueuedBytes > 0 && queuedBytes > maxQueuedBytes) {
+                closed = true;
+                flowControl.overflowed();
+                webSocket.close((length > maxQueuedBytes) ? STATUS_MESSAGE_TOO_BIG : STATUS_POLICY_VIOLATION,
+                        "Too many bytes queued");
+                return;
+            }
+        }
+
+        webSocket.writeFrame(vertxFrame);
+
+        if (webSocket.writeQueueFull() && pausedSource == null) {
+            pausedSource = VertxWebSocketFrame.source(frame);
+            if (pausedSource != null) {
+                pausedSource.pause();
+                if (flowControl != null) {
+                    flowControl.paused();
+                }
+            }
+        }
+    }
+
+    private void drained() {
+        queuedBytes = 0;
+
+        if (pausedSource != null) {
+            pausedSource.resume();
+            pausedSource = null;
+            if (flowControl != null) {
+                flowControl.resumed();
+            }
+        }
+    }
+
+    /**
+     * Must be called once the WebSocket is closed, so that a paused source is no longer accounted as paused.
+     */
+    public void closed() {
+        closed = true;
+        if (pausedSource != null) {
+            pausedSource = null;
+            if (flowControl != null) {
+                flowControl.resumed();
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.gravitee.gateway.http.endpoint;
 
 import io.gravitee.definition.model.EndpointType;
 import io.gravitee.gateway.core.endpoint.factory.template.TemplateAwareEndpointFactory;
+import io.gravitee.gateway.http.connector.UnixDomainSocket;
 import io.gravitee.gateway.http.connector.VertxHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,7 +96,11 @@ public final class HttpEndpointFactory extends TemplateAwareEndpointFactory<io.g
             try {
                 URI uri = new URI(target);
                 Objects.requireNonNull(uri.getScheme(), "no null scheme accepted");
-                Objects.requireNonNull(uri.getHost(), "no null host accepted");
+                if (UnixDomainSocket.isUnixDomainSocket(uri)) {
+                    Objects.requireNonNull(UnixDomainSocket.path(uri), "no null socket path accepted");
+                } else {
+                    Objects.requireNonNull(uri.getHost(), "no null host accepted");
+                }
                 return uri;
             } catch (URISyntaxException e) {
                 logger.error("HTTP endpoint target URL is malformed", e);
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravite.gateway.http.connector;
+
+import io.gravitee.gateway.http.connector.HttpClientRegistry;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpConnection;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.net.URI;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HttpClientRegistryTest {
+
+    @Mock
+    private Context context;
+
+    @Mock
+    private Context otherContext;
+
+    private final HttpClientRegistry registry = new HttpClientRegistry();
+
+    @Test
+    public void shouldShareClientForSameOrigin() {
+        HttpClient client = registry.acquire(context, URI.create("http://backend/api1"), new HttpClientOptions(),
+                () -> mock(HttpClient.class));
+        HttpClient other = registry.acquire(context, URI.create("http://backend:80/api2"), new HttpClientOptions(),
+                () -> mock(HttpClient.class));
+
+        Assert.assertSame(client, other);
+    }
+
+    @Test
+    public void shouldNotShareClientForDifferentOptions() {
+        HttpClient client = registry.acquire(context, URI.create("https://backend/"), new HttpClientOptions().setSsl(true),
+                () -> mock(HttpClient.class));
+        HttpClient other = registry.acquire(context, URI.create("https://backend/"),
+                new HttpClientOptions().setSsl(true).setTrustAll(true), () -> mock(HttpClient.class));
+
+        Assert.assertNotSame(client, other);
+    }
+
+    @Test
+    public void shouldNotShareClientBetweenContexts() {
+        HttpClient client = registry.acquire(context, URI.create("http://backend/"), new HttpClientOptions(),
+                () -> mock(HttpClient.class));
+        HttpClient other = registry.acquire(otherContext, URI.create("http://backend/"), new HttpClientOptions(),
+                () -> mock(HttpClient.class));
+
+        Assert.assertNotSame(client, other);
+    }
+
+    @Test
+    public void shouldCloseClientOnLastRelease() {
+        HttpClient client = registry.acquire(context, URI.create("http://backend/"), new HttpClientOptions(),
+                () -> mock(HttpClient.class));
+        registry.acquire(context, URI.create("http://backend/"), new HttpClientOptions(), () -> mock(HttpClient.class));
+
+        registry.release(client);
+        verify(client, never()).close();
+
+        registry.release(client);
+        verify(client).close();
+
+        // A new client is created once the previous one has been closed
+        HttpClient other = registry.acquire(context, URI.create("http://backend/"), new HttpClientOptions(),
+                () -> mock(HttpClient.class));
+        Assert.assertNotSame(client, other);
+    }
+
+    @Test
+    public void shouldCountIdleConnections() {
+        HttpClient client = mock(HttpClient.class);
+        registry.acquire(context, URI.create("http://backend/"), new HttpClientOptions(), () -> client);
+        HttpClientRegistry.PoolUsage usage = registry.usage(client);
+
+        ArgumentCaptor<Handler<HttpConnection>> connectionHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(client).connectionHandler(connectionHandler.capture());
+
+        HttpConnection connection = mock(HttpConnection.class);
+        ArgumentCaptor<Handler<Void>> closeHandler = ArgumentCaptor.forClass(Handler.class);
+        connectionHandler.getValue().handle(connection);
+        connectionHandler.getValue().handle(mock(HttpConnection.class));
+        verify(connection).closeHandler(closeHandler.capture());
+
+        Assert.assertEquals(2, usage.connections());
+        Assert.assertEquals(2, usage.idleConnections(false));
+
+        Runnable request = usage.requestStarted();
+        Assert.assertEquals(1, usage.idleConnections(false));
+        Assert.assertEquals(2, usage.idleConnections(true));
+
+        // Completing a request more than once has no effect
+        request.run();
+        request.run();
+        Assert.assertEquals(2, usage.idleConnections(false));
+
+        closeHandler.getValue().handle(null);
+        Assert.assertEquals(1, usage.connections());
+        Assert.assertEquals(1, usage.idleConnections(false));
+    }
+
+    @Test
+    public void shouldCountWarmingConnectionsAsIdle() {
+        HttpClient client = registry.acquire(context, URI.create("http://backend/"), new HttpClientOptions(),
+                () -> mock(HttpClient.class));
+        HttpClientRegistry.PoolUsage usage = registry.usage(client);
+
+        Runnable warmed = usage.warmingStarted();
+        Assert.assertEquals(1, usage.warmings());
+        Assert.assertEquals(1, usage.idleConnections(false));
+
+        warmed.run();
+        warmed.run();
+        Assert.assertEquals(0, usage.warmings());
+        Assert.assertEquals(0, usage.idleConnections(false));
+    }
+}
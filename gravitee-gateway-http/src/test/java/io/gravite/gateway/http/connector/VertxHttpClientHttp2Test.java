@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravite.gateway.http.connector;
+
+import io.gravitee.definition.model.HttpClientOptions;
+import io.gravitee.definition.model.endpoint.HttpEndpoint;
+import io.gravitee.gateway.http.connector.VertxHttpClient;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpVersion;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VertxHttpClientHttp2Test {
+
+    @Mock
+    private Vertx vertx;
+
+    @Test
+    public void shouldUseHttp1ByDefault() throws Exception {
+        io.vertx.core.http.HttpClientOptions options = start("https://backend", false);
+
+        Assert.assertEquals(HttpVersion.HTTP_1_1, options.getProtocolVersion());
+        Assert.assertFalse(options.isUseAlpn());
+    }
+
+    @Test
+    public void shouldConfigureHttp2() throws Exception {
+        io.vertx.core.http.HttpClientOptions options = start("http://backend", true);
+
+        Assert.assertEquals(HttpVersion.HTTP_2, options.getProtocolVersion());
+        Assert.assertFalse(options.isHttp2ClearTextUpgrade());
+        Assert.assertEquals(100, options.getHttp2MultiplexingLimit());
+        Assert.assertEquals(2, options.getHttp2MaxPoolSize());
+        Assert.assertEquals(1048576, options.getHttp2ConnectionWindowSize());
+        Assert.assertEquals(262144, options.getInitialSettings().getInitialWindowSize());
+        Assert.assertFalse(options.isSsl());
+    }
+
+    @Test
+    public void shouldNegotiateHttp2WithAlpnOverTls() throws Exception {
+        io.vertx.core.http.HttpClientOptions options = start("https://backend", true);
+
+        Assert.assertEquals(HttpVersion.HTTP_2, options.getProtocolVersion());
+        Assert.assertTrue(options.isSsl());
+        Assert.assertTrue(options.isUseAlpn());
+    }
+
+    private io.vertx.core.http.HttpClientOptions start(String target, boolean http2Enabled) throws Exception {
+        HttpEndpoint endpoint = new HttpEndpoint("default", target);
+        endpoint.setHttpClientOptions(new HttpClientOptions());
+
+        VertxHttpClient vertxHttpClient = new VertxHttpClient(endpoint);
+        ReflectionTestUtils.setField(vertxHttpClient, "vertx", vertx);
+        ReflectionTestUtils.setField(vertxHttpClient, "http2Enabled", http2Enabled);
+        ReflectionTestUtils.setField(vertxHttpClient, "http2ClearTextUpgrade", false);
+        ReflectionTestUtils.setField(vertxHttpClient, "http2MultiplexingLimit", 100);
+        ReflectionTestUtils.setField(vertxHttpClient, "http2MaxPoolSize", 2);
+        ReflectionTestUtils.setField(vertxHttpClient, "http2ConnectionWindowSize", 1048576);
+        ReflectionTestUtils.setField(vertxHttpClient, "http2InitialWindowSize", 262144);
+
+        vertxHttpClient.start();
+
+        return (io.vertx.core.http.HttpClientOptions) ReflectionTestUtils.getField(vertxHttpClient, "httpClientOptions");
+    }
+}
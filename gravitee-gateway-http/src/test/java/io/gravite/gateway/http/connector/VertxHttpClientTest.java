@@ -23,6 +23,7 @@ import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.proxy.ProxyRequest;
 import io.gravitee.gateway.api.proxy.builder.ProxyRequestBuilder;
 import io.gravitee.gateway.http.connector.VertxHttpClient;
+import io.gravitee.gateway.http.connector.dns.HostResolver;
 import io.gravitee.reporter.api.http.Metrics;
 import io.vertx.core.*;
 import io.vertx.core.buffer.Buffer;
@@ -64,6 +65,8 @@ public class VertxHttpClientTest {
     public void init() {
         ReflectionTestUtils.setField(vertxHttpClient, "vertx", vertx);
         ReflectionTestUtils.setField(vertxHttpClient, "endpoint", endpoint);
+        ReflectionTestUtils.setField(vertxHttpClient, "hostResolver", new HostResolver());
+        ReflectionTestUtils.setField(vertxHttpClient, "httpClientOptions", new io.vertx.core.http.HttpClientOptions());
         Map<Context, HttpClient> httpClients = new HashMap<>();
         httpClients.put(Vertx.currentContext(), httpClient);
         ReflectionTestUtils.setField(vertxHttpClient, "httpClients", httpClients);
@@ -162,6 +165,24 @@ public class VertxHttpClientTest {
         assertEquals("http://gravitee.io/test?foo&bar", request.metrics().getEndpoint());
     }
 
+    @Test
+    public void shouldKeepTrailersTeHeaderWithHttp2() throws Exception {
+        ReflectionTestUtils.setField(vertxHttpClient, "http2Enabled", true);
+        HttpClientOptions httpOptions = mock(HttpClientOptions.class);
+        when(endpoint.getHttpClientOptions()).thenReturn(httpOptions);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("TE", "trailers");
+        ProxyRequest proxyRequest = ProxyRequestBuilder.from(request)
+                .method(HttpMethod.GET)
+                .uri(new URI("http://gravitee.io/test"))
+                .headers(headers)
+                .build();
+
+        vertxHttpClient.request(proxyRequest);
+
+        assertEquals("trailers", proxyRequest.headers().getFirst("TE"));
+    }
+
     class MockedHttpClientRequest implements HttpClientRequest{
         @Override
         public HttpClientRequest exceptionHandler(Handler<Throwable> handler) {
@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravite.gateway.http.connector.dns;
+
+import io.gravitee.gateway.http.connector.dns.HostResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import io.vertx.core.net.SocketAddress;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HostResolverTest {
+
+    @Mock
+    private NameResolver<InetAddress> resolver;
+
+    private final HostResolver hostResolver = new HostResolver();
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.setField(hostResolver, "resolver", resolver);
+        ReflectionTestUtils.setField(hostResolver, "refreshInterval", 30000L);
+    }
+
+    @Test
+    public void shouldNotResolveWhenDisabled() {
+        ReflectionTestUtils.setField(hostResolver, "resolver", null);
+
+        Assert.assertFalse(hostResolver.isEnabled());
+        Assert.assertNull(hostResolver.resolve("backend", 8080));
+    }
+
+    @Test
+    public void shouldNotResolveIpAddresses() {
+        Assert.assertNull(hostResolver.resolve("10.0.0.1", 8080));
+        Assert.assertNull(hostResolver.resolve("::1", 8080));
+
+        verifyZeroInteractions(resolver);
+    }
+
+    @Test
+    public void shouldSpreadRequestsAcrossAddresses() throws Exception {
+        when(resolver.resolveAll("backend")).thenReturn(succeeded(address("10.0.0.1"), address("10.0.0.2")));
+
+        SocketAddress first = hostResolver.resolve("backend", 8080);
+        SocketAddress second = hostResolver.resolve("backend", 8080);
+        SocketAddress third = hostResolver.resolve("backend", 8080);
+
+        Assert.assertEquals("10.0.0.1", first.host());
+        Assert.assertEquals(8080, first.port());
+        Assert.assertEquals("10.0.0.2", second.host());
+        Assert.assertEquals("10.0.0.1", third.host());
+        verify(resolver, times(1)).resolveAll("backend");
+    }
+
+    @Test
+    public void shouldFallbackToClientResolverUntilResolved() throws Exception {
+        Promise<List<InetAddress>> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        when(resolver.resolveAll("backend")).thenReturn(promise);
+
+        Assert.assertNull(hostResolver.resolve("backend", 8080));
+
+        promise.setSuccess(Arrays.asList(address("10.0.0.1")));
+
+        Assert.assertEquals("10.0.0.1", hostResolver.resolve("backend", 8080).host());
+    }
+
+    @Test
+    public void shouldPickUpNewAddressesOnRefresh() throws Exception {
+        when(resolver.resolveAll("backend"))
+                .thenReturn(succeeded(address("10.0.0.1")))
+                .thenReturn(succeeded(address("10.0.0.2")));
+
+        Assert.assertEquals("10.0.0.1", hostResolver.resolve("backend", 8080).host());
+
+        ReflectionTestUtils.invokeMethod(hostResolver, "refresh");
+
+        Assert.assertEquals("10.0.0.2", hostResolver.resolve("backend", 8080).host());
+    }
+
+    @Test
+    public void shouldKeepAddressesWhenRefreshFails() throws Exception {
+        when(resolver.resolveAll("backend"))
+                .thenReturn(succeeded(address("10.0.0.1")))
+                .thenReturn(ImmediateEventExecutor.INSTANCE.newFailedFuture(new UnknownHostException("backend")));
+
+        Assert.assertEquals("10.0.0.1", hostResolver.resolve("backend", 8080).host());
+
+        ReflectionTestUtils.invokeMethod(hostResolver, "refresh");
+
+        Assert.assertEquals("10.0.0.1", hostResolver.resolve("backend", 8080).host());
+    }
+
+    @Test
+    public void shouldParseNameServers() {
+        ReflectionTestUtils.setField(hostResolver, "servers", "10.0.0.1:5353, 10.0.0.2");
+
+        List<InetSocketAddress> nameServers = ReflectionTestUtils.invokeMethod(hostResolver, "nameServers");
+
+        Assert.assertEquals(Arrays.asList(
+                new InetSocketAddress("10.0.0.1", 5353),
+                new InetSocketAddress("10.0.0.2", 53)), nameServers);
+    }
+
+    private static io.netty.util.concurrent.Future<List<InetAddress>> succeeded(InetAddress... addresses) {
+        return ImmediateEventExecutor.INSTANCE.newSucceededFuture(Arrays.asList(addresses));
+    }
+
+    private static InetAddress address(String ip) throws UnknownHostException {
+        return InetAddress.getByName(ip);
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravite.gateway.http.connector.ws;
+
+import io.gravitee.gateway.http.connector.ws.VertxWebSocketFrame;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.WebSocketFrame;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class VertxWebSocketFrameTest {
+
+    @Test
+    public void shouldRelayFrameAsIs() {
+        WebSocketFrame frame = WebSocketFrame.binaryFrame(Buffer.buffer("payload"), true);
+
+        Assert.assertSame(frame, VertxWebSocketFrame.toVertxFrame(new VertxWebSocketFrame(frame)));
+    }
+
+    @Test
+    public void shouldRelayFragmentedMessageFrameByFrame() {
+        WebSocketFrame first = WebSocketFrame.textFrame("first", false);
+        WebSocketFrame last = WebSocketFrame.continuationFrame(Buffer.buffer("last"), true);
+
+        Assert.assertSame(first, VertxWebSocketFrame.toVertxFrame(new VertxWebSocketFrame(first)));
+        Assert.assertSame(last, VertxWebSocketFrame.toVertxFrame(new VertxWebSocketFrame(last)));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravite.gateway.http.connector.ws;
+
+import io.gravitee.gateway.http.connector.ws.VertxWebSocketFrame;
+import io.gravitee.gateway.http.connector.ws.WebSocketFlowControl;
+import io.gravitee.gateway.http.connector.ws.WebSocketWriter;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.WebSocketBase;
+import io.vertx.core.http.WebSocketFrame;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebSocketWriterTest {
+
+    @Mock
+    private WebSocketBase destination;
+
+    @Mock
+    private WebSocketBase source;
+
+    private final WebSocketFlowControl flowControl = new WebSocketFlowControl();
+
+    private WebSocketWriter writer;
+
+    private Handler<Void> drainHandler;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ReflectionTestUtils.setField(flowControl, "maxQueuedBytes", 10L);
+        writer = new WebSocketWriter(destination, flowControl);
+
+        ArgumentCaptor<Handler<Void>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(destination).drainHandler(captor.capture());
+        drainHandler = captor.getValue();
+    }
+
+    @Test
+    public void shouldPauseSourceUntilDrained() {
+        WebSocketFrame frame = WebSocketFrame.binaryFrame(Buffer.buffer("data"), true);
+        when(destination.writeQueueFull()).thenReturn(false, true);
+
+        writer.write(new VertxWebSocketFrame(frame, source));
+
+        verify(destination).writeFrame(frame);
+        verify(source).pause();
+        Assert.assertEquals(1, flowControl.pausedSockets());
+
+        drainHandler.handle(null);
+
+        verify(source).resume();
+        Assert.assertEquals(0, flowControl.pausedSockets());
+        Assert.assertEquals(1, flowControl.pauses());
+    }
+
+    @Test
+    public void shouldCloseWhenTooManyBytesAreQueued() {
+        when(destination.writeQueueFull()).thenReturn(true);
+
+        writer.write(new VertxWebSocketFrame(WebSocketFrame.binaryFrame(Buffer.buffer("123456"), true), source));
+        writer.write(new VertxWebSocketFrame(WebSocketFrame.binaryFrame(Buffer.buffer("123456"), true), source));
+
+        verify(destination, times(1)).writeFrame(any());
+        verify(destination).close(eq((short) 1008), anyString());
+        Assert.assertEquals(1, flowControl.overflows());
+    }
+
+    @Test
+    public void shouldCloseWhenFrameIsTooBig() {
+        when(destination.writeQueueFull()).thenReturn(true);
+
+        writer.write(new VertxWebSocketFrame(WebSocketFrame.binaryFrame(Buffer.buffer("12345678901"), true), source));
+
+        verify(destination, never()).writeFrame(any());
+        verify(destination).close(eq((short) 1009), anyString());
+    }
+}
@@ -85,6 +85,15 @@ public class HttpEndpointFactoryTest {
         Assert.assertNotNull(endpoint);
     }
 
+    @Test
+    public void shouldResolveHttpEndpoint_unixDomainSocket() {
+        HttpEndpoint endpointDef = new HttpEndpoint("default", "unix://%2Fvar%2Frun%2Fbackend.sock");
+
+        io.gravitee.gateway.http.endpoint.HttpEndpoint endpoint = factory.create(endpointDef, null);
+        Assert.assertNotNull(endpoint);
+        Assert.assertEquals("unix://%2Fvar%2Frun%2Fbackend.sock/", endpoint.target());
+    }
+
     @Test
     public void shouldResolveHttpEndpoint_targetVariable() {
         HttpEndpoint endpointDef = new HttpEndpoint("default", "{#properties['my_property']}");
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class AdaptiveTimeoutTest {
+
+    private long now = System.currentTimeMillis();
+
+    private final AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout(60000, 99, 3, 10, 1000, 10, () -> now);
+
+    @Test
+    public void shouldUseMaxTimeoutUntilEnoughSamples() {
+        record(15, 9);
+
+        Assert.assertEquals(1000, adaptiveTimeout.timeout());
+    }
+
+    @Test
+    public void shouldAdaptToLatencies() {
+        record(15, 10);
+
+        Assert.assertEquals(45, adaptiveTimeout.timeout());
+    }
+
+    @Test
+    public void shouldBoundTimeout() {
+        record(1, 10);
+        Assert.assertEquals(10, adaptiveTimeout.timeout());
+
+        record(5000, 100);
+        now += 1000;
+        Assert.assertEquals(1000, adaptiveTimeout.timeout());
+    }
+
+    @Test
+    public void shouldRaiseTimeoutOnTimeouts() {
+        record(15, 10);
+        Assert.assertEquals(45, adaptiveTimeout.timeout());
+
+        for (int i = 0; i < 10; i++) {
+            adaptiveTimeout.recordFailure(45, 45);
+        }
+        now += 1000;
+
+        Assert.assertTrue(adaptiveTimeout.timeout() > 45);
+    }
+
+    @Test
+    public void shouldNotShortenTimeoutOnFastFailures() {
+        record(15, 10);
+        Assert.assertEquals(45, adaptiveTimeout.timeout());
+
+        for (int i = 0; i < 1000; i++) {
+            adaptiveTimeout.recordFailure(1, 45);
+        }
+        now += 1000;
+
+        Assert.assertTrue(adaptiveTimeout.timeout() >= 45);
+    }
+
+    @Test
+    public void shouldRefreshTimeoutPeriodically() {
+        record(15, 10);
+        Assert.assertEquals(45, adaptiveTimeout.timeout());
+
+        record(300, 100);
+        Assert.assertEquals(45, adaptiveTimeout.timeout());
+
+        now += 1000;
+        Assert.assertTrue(adaptiveTimeout.timeout() > 45);
+    }
+
+    private void record(long latency, int count) {
+        for (int i = 0; i < count; i++) {
+            adaptiveTimeout.record(latency);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.http.connector;
+
+import io.gravitee.gateway.core.timer.HashedWheelTimer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ReadTimeoutTest {
+
+    private static final long DELAY = 100;
+
+    private long now;
+
+    private int timeouts;
+
+    private final HashedWheelTimer wheel = new HashedWheelTimer(10, 512, now);
+
+    private final ReadTimeout readTimeout = new ReadTimeout(
+            (delay, task) -> wheel.schedule(delay, task, now), DELAY, () -> now);
+
+    @Test
+    public void shouldExpireWithoutActivity() {
+        readTimeout.start(() -> timeouts++);
+
+        elapse(DELAY - 10);
+        Assert.assertEquals(0, timeouts);
+
+        elapse(10);
+        Assert.assertEquals(1, timeouts);
+        Assert.assertTrue(readTimeout.isExpired());
+    }
+
+    @Test
+    public void shouldPostponeExpiryOnActivity() {
+        readTimeout.start(() -> timeouts++);
+
+        elapse(60);
+        readTimeout.touch();
+        elapse(60);
+        Assert.assertEquals(0, timeouts);
+        Assert.assertFalse(readTimeout.isExpired());
+
+        elapse(40);
+        Assert.assertEquals(1, timeouts);
+        Assert.assertTrue(readTimeout.isExpired());
+    }
+
+    @Test
+    public void shouldNotExpireOnceCancelled() {
+        readTimeout.start(() -> timeouts++);
+
+        elapse(50);
+        readTimeout.cancel();
+        elapse(DELAY * 10);
+
+        Assert.assertEquals(0, timeouts);
+        Assert.assertFalse(readTimeout.isExpired());
+        Assert.assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    public void shouldRunOnTimeoutOnce() {
+        readTimeout.start(() -> timeouts++);
+
+        elapse(DELAY);
+        readTimeout.touch();
+        elapse(DELAY * 10);
+        readTimeout.cancel();
+
+        Assert.assertEquals(1, timeouts);
+        Assert.assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    public void shouldBeDisabledWithoutScheduler() {
+        ReadTimeout disabled = new ReadTimeout(null, DELAY, () -> now);
+        disabled.start(() -> timeouts++);
+        disabled.touch();
+        disabled.cancel();
+
+        Assert.assertEquals(0, timeouts);
+        Assert.assertFalse(disabled.isExpired());
+    }
+
+    @Test
+    public void shouldBeDisabledWithoutDelay() {
+        ReadTimeout disabled = new ReadTimeout((delay, task) -> wheel.schedule(delay, task, now), 0, () -> now);
+        disabled.start(() -> timeouts++);
+        elapse(DELAY * 10);
+
+        Assert.assertEquals(0, timeouts);
+        Assert.assertEquals(0, wheel.pending());
+    }
+
+    private void elapse(long millis) {
+        now += millis;
+        wheel.advance(now);
+    }
+}
@@ -37,4 +37,11 @@ public interface PolicyMetadata {
     Method method(Class<? extends Annotation> type);
 
     boolean accept(StreamType stream);
+
+    /**
+     * @return <code>true</code> if a single instance of the policy can be shared by the requests.
+     */
+    default boolean stateless() {
+        return false;
+    }
 }
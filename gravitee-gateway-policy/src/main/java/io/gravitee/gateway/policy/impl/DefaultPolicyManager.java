@@ -31,15 +31,15 @@ import io.gravitee.resource.api.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.ResolvableType;
 import org.springframework.util.ClassUtils;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -60,8 +60,16 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
     @Autowired
     private PolicyConfigurationFactory policyConfigurationFactory;
 
+    @Value("${policies.stateless:}")
+    private String[] statelessPolicies = new String[0];
+
     private final Map<String, PolicyMetadata> policies = new HashMap<>();
 
+    /**
+     * Instances of the stateless policies, by policy and configuration
+     */
+    private final Map<String, io.gravitee.gateway.policy.Policy> sharedPolicies = new ConcurrentHashMap<>();
+
     @Override
     protected void doStart() throws Exception {
         // Init required policies
@@ -84,6 +92,7 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
 
         // Be sure to remove all references to policies
         policies.clear();
+        sharedPolicies.clear();
     }
 
     private void initialize() {
@@ -136,13 +145,14 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
                 builder
                         .setPolicy(policyClass)
                         .setClassLoader(policyClassLoader)
-                        .setMethods(new PolicyMethodResolver().resolve(policyClass));
+                        .setMethods(new PolicyMethodResolver().resolve(policyClass))
+                        .setStateless(isStateless(policyPlugin.id(), policyClass));
 
                 if (policyPlugin.configuration() != null) {
                     builder.setConfiguration((Class<? extends PolicyConfiguration>) ClassUtils.forName(policyPlugin.configuration().getName(), policyClassLoader));
                 }
 
-                policies.put(policy.getName(), builder.build());
+                register(policy.getName(), builder.build());
             } catch (Exception ex) {
                 logger.error("Unable to load policy metadata", ex);
 
@@ -167,20 +177,52 @@ public class DefaultPolicyManager extends AbstractLifecycleComponent<PolicyManag
         });
     }
 
+    void register(String policy, PolicyMetadata metadata) {
+        if (metadata.stateless()) {
+            logger.debug("Policy {} is stateless, its instances are shared by the requests", policy);
+        }
+
+        policies.put(policy, metadata);
+    }
+
+    /**
+     * A policy is stateless if its class is annotated with {@link Stateless}, or if it is declared as such by the
+     * gateway configuration. The annotation is looked up by name, as the policy may have been built with its own copy.
+     */
+    boolean isStateless(String policy, Class<?> policyClass) {
+        for (Annotation annotation : policyClass.getAnnotations()) {
+            if (Stateless.class.getName().equals(annotation.annotationType().getName())) {
+                return true;
+            }
+        }
+
+        return Arrays.asList(statelessPolicies).contains(policy);
+    }
+
     @Override
     public io.gravitee.gateway.policy.Policy create(StreamType streamType, String policy, String configuration) {
         PolicyMetadata metadata = policies.get(policy);
 
         if (metadata != null && metadata.accept(streamType)) {
-            PolicyConfiguration policyConfiguration = policyConfigurationFactory.create(
-                    metadata.configuration(), configuration);
-
-            Object policyInst = policyFactory.create(metadata, policyConfiguration);
+            if (metadata.stateless()) {
+                return sharedPolicies.computeIfAbsent(
+                        policy + '#' + ((configuration == null) ? "" : configuration),
+                        key -> create(metadata, configuration));
+            }
 
-            logger.debug("Policy {} has been added to the policy chain", metadata.id());
-            return PolicyImpl.target(policyInst).definition(metadata).build();
+            return create(metadata, configuration);
         }
 
         return null;
     }
+
+    private io.gravitee.gateway.policy.Policy create(PolicyMetadata metadata, String configuration) {
+        PolicyConfiguration policyConfiguration = policyConfigurationFactory.create(
+                metadata.configuration(), configuration);
+
+        Object policyInst = policyFactory.create(metadata, policyConfiguration);
+
+        logger.debug("Policy {} has been added to the policy chain", metadata.id());
+        return PolicyImpl.target(policyInst).definition(metadata).build();
+    }
 }
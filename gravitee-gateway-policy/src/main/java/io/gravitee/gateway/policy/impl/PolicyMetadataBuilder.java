@@ -43,6 +43,8 @@ public class PolicyMetadataBuilder {
 
     private ClassLoader classLoader;
 
+    private boolean stateless;
+
     public PolicyMetadataBuilder setId(String id) {
         this.id = id;
         return this;
@@ -68,6 +70,11 @@ public class PolicyMetadataBuilder {
         return this;
     }
 
+    public PolicyMetadataBuilder setStateless(boolean stateless) {
+        this.stateless = stateless;
+        return this;
+    }
+
     public PolicyMetadata build() {
         return new PolicyMetadata() {
             @Override
@@ -102,6 +109,11 @@ public class PolicyMetadataBuilder {
                         (stream == StreamType.ON_RESPONSE && (
                                 method(OnResponse.class) != null || method(OnResponseContent.class) != null));
             }
+
+            @Override
+            public boolean stateless() {
+                return stateless;
+            }
         };
     }
 }
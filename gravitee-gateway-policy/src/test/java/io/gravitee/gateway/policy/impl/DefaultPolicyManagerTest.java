@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.policy.impl;
+
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.Response;
+import io.gravitee.gateway.policy.DummyPolicy;
+import io.gravitee.gateway.policy.PolicyConfigurationFactory;
+import io.gravitee.gateway.policy.PolicyFactory;
+import io.gravitee.gateway.policy.Policy;
+import io.gravitee.gateway.policy.Stateless;
+import io.gravitee.gateway.policy.StreamType;
+import io.gravitee.policy.api.PolicyChain;
+import io.gravitee.policy.api.annotations.OnRequest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultPolicyManagerTest {
+
+    @Mock
+    private PolicyFactory policyFactory;
+
+    @Mock
+    private PolicyConfigurationFactory policyConfigurationFactory;
+
+    @InjectMocks
+    private DefaultPolicyManager policyManager;
+
+    @Test
+    public void shouldShareStatelessPolicy() throws Exception {
+        register(true);
+
+        Policy policy = policyManager.create(StreamType.ON_REQUEST, "dummy", "{}");
+
+        Assert.assertSame(policy, policyManager.create(StreamType.ON_REQUEST, "dummy", "{}"));
+        verify(policyFactory, times(1)).create(any(), any());
+    }
+
+    @Test
+    public void shouldNotSharePolicyBetweenConfigurations() throws Exception {
+        register(true);
+
+        Policy policy = policyManager.create(StreamType.ON_REQUEST, "dummy", "{\"value\": 1}");
+
+        Assert.assertNotSame(policy, policyManager.create(StreamType.ON_REQUEST, "dummy", "{\"value\": 2}"));
+        verify(policyFactory, times(2)).create(any(), any());
+    }
+
+    @Test
+    public void shouldCreateStatefulPolicyForEachRequest() throws Exception {
+        register(false);
+
+        Policy policy = policyManager.create(StreamType.ON_REQUEST, "dummy", "{}");
+
+        Assert.assertNotSame(policy, policyManager.create(StreamType.ON_REQUEST, "dummy", "{}"));
+        verify(policyFactory, times(2)).create(any(), any());
+    }
+
+    @Test
+    public void shouldDetectStatelessPolicyFromAnnotation() {
+        Assert.assertTrue(policyManager.isStateless("stateless", StatelessPolicy.class));
+        Assert.assertFalse(policyManager.isStateless("dummy", DummyPolicy.class));
+    }
+
+    @Test
+    public void shouldDetectStatelessPolicyFromConfiguration() throws Exception {
+        Field statelessPolicies = DefaultPolicyManager.class.getDeclaredField("statelessPolicies");
+        statelessPolicies.setAccessible(true);
+        statelessPolicies.set(policyManager, new String[] {"transform-headers", "dummy"});
+
+        Assert.assertTrue(policyManager.isStateless("dummy", DummyPolicy.class));
+        Assert.assertFalse(policyManager.isStateless("other", DummyPolicy.class));
+    }
+
+    private void register(boolean stateless) throws Exception {
+        when(policyFactory.create(any(), any())).thenAnswer(invocation -> new DummyPolicy());
+
+        Map<Class<? extends Annotation>, Method> methods = new HashMap<>();
+        methods.put(OnRequest.class,
+                DummyPolicy.class.getMethod("onRequest", PolicyChain.class, Request.class, Response.class));
+
+        policyManager.register("dummy", new PolicyMetadataBuilder()
+                .setId("dummy")
+                .setPolicy(DummyPolicy.class)
+                .setMethods(methods)
+                .setStateless(stateless)
+                .build());
+    }
+
+    @Stateless
+    private static class StatelessPolicy {
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.cluster;
+
+import io.gravitee.definition.model.Endpoint;
+import io.gravitee.gateway.services.healthcheck.schedule.Probe;
+import io.vertx.core.Handler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the health-check of an endpoint only if the local gateway is its owner in the {@link HealthCheckCluster}, and
+ * publishes the resulting status.
+ *
+ * Otherwise, the status of the endpoint is the one published by its owner.
+ *
+ * @author GraviteeSource Team
+ */
+public class ClusteredProbe implements Probe {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ClusteredProbe.class);
+
+    private final Probe probe;
+
+    private final Endpoint endpoint;
+
+    private final HealthCheckCluster cluster;
+
+    private final String key;
+
+    public ClusteredProbe(Probe probe, String api, Endpoint endpoint, HealthCheckCluster cluster) {
+        this.probe = probe;
+        this.endpoint = endpoint;
+        this.cluster = cluster;
+        this.key = key(api, endpoint.getName());
+    }
+
+    public static String key(String api, String endpoint) {
+        return api + ':' + endpoint;
+    }
+
+    @Override
+    public void run(Handler<Void> completionHandler) {
+        String owner = RendezvousHashing.owner(key, cluster.members());
+
+        if (owner == null || owner.equals(cluster.localMember())) {
+            probe.run(result -> {
+                cluster.publish(key, endpoint.getStatus());
+                if (completionHandler != null) {
+                    completionHandler.handle(null);
+                }
+            });
+        } else {
+            // The endpoint may have been owned by the local gateway before another one joined the cluster
+            cluster.unpublish(key);
+
+            Endpoint.Status status = cluster.status(owner, key);
+            if (status != null && status != endpoint.getStatus()) {
+                LOGGER.debug("Status of endpoint {} set to {} by gateway {}", key, status, owner);
+                endpoint.setStatus(status);
+            }
+
+            if (completionHandler != null) {
+                completionHandler.handle(null);
+            }
+        }
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return probe.isHealthy();
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.cluster;
+
+import io.gravitee.definition.model.Endpoint;
+
+import java.util.Collection;
+
+/**
+ * The gateways sharing the health-checks of the endpoints: each endpoint is checked by a single member of the cluster,
+ * which publishes the resulting status for the other members.
+ *
+ * @author GraviteeSource Team
+ */
+public interface HealthCheckCluster {
+
+    /**
+     * @return the identifier of the local gateway.
+     */
+    String localMember();
+
+    /**
+     * @return the identifiers of the members currently alive, always including the local one.
+     */
+    Collection<String> members();
+
+    /**
+     * @return the status published by the given member for the given endpoint, or <code>null</code> if none.
+     */
+    Endpoint.Status status(String member, String key);
+
+    /**
+     * Publishes the status of an endpoint checked by the local gateway.
+     */
+    void publish(String key, Endpoint.Status status);
+
+    /**
+     * Stops publishing the status of an endpoint which is no longer checked by the local gateway.
+     */
+    void unpublish(String key);
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.cluster;
+
+import io.gravitee.definition.model.Endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link HealthCheckCluster} kept in memory, whose members are the instances sharing the same map of published
+ * statuses. It stands for a cluster of gateways in tests, or within a single JVM.
+ *
+ * @author GraviteeSource Team
+ */
+public class InMemoryHealthCheckCluster implements HealthCheckCluster {
+
+    private final String localMember;
+
+    private final Map<String, Map<String, Endpoint.Status>> members;
+
+    public InMemoryHealthCheckCluster(String localMember) {
+        this(localMember, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param localMember the identifier of the local member.
+     * @param members the statuses published by each member, shared by all the members of the cluster.
+     */
+    public InMemoryHealthCheckCluster(String localMember, Map<String, Map<String, Endpoint.Status>> members) {
+        this.localMember = localMember;
+        this.members = members;
+        this.members.put(localMember, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Removes the local member, and the statuses it published, from the cluster.
+     */
+    public void leave() {
+        members.remove(localMember);
+    }
+
+    @Override
+    public String localMember() {
+        return localMember;
+    }
+
+    @Override
+    public Collection<String> members() {
+        Collection<String> alive = new ArrayList<>(members.keySet());
+        if (!alive.contains(localMember)) {
+            alive.add(localMember);
+        }
+
+        return alive;
+    }
+
+    @Override
+    public Endpoint.Status status(String member, String key) {
+        Map<String, Endpoint.Status> statuses = members.get(member);
+        return (statuses == null) ? null : statuses.get(key);
+    }
+
+    @Override
+    public void publish(String key, Endpoint.Status status) {
+        members.computeIfAbsent(localMember, member -> new ConcurrentHashMap<>()).put(key, status);
+    }
+
+    @Override
+    public void unpublish(String key) {
+        Map<String, Endpoint.Status> statuses = members.get(localMember);
+        if (statuses != null) {
+            statuses.remove(key);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Rendezvous (highest random weight) hashing: the owner of a key is the member with the highest weight for this key.
+ *
+ * Every member computes the same owner from the same list of members, without any coordination, and a member joining
+ * or leaving the cluster only moves the keys it gains or owned.
+ *
+ * @author GraviteeSource Team
+ */
+public final class RendezvousHashing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final byte[] SEPARATOR = {0};
+
+    private RendezvousHashing() {
+    }
+
+    /**
+     * @return the owner of the key, or <code>null</code> if there is no member.
+     */
+    public static String owner(String key, Collection<String> members) {
+        String owner = null;
+        long highest = 0;
+
+        for (String member : members) {
+            long weight = weight(member, key);
+            if (owner == null || weight > highest || (weight == highest && member.compareTo(owner) < 0)) {
+                owner = member;
+                highest = weight;
+            }
+        }
+
+        return owner;
+    }
+
+    static long weight(String member, String key) {
+        // FNV-1a of the member and the key, finalized by the mixer of MurmurHash3 to spread the close inputs
+        long hash = FNV_OFFSET_BASIS;
+        hash = fnv(hash, member.getBytes(StandardCharsets.UTF_8));
+        hash = fnv(hash, SEPARATOR);
+        hash = fnv(hash, key.getBytes(StandardCharsets.UTF_8));
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    private static long fnv(long hash, byte[] bytes) {
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.model.Endpoint;
+import io.gravitee.gateway.env.GatewayConfiguration;
+import io.gravitee.gateway.env.HeartbeatProperties;
+import io.gravitee.node.api.Node;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link HealthCheckCluster} whose members are the gateways sending heartbeats to the management repository.
+ *
+ * <ul>
+ *     <li>The members are the gateways whose last heartbeat is recent enough, and which have the same sharding tags
+ *     and tenant as the local gateway, so that they deploy the same APIs.</li>
+ *     <li>The statuses of the endpoints checked by the local gateway are published as a property of its heartbeat
+ *     event, and read from the heartbeat events of the other gateways.</li>
+ * </ul>
+ *
+ * The repository is read from a worker thread. If it can not be read for longer than the member timeout, the local
+ * gateway considers itself alone, and so checks all of the endpoints.
+ *
+ * @author GraviteeSource Team
+ */
+public class RepositoryHealthCheckCluster implements HealthCheckCluster, InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(RepositoryHealthCheckCluster.class);
+
+    static final String STATUSES_PROPERTY = "healthcheck_statuses";
+
+    private static final String ID_PROPERTY = "id";
+
+    private static final String LAST_HEARTBEAT_PROPERTY = "last_heartbeat_at";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private HeartbeatProperties heartbeatProperties;
+
+    @Autowired
+    private GatewayConfiguration gatewayConfiguration;
+
+    @Autowired
+    private Node node;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Vertx vertx;
+
+    @Value("${services.healthcheck.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${services.healthcheck.cluster.refreshInterval:5000}")
+    private long refreshInterval;
+
+    @Value("${services.healthcheck.cluster.memberTimeout:30000}")
+    private long memberTimeout;
+
+    private final Map<String, Endpoint.Status> localStatuses = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Map<String, Endpoint.Status>> remoteMembers = Collections.emptyMap();
+
+    private volatile long lastRefreshAt;
+
+    private long timerId = -1;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+
+        refreshAsync();
+        timerId = vertx.setPeriodic(refreshInterval, id -> refreshAsync());
+    }
+
+    @Override
+    public void destroy() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+
+        heartbeatProperties.remove(STATUSES_PROPERTY);
+    }
+
+    @Override
+    public String localMember() {
+        return node.id();
+    }
+
+    @Override
+    public Collection<String> members() {
+        List<String> members = new ArrayList<>();
+        members.add(node.id());
+
+        if (System.currentTimeMillis() - lastRefreshAt <= memberTimeout) {
+            members.addAll(remoteMembers.keySet());
+        }
+
+        return members;
+    }
+
+    @Override
+    public Endpoint.Status status(String member, String key) {
+        if (member.equals(node.id())) {
+            return localStatuses.get(key);
+        }
+
+        Map<String, Endpoint.Status> statuses = remoteMembers.get(member);
+        return (statuses == null) ? null : statuses.get(key);
+    }
+
+    @Override
+    public void publish(String key, Endpoint.Status status) {
+        if (localStatuses.put(key, status) != status) {
+            publishStatuses();
+        }
+    }
+
+    @Override
+    public void unpublish(String key) {
+        if (localStatuses.remove(key) != null) {
+            publishStatuses();
+        }
+    }
+
+    private synchronized void publishStatuses() {
+        try {
+            Map<String, String> statuses = new HashMap<>();
+            localStatuses.forEach((key, status) -> statuses.put(key, status.name()));
+            heartbeatProperties.put(STATUSES_PROPERTY, objectMapper.writeValueAsString(statuses));
+        } catch (Exception ex) {
+            LOGGER.error("Unable to publish the health-check statuses", ex);
+        }
+    }
+
+    private void refreshAsync() {
+        vertx.executeBlocking(future -> {
+            refresh();
+            future.complete();
+        }, true, result -> { });
+    }
+
+    void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            List<Event> events = eventRepository.search(new EventCriteria.Builder()
+                    .types(EventType.GATEWAY_STARTED)
+                    .from(now - memberTimeout)
+                    .to(now)
+                    .build());
+
+            Map<String, Map<String, Endpoint.Status>> members = new HashMap<>();
+            for (Event event : events) {
+                Map<String, String> properties = event.getProperties();
+                String id = (properties == null) ? null : properties.get(ID_PROPERTY);
+
+                if (id != null && !id.equals(node.id()) && isAlive(properties, now) && isCompatible(event)) {
+                    members.put(id, statuses(properties.get(STATUSES_PROPERTY)));
+                }
+            }
+
+            remoteMembers = members;
+            lastRefreshAt = now;
+            LOGGER.debug("Health-check cluster refreshed: {} other gateways", members.size());
+        } catch (Exception ex) {
+            LOGGER.error("Unable to refresh the members of the health-check cluster", ex);
+        }
+    }
+
+    private boolean isAlive(Map<String, String> properties, long now) {
+        try {
+            return now - Long.parseLong(properties.get(LAST_HEARTBEAT_PROPERTY)) <= memberTimeout;
+        } catch (NumberFormatException nfe) {
+            return false;
+        }
+    }
+
+    private boolean isCompatible(Event event) {
+        if (event.getPayload() == null) {
+            return false;
+        }
+
+        try {
+            JsonNode instance = objectMapper.readTree(event.getPayload());
+
+            Set<String> tags = new HashSet<>();
+            JsonNode tagsNode = instance.get("tags");
+            if (tagsNode != null) {
+                tagsNode.forEach(tag -> tags.add(tag.asText()));
+            }
+
+            JsonNode tenantNode = instance.get("tenant");
+            String tenant = (tenantNode == null || tenantNode.isNull()) ? null : tenantNode.asText();
+
+            return tags.equals(new HashSet<>(gatewayConfiguration.shardingTags().orElse(Collections.emptyList())))
+                    && Objects.equals(tenant, gatewayConfiguration.tenant().orElse(null));
+        } catch (Exception ex) {
+            LOGGER.debug("Unable to read the heartbeat of gateway {}", event.getId(), ex);
+            return false;
+        }
+    }
+
+    private Map<String, Endpoint.Status> statuses(String property) {
+        if (property == null || property.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Endpoint.Status> statuses = new HashMap<>();
+        try {
+            Map<String, String> values = objectMapper.readValue(property, new TypeReference<Map<String, String>>() { });
+            values.forEach((key, status) -> {
+                try {
+                    statuses.put(key, Endpoint.Status.valueOf(status));
+                } catch (IllegalArgumentException iae) {
+                    // Unknown status, the endpoint is ignored
+                }
+            });
+        } catch (Exception ex) {
+            LOGGER.debug("Unable to read the health-check statuses {}", property, ex);
+        }
+
+        return statuses;
+    }
+}
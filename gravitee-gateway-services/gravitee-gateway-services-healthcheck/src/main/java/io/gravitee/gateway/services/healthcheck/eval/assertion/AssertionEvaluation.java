@@ -21,10 +21,12 @@ import io.gravitee.gateway.services.healthcheck.eval.EvaluationException;
 import org.springframework.beans.BeanUtils;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,26 +36,44 @@ import java.util.Map;
  */
 public class AssertionEvaluation implements Evaluation {
 
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+
+    private static final Method JSON_PATH_FUNCTION = BeanUtils.resolveSignature("evaluate", JsonPathFunction.class);
+
     private final String assertion;
 
     private final Map<String, Object> variables = new HashMap<>();
 
+    /**
+     * The assertion is parsed once, when the evaluation is created, and evaluated as many times as needed.
+     */
+    private Expression expression;
+
+    private ParseException parseException;
+
     public AssertionEvaluation(final String assertion) {
         this.assertion = assertion;
+
+        try {
+            this.expression = PARSER.parseExpression(assertion);
+        } catch (ParseException pex) {
+            // Reported by each validation, so that the step is marked as failed
+            this.parseException = pex;
+        }
     }
 
     @Override
     public boolean validate() throws EvaluationException {
-        try {
-            final ExpressionParser parser = new SpelExpressionParser();
-            final Expression expr = parser.parseExpression(assertion);
+        if (parseException != null) {
+            throw new EvaluationException("Assertion can not be parsed : " + assertion, parseException);
+        }
 
+        try {
             final StandardEvaluationContext context = new StandardEvaluationContext();
-            context.registerFunction("jsonPath",
-                    BeanUtils.resolveSignature("evaluate", JsonPathFunction.class));
+            context.registerFunction("jsonPath", JSON_PATH_FUNCTION);
             context.setVariables(variables);
 
-            return expr.getValue(context, boolean.class);
+            return expression.getValue(context, boolean.class);
         } catch (SpelEvaluationException spelex) {
             throw new EvaluationException("Assertion can not be verified : " + assertion, spelex);
         }
@@ -19,6 +19,7 @@ import io.gravitee.alert.api.event.Event;
 import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.common.http.HttpStatusCode;
 import io.gravitee.common.utils.UUID;
+import io.gravitee.definition.model.Endpoint;
 import io.gravitee.definition.model.HttpClientSslOptions;
 import io.gravitee.definition.model.HttpProxy;
 import io.gravitee.definition.model.endpoint.HttpEndpoint;
@@ -34,6 +35,7 @@ import io.gravitee.gateway.services.healthcheck.EndpointStatusDecorator;
 import io.gravitee.gateway.services.healthcheck.eval.EvaluationException;
 import io.gravitee.gateway.services.healthcheck.eval.assertion.AssertionEvaluation;
 import io.gravitee.gateway.services.healthcheck.http.el.EvaluableHttpResponse;
+import io.gravitee.gateway.services.healthcheck.schedule.Probe;
 import io.gravitee.node.api.Node;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import io.gravitee.node.api.utils.NodeUtils;
@@ -54,8 +56,9 @@ import org.slf4j.LoggerFactory;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import static java.lang.System.currentTimeMillis;
@@ -65,7 +68,7 @@ import static java.lang.System.currentTimeMillis;
  * @author Azize ELAMRANI (azize.elamrani at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class HttpEndpointRuleHandler implements Handler<Long> {
+public class HttpEndpointRuleHandler implements Handler<Long>, Probe {
 
     private final Logger logger = LoggerFactory.getLogger(HttpEndpointRuleHandler.class);
 
@@ -92,6 +95,11 @@ public class HttpEndpointRuleHandler implements Handler<Long> {
     private final EndpointStatusDecorator endpointStatus;
     private Handler<EndpointStatus> statusHandler;
 
+    // Assertions of each step, parsed once for the lifetime of the rule
+    private final Map<io.gravitee.definition.model.services.healthcheck.Step, List<AssertionEvaluation>> assertions =
+            new IdentityHashMap<>();
+    private HttpClient httpClient;
+
     private AlertEventProducer alertEventProducer;
     private Node node;
     private String port;
@@ -101,6 +109,31 @@ public class HttpEndpointRuleHandler implements Handler<Long> {
         this.rule = rule;
 
         endpointStatus = new EndpointStatusDecorator(rule.endpoint());
+
+        if (rule.steps() != null) {
+            rule.steps().forEach(step -> {
+                List<AssertionEvaluation> evaluations = new ArrayList<>();
+                if (step.getResponse() != null && step.getResponse().getAssertions() != null) {
+                    step.getResponse().getAssertions().forEach(
+                            assertion -> evaluations.add(new AssertionEvaluation(assertion)));
+                }
+                assertions.put(step, evaluations);
+            });
+        }
+    }
+
+    /**
+     * Closes the HTTP client kept by the rule. To be called once the rule is no longer scheduled.
+     */
+    public void close() {
+        if (httpClient != null) {
+            try {
+                httpClient.close();
+            } catch (IllegalStateException ise) {
+                // Do not take care about exception when closing client
+            }
+            httpClient = null;
+        }
     }
 
     private URI create(String target, io.gravitee.definition.model.services.healthcheck.Request request) {
@@ -126,13 +159,13 @@ public class HttpEndpointRuleHandler implements Handler<Long> {
         EndpointStatus.StepBuilder stepBuilder = EndpointStatus.forStep(step.getName());
 
         // Run assertions
-        if (step.getResponse().getAssertions() != null) {
-            Iterator<String> assertionIterator = step.getResponse().getAssertions().iterator();
+        List<AssertionEvaluation> evaluations = assertions.get(step);
+        if (evaluations != null) {
+            Iterator<AssertionEvaluation> assertionIterator = evaluations.iterator();
             boolean success = true;
             while (success && assertionIterator.hasNext()) {
                 try {
-                    // TODO: assertion must be compiled only one time to preserve CPU
-                    AssertionEvaluation evaluation = new AssertionEvaluation(assertionIterator.next());
+                    AssertionEvaluation evaluation = assertionIterator.next();
                     evaluation.setVariable("response", response);
 
                     // Run validation
@@ -155,143 +188,44 @@ public class HttpEndpointRuleHandler implements Handler<Long> {
 
     @Override
     public void handle(Long timer) {
+        run(null);
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return rule.endpoint().getStatus() == Endpoint.Status.UP;
+    }
+
+    @Override
+    public void run(Handler<Void> completionHandler) {
         HttpEndpoint endpoint = (HttpEndpoint) rule.endpoint();
 
         logger.debug("Running health-check for endpoint: {} [{}]", endpoint.getName(), endpoint.getTarget());
 
+        // The run is complete once each step has either been reported or failed to start
+        final AtomicInteger remainingSteps = new AtomicInteger(rule.steps().size());
+        if (remainingSteps.get() == 0 && completionHandler != null) {
+            completionHandler.handle(null);
+        }
+
         // Run request for each step
         for (io.gravitee.definition.model.services.healthcheck.Step step : rule.steps()) {
-            try {
-                URI hcRequestUri = create(endpoint.getTarget(), step.getRequest());
-
-                // Prepare HTTP client
-                HttpClientOptions httpClientOptions = new HttpClientOptions()
-                        .setMaxPoolSize(1)
-                        .setKeepAlive(false)
-                        .setTcpKeepAlive(false);
-
-                if (endpoint.getHttpClientOptions() != null) {
-                    httpClientOptions
-                            .setIdleTimeout((int) (endpoint.getHttpClientOptions().getIdleTimeout() / 1000))
-                            .setConnectTimeout((int) endpoint.getHttpClientOptions().getConnectTimeout())
-                            .setTryUseCompression(endpoint.getHttpClientOptions().isUseCompression());
-                }
-
-                // Configure HTTP proxy
-                HttpProxy proxy = endpoint.getHttpProxy();
-                if (proxy != null && proxy.isEnabled()) {
-                    ProxyOptions proxyOptions = new ProxyOptions()
-                            .setHost(proxy.getHost())
-                            .setPort(proxy.getPort())
-                            .setUsername(proxy.getUsername())
-                            .setPassword(proxy.getPassword())
-                            .setType(ProxyType.valueOf(proxy.getType().name()));
-
-                    httpClientOptions.setProxyOptions(proxyOptions);
+            final AtomicBoolean stepCompleted = new AtomicBoolean();
+            final Runnable completeStep = () -> {
+                if (stepCompleted.compareAndSet(false, true) && remainingSteps.decrementAndGet() == 0
+                        && completionHandler != null) {
+                    completionHandler.handle(null);
                 }
+            };
 
-                HttpClientSslOptions sslOptions = endpoint.getHttpClientSslOptions();
-
-                if (HTTPS_SCHEME.equalsIgnoreCase(hcRequestUri.getScheme())) {
-                    // Configure SSL
-                    httpClientOptions.setSsl(true);
-
-                    if (sslOptions != null) {
-                        httpClientOptions
-                                .setVerifyHost(sslOptions.isHostnameVerifier())
-                                .setTrustAll(sslOptions.isTrustAll());
-
-                        // Client trust configuration
-                        if (!sslOptions.isTrustAll() && sslOptions.getTrustStore() != null) {
-                            switch (sslOptions.getTrustStore().getType()) {
-                                case PEM:
-                                    PEMTrustStore pemTrustStore = (PEMTrustStore) sslOptions.getTrustStore();
-                                    PemTrustOptions pemTrustOptions = new PemTrustOptions();
-                                    if (pemTrustStore.getPath() != null && !pemTrustStore.getPath().isEmpty()) {
-                                        pemTrustOptions.addCertPath(pemTrustStore.getPath());
-                                    } else if (pemTrustStore.getContent() != null && !pemTrustStore.getContent().isEmpty()) {
-                                        pemTrustOptions.addCertValue(io.vertx.core.buffer.Buffer.buffer(pemTrustStore.getContent()));
-                                    } else {
-                                        throw new EndpointException("Missing PEM certificate value for endpoint " + endpoint.getName());
-                                    }
-                                    httpClientOptions.setPemTrustOptions(pemTrustOptions);
-                                    break;
-                                case PKCS12:
-                                    PKCS12TrustStore pkcs12TrustStore = (PKCS12TrustStore) sslOptions.getTrustStore();
-                                    PfxOptions pfxOptions = new PfxOptions();
-                                    pfxOptions.setPassword(pkcs12TrustStore.getPassword());
-                                    if (pkcs12TrustStore.getPath() != null && !pkcs12TrustStore.getPath().isEmpty()) {
-                                        pfxOptions.setPath(pkcs12TrustStore.getPath());
-                                    } else if (pkcs12TrustStore.getContent() != null && !pkcs12TrustStore.getContent().isEmpty()) {
-                                        pfxOptions.setValue(io.vertx.core.buffer.Buffer.buffer(pkcs12TrustStore.getContent()));
-                                    } else {
-                                        throw new EndpointException("Missing PKCS12 value for endpoint " + endpoint.getName());
-                                    }
-                                    httpClientOptions.setPfxTrustOptions(pfxOptions);
-                                    break;
-                                case JKS:
-                                    JKSTrustStore jksTrustStore = (JKSTrustStore) sslOptions.getTrustStore();
-                                    JksOptions jksOptions = new JksOptions();
-                                    jksOptions.setPassword(jksTrustStore.getPassword());
-                                    if (jksTrustStore.getPath() != null && !jksTrustStore.getPath().isEmpty()) {
-                                        jksOptions.setPath(jksTrustStore.getPath());
-                                    } else if (jksTrustStore.getContent() != null && !jksTrustStore.getContent().isEmpty()) {
-                                        jksOptions.setValue(io.vertx.core.buffer.Buffer.buffer(jksTrustStore.getContent()));
-                                    } else {
-                                        throw new EndpointException("Missing JKS value for endpoint " + endpoint.getName());
-                                    }
-                                    httpClientOptions.setTrustStoreOptions(jksOptions);
-                                    break;
-                            }
-                        }
+            try {
+                URI hcRequestUri = create(endpoint.getTarget(), step.getRequest());
 
-                        // Client authentication configuration
-                        if (sslOptions.getKeyStore() != null) {
-                            switch (sslOptions.getKeyStore().getType()) {
-                                case PEM:
-                                    PEMKeyStore pemKeyStore = (PEMKeyStore) sslOptions.getKeyStore();
-                                    PemKeyCertOptions pemKeyCertOptions = new PemKeyCertOptions();
-                                    if (pemKeyStore.getCertPath() != null && !pemKeyStore.getCertPath().isEmpty()) {
-                                        pemKeyCertOptions.setCertPath(pemKeyStore.getCertPath());
-                                    } else if (pemKeyStore.getCertContent() != null && !pemKeyStore.getCertContent().isEmpty()) {
-                                        pemKeyCertOptions.setCertValue(io.vertx.core.buffer.Buffer.buffer(pemKeyStore.getCertContent()));
-                                    }
-                                    if (pemKeyStore.getKeyPath() != null && !pemKeyStore.getKeyPath().isEmpty()) {
-                                        pemKeyCertOptions.setKeyPath(pemKeyStore.getKeyPath());
-                                    } else if (pemKeyStore.getKeyContent() != null && !pemKeyStore.getKeyContent().isEmpty()) {
-                                        pemKeyCertOptions.setKeyValue(io.vertx.core.buffer.Buffer.buffer(pemKeyStore.getKeyContent()));
-                                    }
-                                    httpClientOptions.setPemKeyCertOptions(pemKeyCertOptions);
-                                    break;
-                                case PKCS12:
-                                    PKCS12KeyStore pkcs12KeyStore = (PKCS12KeyStore) sslOptions.getKeyStore();
-                                    PfxOptions pfxOptions = new PfxOptions();
-                                    pfxOptions.setPassword(pkcs12KeyStore.getPassword());
-                                    if (pkcs12KeyStore.getPath() != null && !pkcs12KeyStore.getPath().isEmpty()) {
-                                        pfxOptions.setPath(pkcs12KeyStore.getPath());
-                                    } else if (pkcs12KeyStore.getContent() != null && !pkcs12KeyStore.getContent().isEmpty()) {
-                                        pfxOptions.setValue(io.vertx.core.buffer.Buffer.buffer(pkcs12KeyStore.getContent()));
-                                    }
-                                    httpClientOptions.setPfxKeyCertOptions(pfxOptions);
-                                    break;
-                                case JKS:
-                                    JKSKeyStore jksKeyStore = (JKSKeyStore) sslOptions.getKeyStore();
-                                    JksOptions jksOptions = new JksOptions();
-                                    jksOptions.setPassword(jksKeyStore.getPassword());
-                                    if (jksKeyStore.getPath() != null && !jksKeyStore.getPath().isEmpty()) {
-                                        jksOptions.setPath(jksKeyStore.getPath());
-                                    } else if (jksKeyStore.getContent() != null && !jksKeyStore.getContent().isEmpty()) {
-                                        jksOptions.setValue(io.vertx.core.buffer.Buffer.buffer(jksKeyStore.getContent()));
-                                    }
-                                    httpClientOptions.setKeyStoreOptions(jksOptions);
-                                    break;
-                            }
-                        }
-                    }
+                // The client, and so its connection, is kept from one run to the next
+                if (httpClient == null) {
+                    httpClient = vertx.createHttpClient(createHttpClientOptions(endpoint, hcRequestUri));
                 }
 
-                HttpClient httpClient = vertx.createHttpClient(httpClientOptions);
-
                 final int port = hcRequestUri.getPort() != -1 ? hcRequestUri.getPort() :
                         (HTTPS_SCHEME.equals(hcRequestUri.getScheme()) ? 443 : 80);
 
@@ -367,9 +301,7 @@ public class HttpEndpointRuleHandler implements Handler<Long> {
                     healthBuilder.step(stepBuilder.build());
 
                     report(healthBuilder.build());
-
-                    // Close client
-                    httpClient.close();
+                    completeStep.run();
                 }));
 
                 healthRequest.exceptionHandler(event -> {
@@ -405,13 +337,7 @@ public class HttpEndpointRuleHandler implements Handler<Long> {
                     healthBuilder.step(result);
 
                     report(healthBuilder.build());
-
-                    try {
-                        // Close client
-                        httpClient.close();
-                    } catch (IllegalStateException ise) {
-                        // Do not take care about exception when closing client
-                    }
+                    completeStep.run();
                 });
 
                 // Send request
@@ -424,10 +350,143 @@ public class HttpEndpointRuleHandler implements Handler<Long> {
             } catch (EndpointException ee) {
                 logger.error("An error occurs while configuring the endpoint " + endpoint.getName() +
                         ". Healthcheck is skipped for this endpoint.", ee);
+                completeStep.run();
             } catch (Exception ex) {
                 logger.error("An unexpected error occurs", ex);
+                completeStep.run();
+            }
+        }
+    }
+
+    private HttpClientOptions createHttpClientOptions(final HttpEndpoint endpoint, final URI hcRequestUri)
+            throws EndpointException {
+        // A single connection, kept alive between the runs to avoid a TCP / TLS handshake for each of them
+        HttpClientOptions httpClientOptions = new HttpClientOptions()
+                .setMaxPoolSize(1)
+                .setKeepAlive(true)
+                .setTcpKeepAlive(false);
+
+        if (endpoint.getHttpClientOptions() != null) {
+            httpClientOptions
+                    .setIdleTimeout((int) (endpoint.getHttpClientOptions().getIdleTimeout() / 1000))
+                    .setConnectTimeout((int) endpoint.getHttpClientOptions().getConnectTimeout())
+                    .setTryUseCompression(endpoint.getHttpClientOptions().isUseCompression());
+        }
+
+        // Configure HTTP proxy
+        HttpProxy proxy = endpoint.getHttpProxy();
+        if (proxy != null && proxy.isEnabled()) {
+            ProxyOptions proxyOptions = new ProxyOptions()
+                    .setHost(proxy.getHost())
+                    .setPort(proxy.getPort())
+                    .setUsername(proxy.getUsername())
+                    .setPassword(proxy.getPassword())
+                    .setType(ProxyType.valueOf(proxy.getType().name()));
+
+            httpClientOptions.setProxyOptions(proxyOptions);
+        }
+
+        HttpClientSslOptions sslOptions = endpoint.getHttpClientSslOptions();
+
+        if (HTTPS_SCHEME.equalsIgnoreCase(hcRequestUri.getScheme())) {
+            // Configure SSL
+            httpClientOptions.setSsl(true);
+
+            if (sslOptions != null) {
+                httpClientOptions
+                        .setVerifyHost(sslOptions.isHostnameVerifier())
+                        .setTrustAll(sslOptions.isTrustAll());
+
+                // Client trust configuration
+                if (!sslOptions.isTrustAll() && sslOptions.getTrustStore() != null) {
+                    switch (sslOptions.getTrustStore().getType()) {
+                        case PEM:
+                            PEMTrustStore pemTrustStore = (PEMTrustStore) sslOptions.getTrustStore();
+                            PemTrustOptions pemTrustOptions = new PemTrustOptions();
+                            if (pemTrustStore.getPath() != null && !pemTrustStore.getPath().isEmpty()) {
+                                pemTrustOptions.addCertPath(pemTrustStore.getPath());
+                            } else if (pemTrustStore.getContent() != null && !pemTrustStore.getContent().isEmpty()) {
+                                pemTrustOptions.addCertValue(io.vertx.core.buffer.Buffer.buffer(pemTrustStore.getContent()));
+                            } else {
+                                throw new EndpointException("Missing PEM certificate value for endpoint " + endpoint.getName());
+                            }
+                            httpClientOptions.setPemTrustOptions(pemTrustOptions);
+                            break;
+                        case PKCS12:
+                            PKCS12TrustStore pkcs12TrustStore = (PKCS12TrustStore) sslOptions.getTrustStore();
+                            PfxOptions pfxOptions = new PfxOptions();
+                            pfxOptions.setPassword(pkcs12TrustStore.getPassword());
+                            if (pkcs12TrustStore.getPath() != null && !pkcs12TrustStore.getPath().isEmpty()) {
+                                pfxOptions.setPath(pkcs12TrustStore.getPath());
+                            } else if (pkcs12TrustStore.getContent() != null && !pkcs12TrustStore.getContent().isEmpty()) {
+                                pfxOptions.setValue(io.vertx.core.buffer.Buffer.buffer(pkcs12TrustStore.getContent()));
+                            } else {
+                                throw new EndpointException("Missing PKCS12 value for endpoint " + endpoint.getName());
+                            }
+                            httpClientOptions.setPfxTrustOptions(pfxOptions);
+                            break;
+                        case JKS:
+                            JKSTrustStore jksTrustStore = (JKSTrustStore) sslOptions.getTrustStore();
+                            JksOptions jksOptions = new JksOptions();
+                            jksOptions.setPassword(jksTrustStore.getPassword());
+                            if (jksTrustStore.getPath() != null && !jksTrustStore.getPath().isEmpty()) {
+                                jksOptions.setPath(jksTrustStore.getPath());
+                            } else if (jksTrustStore.getContent() != null && !jksTrustStore.getContent().isEmpty()) {
+                                jksOptions.setValue(io.vertx.core.buffer.Buffer.buffer(jksTrustStore.getContent()));
+                            } else {
+                                throw new EndpointException("Missing JKS value for endpoint " + endpoint.getName());
+                            }
+                            httpClientOptions.setTrustStoreOptions(jksOptions);
+                            break;
+                    }
+                }
+
+                // Client authentication configuration
+                if (sslOptions.getKeyStore() != null) {
+                    switch (sslOptions.getKeyStore().getType()) {
+                        case PEM:
+                            PEMKeyStore pemKeyStore = (PEMKeyStore) sslOptions.getKeyStore();
+                            PemKeyCertOptions pemKeyCertOptions = new PemKeyCertOptions();
+                            if (pemKeyStore.getCertPath() != null && !pemKeyStore.getCertPath().isEmpty()) {
+                                pemKeyCertOptions.setCertPath(pemKeyStore.getCertPath());
+                            } else if (pemKeyStore.getCertContent() != null && !pemKeyStore.getCertContent().isEmpty()) {
+                                pemKeyCertOptions.setCertValue(io.vertx.core.buffer.Buffer.buffer(pemKeyStore.getCertContent()));
+                            }
+                            if (pemKeyStore.getKeyPath() != null && !pemKeyStore.getKeyPath().isEmpty()) {
+                                pemKeyCertOptions.setKeyPath(pemKeyStore.getKeyPath());
+                            } else if (pemKeyStore.getKeyContent() != null && !pemKeyStore.getKeyContent().isEmpty()) {
+                                pemKeyCertOptions.setKeyValue(io.vertx.core.buffer.Buffer.buffer(pemKeyStore.getKeyContent()));
+                            }
+                            httpClientOptions.setPemKeyCertOptions(pemKeyCertOptions);
+                            break;
+                        case PKCS12:
+                            PKCS12KeyStore pkcs12KeyStore = (PKCS12KeyStore) sslOptions.getKeyStore();
+                            PfxOptions pfxOptions = new PfxOptions();
+                            pfxOptions.setPassword(pkcs12KeyStore.getPassword());
+                            if (pkcs12KeyStore.getPath() != null && !pkcs12KeyStore.getPath().isEmpty()) {
+                                pfxOptions.setPath(pkcs12KeyStore.getPath());
+                            } else if (pkcs12KeyStore.getContent() != null && !pkcs12KeyStore.getContent().isEmpty()) {
+                                pfxOptions.setValue(io.vertx.core.buffer.Buffer.buffer(pkcs12KeyStore.getContent()));
+                            }
+                            httpClientOptions.setPfxKeyCertOptions(pfxOptions);
+                            break;
+                        case JKS:
+                            JKSKeyStore jksKeyStore = (JKSKeyStore) sslOptions.getKeyStore();
+                            JksOptions jksOptions = new JksOptions();
+                            jksOptions.setPassword(jksKeyStore.getPassword());
+                            if (jksKeyStore.getPath() != null && !jksKeyStore.getPath().isEmpty()) {
+                                jksOptions.setPath(jksKeyStore.getPath());
+                            } else if (jksKeyStore.getContent() != null && !jksKeyStore.getContent().isEmpty()) {
+                                jksOptions.setValue(io.vertx.core.buffer.Buffer.buffer(jksKeyStore.getContent()));
+                            }
+                            httpClientOptions.setKeyStoreOptions(jksOptions);
+                            break;
+                    }
+                }
             }
         }
+
+        return httpClientOptions;
     }
 
     private void report(final EndpointStatus endpointStatus) {
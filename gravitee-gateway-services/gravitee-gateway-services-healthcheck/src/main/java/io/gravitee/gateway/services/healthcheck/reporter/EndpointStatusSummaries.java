@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.reporter;
+
+import io.gravitee.gateway.core.latency.LatencyHistogram;
+import io.gravitee.reporter.api.health.EndpointStatus;
+import io.gravitee.reporter.api.health.Step;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates the health-check results of each endpoint over a window, so that a single summary per endpoint is
+ * reported at the end of the window instead of each of the results. A window spans the results recorded between two
+ * calls to {@link #summarize(long)}.
+ *
+ * The summary of an endpoint is reported as an {@link EndpointStatus} with a single <code>summary</code> step:
+ * <ul>
+ *     <li>its state and availability are the ones of the last result of the window,</li>
+ *     <li>it is successful if all the results of the window are,</li>
+ *     <li>its response time is the median response time of the window, the other percentiles being given by the
+ *     message of the step.</li>
+ * </ul>
+ *
+ * @author GraviteeSource Team
+ */
+public class EndpointStatusSummaries {
+
+    static final String SUMMARY_STEP = "summary";
+
+    private final Map<String, Summary> summaries = new ConcurrentHashMap<>();
+
+    public void record(EndpointStatus status) {
+        summaries
+                .computeIfAbsent(status.getApi() + ':' + status.getEndpoint(),
+                        key -> new Summary(status.getApi(), status.getEndpoint()))
+                .record(status);
+    }
+
+    /**
+     * Returns the summaries of the endpoints checked since the previous call, and starts a new window.
+     *
+     * @param timestamp the timestamp of the summaries.
+     */
+    public List<EndpointStatus> summarize(long timestamp) {
+        List<EndpointStatus> batch = new ArrayList<>(summaries.size());
+
+        // The endpoints which have not been checked during the window (undeployed APIs, ...) are forgotten
+        summaries.values().removeIf(summary -> {
+            EndpointStatus status = summary.summarize(timestamp);
+            if (status == null) {
+                return true;
+            }
+
+            batch.add(status);
+            return false;
+        });
+
+        return batch;
+    }
+
+    private final class Summary {
+
+        private final String api;
+
+        private final String endpoint;
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        private final AtomicLong checks = new AtomicLong();
+
+        private final AtomicLong failures = new AtomicLong();
+
+        private volatile EndpointStatus last;
+
+        Summary(String api, String endpoint) {
+            this.api = api;
+            this.endpoint = endpoint;
+        }
+
+        void record(EndpointStatus status) {
+            latencies.record(status.getResponseTime());
+            if (!status.isSuccess()) {
+                failures.incrementAndGet();
+            }
+            last = status;
+            checks.incrementAndGet();
+        }
+
+        EndpointStatus summarize(long timestamp) {
+            // A summary only covers the latencies recorded since the previous one
+            LatencyHistogram.Snapshot windowLatencies = latencies.getAndReset();
+
+            long count = checks.getAndSet(0);
+            if (count == 0) {
+                return null;
+            }
+
+            long failed = failures.getAndSet(0);
+            long median = windowLatencies.percentile(50);
+
+            EndpointStatus.StepBuilder stepBuilder = EndpointStatus.forStep(SUMMARY_STEP);
+            stepBuilder.responseTime(median);
+            String message = String.format("%d checks, %d failed, response time p50=%dms p90=%dms p99=%dms",
+                    count, failed, median, windowLatencies.percentile(90), windowLatencies.percentile(99));
+            if (failed == 0) {
+                stepBuilder.success();
+            } else {
+                stepBuilder.fail(message);
+            }
+
+            Step step = stepBuilder.build();
+            step.setMessage(message);
+
+            EndpointStatus summary = EndpointStatus
+                    .forEndpoint(api, endpoint)
+                    .on(timestamp)
+                    .step(step)
+                    .build();
+
+            EndpointStatus current = last;
+            summary.setState(current.getState());
+            summary.setAvailable(current.isAvailable());
+            summary.setResponseTime(median);
+            summary.setTransition(false);
+
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.reporter;
+
+import io.gravitee.reporter.api.health.EndpointStatus;
+
+/**
+ * Defines which health-check results are sent to the reporters.
+ *
+ * @author GraviteeSource Team
+ */
+public enum ReportingMode {
+
+    /**
+     * Every result is reported.
+     */
+    ALL,
+
+    /**
+     * Only the failed results, and the ones changing the status of the endpoint, are reported.
+     */
+    FAILURES,
+
+    /**
+     * Only the results changing the status of the endpoint are reported.
+     */
+    TRANSITIONS;
+
+    public boolean shouldReport(EndpointStatus status) {
+        switch (this) {
+            case FAILURES:
+                return !status.isSuccess() || status.isTransition();
+            case TRANSITIONS:
+                return status.isTransition();
+            default:
+                return true;
+        }
+    }
+}
@@ -18,25 +18,85 @@ package io.gravitee.gateway.services.healthcheck.reporter;
 import io.gravitee.gateway.report.ReporterService;
 import io.gravitee.reporter.api.health.EndpointStatus;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+import java.util.Locale;
 
 /**
+ * Sends the health-check results to the reporters.
+ *
+ * Depending on the {@link ReportingMode}, only the failures and / or transitions may be reported. The other results
+ * are then summarized per endpoint, and the summaries are reported all together at a regular interval.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class StatusReporter implements Handler<EndpointStatus> {
+public class StatusReporter implements Handler<EndpointStatus>, InitializingBean, DisposableBean {
 
     private final Logger logger = LoggerFactory.getLogger(StatusReporter.class);
 
     @Autowired
     private ReporterService reporterService;
 
+    @Autowired
+    private Vertx vertx;
+
+    @Value("${services.healthcheck.reporting.mode:all}")
+    private String mode;
+
+    @Value("${services.healthcheck.reporting.summary.interval:60000}")
+    private long summaryInterval;
+
+    private ReportingMode reportingMode = ReportingMode.ALL;
+
+    private EndpointStatusSummaries summaries;
+
+    private long summaryTimerId = -1;
+
+    @Override
+    public void afterPropertiesSet() {
+        reportingMode = ReportingMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+
+        if (reportingMode != ReportingMode.ALL && summaryInterval > 0) {
+            summaries = new EndpointStatusSummaries();
+            summaryTimerId = vertx.setPeriodic(summaryInterval, id -> reportSummaries());
+        }
+
+        logger.debug("Health-check results reported with mode {}", reportingMode);
+    }
+
+    @Override
+    public void destroy() {
+        if (summaryTimerId != -1) {
+            vertx.cancelTimer(summaryTimerId);
+            summaryTimerId = -1;
+        }
+    }
+
     @Override
     public void handle(EndpointStatus edptStatus) {
-        logger.debug("Report health results for {}", edptStatus.getApi());
+        if (summaries != null) {
+            summaries.record(edptStatus);
+        }
+
+        if (reportingMode.shouldReport(edptStatus)) {
+            logger.debug("Report health results for {}", edptStatus.getApi());
+
+            reporterService.report(edptStatus);
+        }
+    }
+
+    private void reportSummaries() {
+        List<EndpointStatus> batch = summaries.summarize(System.currentTimeMillis());
+        logger.debug("Report health summaries for {} endpoints", batch.size());
 
-        reporterService.report(edptStatus);
+        batch.forEach(reporterService::report);
     }
 }
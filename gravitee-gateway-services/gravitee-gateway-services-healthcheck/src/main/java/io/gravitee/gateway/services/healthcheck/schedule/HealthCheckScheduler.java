@@ -0,0 +1,283 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.schedule;
+
+import io.gravitee.gateway.core.timer.HashedWheelTimer;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Schedules the health-checks of all the endpoints on a single {@link HashedWheelTimer}, instead of a Vert.x periodic
+ * timer per endpoint.
+ *
+ * <ul>
+ *     <li>The first run of a probe is spread over its interval, and each of the next runs is shifted by a random
+ *     jitter, so that the endpoints of an API are not all checked at the same time after a deployment.</li>
+ *     <li>The number of probes running at the same time is limited. The probes due while the limit is reached wait
+ *     for a running probe to complete.</li>
+ *     <li>An unhealthy endpoint can be checked more often than a healthy one, so that its recovery is detected
+ *     sooner.</li>
+ * </ul>
+ *
+ * A probe is scheduled again once its run is complete, so that a slow endpoint is never checked twice at the same
+ * time.
+ *
+ * A scheduler is bound to a Vert.x context and must only be used from that context.
+ *
+ * @author GraviteeSource Team
+ */
+public class HealthCheckScheduler {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(HealthCheckScheduler.class);
+
+    /**
+     * Duration of a tick, in milliseconds. This is the precision of the schedule.
+     */
+    private static final long TICK_DURATION = 100;
+
+    /**
+     * Number of buckets: one revolution of the wheel covers ~100 seconds, longer intervals take several rounds.
+     */
+    private static final int WHEEL_SIZE = 1024;
+
+    private final Vertx vertx;
+
+    private final int maxConcurrent;
+
+    private final double jitter;
+
+    private final long unhealthyInterval;
+
+    private final Random random;
+
+    private final LongSupplier clock;
+
+    private final HashedWheelTimer wheel;
+
+    private final Deque<ProbeSchedule> waiting = new ArrayDeque<>();
+
+    private int running;
+
+    private long timerId = -1;
+
+    /**
+     * @param vertx the Vert.x instance.
+     * @param maxConcurrent the maximum number of probes running at the same time.
+     * @param jitter the ratio of the interval by which a run may be shifted, between 0 and 1.
+     * @param unhealthyInterval the interval between two runs for an unhealthy endpoint, in milliseconds. The interval
+     *                          of the probe is used if this one is not strictly positive or is greater.
+     */
+    public HealthCheckScheduler(Vertx vertx, int maxConcurrent, double jitter, long unhealthyInterval) {
+        this(vertx, maxConcurrent, jitter, unhealthyInterval, new Random(),
+                () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    HealthCheckScheduler(Vertx vertx, int maxConcurrent, double jitter, long unhealthyInterval, Random random,
+                         LongSupplier clock) {
+        this.vertx = vertx;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.jitter = Math.min(1, Math.max(0, jitter));
+        this.unhealthyInterval = unhealthyInterval;
+        this.random = random;
+        this.clock = clock;
+        this.wheel = new HashedWheelTimer(TICK_DURATION, WHEEL_SIZE, clock.getAsLong());
+    }
+
+    /**
+     * Schedules a probe to be run every given interval.
+     *
+     * @param probe the probe to run.
+     * @param interval the interval between two runs, in milliseconds.
+     * @return the schedule of the probe, which can be used to cancel it.
+     */
+    public ProbeSchedule schedule(Probe probe, long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be greater than 0: " + interval);
+        }
+
+        ProbeSchedule schedule = new ProbeSchedule(probe, interval);
+
+        // The first run is spread over the interval
+        schedule.timeout = delay((long) (random.nextDouble() * interval), () -> submit(schedule));
+        return schedule;
+    }
+
+    /**
+     * @return the number of probes currently running.
+     */
+    public int running() {
+        return running;
+    }
+
+    /**
+     * @return the number of probes due, and waiting for a running probe to complete.
+     */
+    public int waiting() {
+        return waiting.size();
+    }
+
+    public void close() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+
+        waiting.clear();
+    }
+
+    void tick() {
+        wheel.advance(clock.getAsLong());
+
+        // Do not wake up the event-loop while there is nothing to expire
+        if (wheel.pending() == 0 && timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+    }
+
+    private HashedWheelTimer.Timeout delay(long delay, Runnable task) {
+        HashedWheelTimer.Timeout timeout = wheel.schedule(delay, task, clock.getAsLong());
+
+        if (timerId == -1) {
+            timerId = vertx.setPeriodic(TICK_DURATION, id -> tick());
+        }
+
+        return timeout;
+    }
+
+    private void submit(ProbeSchedule schedule) {
+        schedule.timeout = null;
+
+        if (running < maxConcurrent) {
+            start(schedule);
+        } else {
+            LOGGER.debug("Too many health-checks running ({}), the next one is delayed", running);
+            waiting.add(schedule);
+        }
+    }
+
+    private void start(ProbeSchedule schedule) {
+        running++;
+
+        final Run run = new Run(schedule, clock.getAsLong());
+
+        // A probe never holds its slot for longer than its interval, even if it does not complete
+        run.deadline = delay(schedule.interval, () -> {
+            LOGGER.warn("Health-check not completed after {} ms, the next one is scheduled", schedule.interval);
+            complete(run);
+        });
+
+        try {
+            schedule.probe.run(result -> complete(run));
+        } catch (Exception ex) {
+            LOGGER.error("An unexpected error occurs while running a health-check", ex);
+            complete(run);
+        }
+    }
+
+    private void complete(Run run) {
+        if (run.completed) {
+            return;
+        }
+
+        run.completed = true;
+        run.deadline.cancel();
+        running--;
+
+        ProbeSchedule schedule = run.schedule;
+        if (!schedule.cancelled) {
+            long delay = run.startedAt + nextInterval(schedule) - clock.getAsLong();
+            schedule.timeout = delay(Math.max(0, delay), () -> submit(schedule));
+        }
+
+        // Start the probes which were waiting for a slot
+        while (running < maxConcurrent && !waiting.isEmpty()) {
+            start(waiting.poll());
+        }
+    }
+
+    private long nextInterval(ProbeSchedule schedule) {
+        long interval = schedule.interval;
+
+        if (unhealthyInterval > 0 && !schedule.probe.isHealthy()) {
+            interval = Math.min(interval, unhealthyInterval);
+        }
+
+        return interval + (long) (interval * jitter * (2 * random.nextDouble() - 1));
+    }
+
+    /**
+     * The schedule of a probe.
+     */
+    public final class ProbeSchedule {
+
+        private final Probe probe;
+
+        private final long interval;
+
+        private HashedWheelTimer.Timeout timeout;
+
+        private boolean cancelled;
+
+        private ProbeSchedule(Probe probe, long interval) {
+            this.probe = probe;
+            this.interval = interval;
+        }
+
+        /**
+         * Cancels the next runs of the probe. A run in progress is not interrupted.
+         */
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+
+            cancelled = true;
+            if (timeout != null) {
+                timeout.cancel();
+                timeout = null;
+            }
+            waiting.remove(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static final class Run {
+
+        private final ProbeSchedule schedule;
+
+        private final long startedAt;
+
+        private HashedWheelTimer.Timeout deadline;
+
+        private boolean completed;
+
+        Run(ProbeSchedule schedule, long startedAt) {
+            this.schedule = schedule;
+            this.startedAt = startedAt;
+        }
+    }
+}
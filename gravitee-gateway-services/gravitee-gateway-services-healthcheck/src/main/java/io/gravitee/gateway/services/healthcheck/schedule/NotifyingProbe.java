@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.schedule;
+
+import io.gravitee.definition.model.Endpoint;
+import io.gravitee.gateway.core.endpoint.EndpointStatusNotifier;
+import io.vertx.core.Handler;
+
+/**
+ * Notifies the {@link EndpointStatusNotifier} each time a run of the probe changes the status of its endpoint, so
+ * that the components using the endpoint can react to the transition (for instance by opening connections again once
+ * the endpoint is back).
+ *
+ * @author GraviteeSource Team
+ */
+public class NotifyingProbe implements Probe {
+
+    private final Probe probe;
+
+    private final Endpoint endpoint;
+
+    private final EndpointStatusNotifier notifier;
+
+    public NotifyingProbe(Probe probe, Endpoint endpoint, EndpointStatusNotifier notifier) {
+        this.probe = probe;
+        this.endpoint = endpoint;
+        this.notifier = notifier;
+    }
+
+    @Override
+    public void run(Handler<Void> completionHandler) {
+        final Endpoint.Status previousStatus = endpoint.getStatus();
+
+        probe.run(result -> {
+            if (endpoint.getStatus() != previousStatus) {
+                notifier.statusChanged(endpoint);
+            }
+
+            if (completionHandler != null) {
+                completionHandler.handle(null);
+            }
+        });
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return probe.isHealthy();
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.schedule;
+
+import io.vertx.core.Handler;
+
+/**
+ * A health-check run by the {@link HealthCheckScheduler}.
+ *
+ * @author GraviteeSource Team
+ */
+public interface Probe {
+
+    /**
+     * Runs the health-check.
+     *
+     * @param completionHandler the handler to call once the health-check is complete, whatever its result.
+     */
+    void run(Handler<Void> completionHandler);
+
+    /**
+     * @return <code>false</code> if the checked endpoint is currently considered as unhealthy, in which case it may be
+     * checked more often.
+     */
+    boolean isHealthy();
+}
@@ -16,6 +16,8 @@
 package io.gravitee.gateway.services.healthcheck.spring;
 
 import io.gravitee.gateway.services.healthcheck.EndpointHealthcheckResolver;
+import io.gravitee.gateway.services.healthcheck.cluster.HealthCheckCluster;
+import io.gravitee.gateway.services.healthcheck.cluster.RepositoryHealthCheckCluster;
 import io.gravitee.gateway.services.healthcheck.reporter.StatusReporter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,4 +38,9 @@ public class EndpointHealthcheckConfiguration {
     public StatusReporter statusReporter() {
         return new StatusReporter();
     }
+
+    @Bean
+    public HealthCheckCluster healthCheckCluster() {
+        return new RepositoryHealthCheckCluster();
+    }
 }
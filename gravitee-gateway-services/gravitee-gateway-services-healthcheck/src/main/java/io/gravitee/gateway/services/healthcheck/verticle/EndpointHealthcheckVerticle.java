@@ -22,13 +22,19 @@ import io.gravitee.common.util.ChangeListener;
 import io.gravitee.common.util.ObservableSet;
 import io.gravitee.definition.model.Endpoint;
 import io.gravitee.definition.model.services.schedule.Trigger;
+import io.gravitee.gateway.core.endpoint.EndpointStatusNotifier;
 import io.gravitee.gateway.handlers.api.definition.Api;
 import io.gravitee.gateway.reactor.Reactable;
 import io.gravitee.gateway.reactor.ReactorEvent;
 import io.gravitee.gateway.services.healthcheck.EndpointHealthcheckResolver;
 import io.gravitee.gateway.services.healthcheck.EndpointRule;
+import io.gravitee.gateway.services.healthcheck.cluster.ClusteredProbe;
+import io.gravitee.gateway.services.healthcheck.cluster.HealthCheckCluster;
 import io.gravitee.gateway.services.healthcheck.http.HttpEndpointRuleHandler;
 import io.gravitee.gateway.services.healthcheck.reporter.StatusReporter;
+import io.gravitee.gateway.services.healthcheck.schedule.HealthCheckScheduler;
+import io.gravitee.gateway.services.healthcheck.schedule.NotifyingProbe;
+import io.gravitee.gateway.services.healthcheck.schedule.Probe;
 import io.gravitee.node.api.Node;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import io.vertx.core.AbstractVerticle;
@@ -57,35 +63,61 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
     private EndpointHealthcheckResolver endpointResolver;
     @Autowired
     private AlertEventProducer alertEventProducer;
+    @Autowired
+    private HealthCheckCluster healthCheckCluster;
+    @Autowired
+    private EndpointStatusNotifier endpointStatusNotifier;
 
     @Autowired
     private Node node;
     @Value("${http.port:8082}")
     private String port;
 
+    @Value("${services.healthcheck.maxConcurrent:50}")
+    private int maxConcurrent;
+    @Value("${services.healthcheck.jitter:0.1}")
+    private double jitter;
+    @Value("${services.healthcheck.unhealthyInterval:0}")
+    private long unhealthyInterval;
+    @Value("${services.healthcheck.cluster.enabled:false}")
+    private boolean clustered;
+
     private final Map<Api, List<EndpointRuleTrigger>> apiTimers = new HashMap<>();
 
+    private HealthCheckScheduler scheduler;
+
     @Override
     public void start(final Future<Void> startedResult) {
+        scheduler = new HealthCheckScheduler(vertx, maxConcurrent, jitter, unhealthyInterval);
         eventManager.subscribeForEvents(this, ReactorEvent.class);
+        startedResult.complete();
+    }
+
+    @Override
+    public void stop() {
+        new ArrayList<>(apiTimers.keySet()).forEach(this::removeTriggers);
+        scheduler.close();
     }
 
     @Override
     public void onEvent(Event<ReactorEvent, Reactable> event) {
         final Api api = (Api) event.content();
 
-        switch (event.type()) {
-            case DEPLOY:
-                startHealthCheck(api);
-                break;
-            case UNDEPLOY:
-                stopHealthCheck(api);
-                break;
-            case UPDATE:
-                stopHealthCheck(api);
-                startHealthCheck(api);
-                break;
-        }
+        // The triggers, and the scheduler, are only managed from the context of the verticle
+        context.runOnContext(v -> {
+            switch (event.type()) {
+                case DEPLOY:
+                    startHealthCheck(api);
+                    break;
+                case UNDEPLOY:
+                    stopHealthCheck(api);
+                    break;
+                case UPDATE:
+                    stopHealthCheck(api);
+                    startHealthCheck(api);
+                    break;
+            }
+        });
     }
 
     private void startHealthCheck(Api api) {
@@ -135,11 +167,17 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
         runner.setNode(node);
         runner.setPort(port);
 
-        long timerId = vertx.setPeriodic(getDelayMillis(rule.trigger()), runner);
-        apiTimers.get(api).add(new EndpointRuleTrigger(timerId, rule.endpoint()));
+        // In a cluster, each endpoint is only checked by one of the gateways
+        Probe probe = clustered ?
+                new ClusteredProbe(runner, rule.api(), rule.endpoint(), healthCheckCluster) : runner;
+
+        // Let the connectors know when the endpoint goes down or comes back
+        probe = new NotifyingProbe(probe, rule.endpoint(), endpointStatusNotifier);
 
-        LOGGER.info("Add health-check trigger id[{}] for endpoint name[{}] target[{}] each rate[{}] unit[{}]",
-                timerId,
+        HealthCheckScheduler.ProbeSchedule schedule = scheduler.schedule(probe, getDelayMillis(rule.trigger()));
+        apiTimers.get(api).add(new EndpointRuleTrigger(schedule, rule.endpoint(), runner));
+
+        LOGGER.info("Add health-check trigger for endpoint name[{}] target[{}] each rate[{}] unit[{}]",
                 rule.endpoint().getName(), rule.endpoint().getTarget(),
                 rule.trigger().getRate(), rule.trigger().getUnit());
     }
@@ -148,7 +186,11 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
         List<EndpointRuleTrigger> triggers = apiTimers.remove(api);
         if (triggers != null) {
             LOGGER.info("Stop health-check for API id[{}] name[{}]", api.getId(), api.getName());
-            triggers.forEach(trigger -> vertx.cancelTimer(trigger.getTimerId()));
+            triggers.forEach(trigger -> {
+                trigger.getSchedule().cancel();
+                trigger.getRunner().close();
+                unpublish(api, trigger.getEndpoint());
+            });
         }
     }
 
@@ -160,15 +202,22 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
                     .filter(trigger -> trigger.getEndpoint().equals(endpoint)).findFirst();
 
             endpointRuleTrigger.ifPresent(trigger -> {
-                LOGGER.info("Remove health-check trigger id[{}] for endpoint name[{}] type[{}] target[{}]",
-                        trigger.getTimerId(),
+                LOGGER.info("Remove health-check trigger for endpoint name[{}] type[{}] target[{}]",
                         endpoint.getName(), endpoint.getType(), endpoint.getTarget());
-                vertx.cancelTimer(trigger.getTimerId());
+                trigger.getSchedule().cancel();
+                trigger.getRunner().close();
+                unpublish(api, endpoint);
                 endpointRuleTriggers.remove(trigger);
             });
         }
     }
 
+    private void unpublish(Api api, Endpoint endpoint) {
+        if (clustered) {
+            healthCheckCluster.unpublish(ClusteredProbe.key(api.getId(), endpoint.getName()));
+        }
+    }
+
     private class EndpointsListener implements ChangeListener<Endpoint> {
 
         private final Api api;
@@ -184,10 +233,12 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
 
         @Override
         public boolean postAdd(Endpoint endpoint) {
-            EndpointRule rule = endpointResolver.resolve(api, endpoint);
-            if (rule != null) {
-                addTrigger(api, rule);
-            }
+            context.runOnContext(v -> {
+                EndpointRule rule = endpointResolver.resolve(api, endpoint);
+                if (rule != null) {
+                    addTrigger(api, rule);
+                }
+            });
             return false;
         }
 
@@ -198,26 +249,33 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
 
         @Override
         public boolean postRemove(Endpoint endpoint) {
-            removeTrigger(api, endpoint);
+            context.runOnContext(v -> removeTrigger(api, endpoint));
             return false;
         }
     }
 
     private class EndpointRuleTrigger {
-        private final long timerId;
+        private final HealthCheckScheduler.ProbeSchedule schedule;
         private final Endpoint endpoint;
+        private final HttpEndpointRuleHandler runner;
 
-        EndpointRuleTrigger(long timerId, Endpoint endpoint) {
-            this.timerId = timerId;
+        EndpointRuleTrigger(HealthCheckScheduler.ProbeSchedule schedule, Endpoint endpoint,
+                            HttpEndpointRuleHandler runner) {
+            this.schedule = schedule;
             this.endpoint = endpoint;
+            this.runner = runner;
         }
 
-        long getTimerId() {
-            return timerId;
+        HealthCheckScheduler.ProbeSchedule getSchedule() {
+            return schedule;
         }
 
         Endpoint getEndpoint() {
             return endpoint;
         }
+
+        HttpEndpointRuleHandler getRunner() {
+            return runner;
+        }
     }
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.cluster;
+
+import io.gravitee.definition.model.Endpoint;
+import io.gravitee.definition.model.endpoint.HttpEndpoint;
+import io.gravitee.gateway.services.healthcheck.schedule.Probe;
+import io.vertx.core.Handler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ClusteredProbeTest {
+
+    private final Map<String, Map<String, Endpoint.Status>> members = new ConcurrentHashMap<>();
+
+    private final List<InMemoryHealthCheckCluster> clusters = new ArrayList<>();
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    private final List<TestProbe> probes = new ArrayList<>();
+
+    private final List<ClusteredProbe> clusteredProbes = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        // The same endpoint, deployed on three gateways
+        for (int i = 0; i < 3; i++) {
+            InMemoryHealthCheckCluster cluster = new InMemoryHealthCheckCluster("gateway" + i, members);
+            Endpoint endpoint = new HttpEndpoint("default", "http://localhost:9099");
+            TestProbe probe = new TestProbe(endpoint);
+
+            clusters.add(cluster);
+            endpoints.add(endpoint);
+            probes.add(probe);
+            clusteredProbes.add(new ClusteredProbe(probe, "api", endpoint, cluster));
+        }
+    }
+
+    @Test
+    public void shouldCheckEndpointOnOneGatewayOnly() {
+        clusteredProbes.forEach(probe -> probe.run(null));
+
+        Assert.assertEquals(1, probes.stream().mapToInt(probe -> probe.runs).sum());
+    }
+
+    @Test
+    public void shouldShareStatusOfOwner() {
+        probes.forEach(probe -> probe.result = Endpoint.Status.DOWN);
+
+        // Runs on the owner first, so that its status is published to the others
+        int owner = owner();
+        clusteredProbes.get(owner).run(null);
+        clusteredProbes.forEach(probe -> probe.run(null));
+
+        endpoints.forEach(endpoint -> Assert.assertEquals(Endpoint.Status.DOWN, endpoint.getStatus()));
+    }
+
+    @Test
+    public void shouldCheckEndpointWhenOwnerLeaves() {
+        int owner = owner();
+        clusters.get(owner).leave();
+
+        for (int i = 0; i < clusteredProbes.size(); i++) {
+            if (i != owner) {
+                clusteredProbes.get(i).run(null);
+            }
+        }
+
+        Assert.assertEquals(0, probes.get(owner).runs);
+        Assert.assertEquals(1, probes.stream().mapToInt(probe -> probe.runs).sum());
+    }
+
+    @Test
+    public void shouldCompleteOnEachGateway() {
+        int[] completed = new int[1];
+
+        clusteredProbes.forEach(probe -> probe.run(result -> completed[0]++));
+
+        Assert.assertEquals(3, completed[0]);
+    }
+
+    private int owner() {
+        String owner = RendezvousHashing.owner(ClusteredProbe.key("api", "default"), members.keySet());
+        return Integer.parseInt(owner.substring("gateway".length()));
+    }
+
+    private static class TestProbe implements Probe {
+
+        private final Endpoint endpoint;
+
+        private Endpoint.Status result = Endpoint.Status.UP;
+
+        private int runs;
+
+        TestProbe(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void run(Handler<Void> completionHandler) {
+            runs++;
+            endpoint.setStatus(result);
+            if (completionHandler != null) {
+                completionHandler.handle(null);
+            }
+        }
+
+        @Override
+        public boolean isHealthy() {
+            return endpoint.getStatus() == Endpoint.Status.UP;
+        }
+    }
+}
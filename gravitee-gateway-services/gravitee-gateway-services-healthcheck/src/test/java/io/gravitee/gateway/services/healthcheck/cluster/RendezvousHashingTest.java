@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.cluster;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class RendezvousHashingTest {
+
+    @Test
+    public void shouldNotHaveOwnerWithoutMember() {
+        Assert.assertNull(RendezvousHashing.owner("api:endpoint", Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldNotDependOnOrderOfMembers() {
+        List<String> members = Arrays.asList("gateway1", "gateway2", "gateway3", "gateway4");
+        List<String> reversed = new ArrayList<>(members);
+        Collections.reverse(reversed);
+
+        for (int i = 0; i < 100; i++) {
+            String key = "api:endpoint" + i;
+            Assert.assertEquals(RendezvousHashing.owner(key, members), RendezvousHashing.owner(key, reversed));
+        }
+    }
+
+    @Test
+    public void shouldOnlyMoveKeysOfLeavingMember() {
+        List<String> members = Arrays.asList("gateway1", "gateway2", "gateway3", "gateway4");
+        List<String> remaining = Arrays.asList("gateway1", "gateway2", "gateway4");
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "api:endpoint" + i;
+            String owner = RendezvousHashing.owner(key, members);
+            if (!"gateway3".equals(owner)) {
+                Assert.assertEquals(owner, RendezvousHashing.owner(key, remaining));
+            }
+        }
+    }
+
+    @Test
+    public void shouldSpreadKeysOverMembers() {
+        List<String> members = Arrays.asList("gateway1", "gateway2", "gateway3", "gateway4");
+        Map<String, Integer> owned = new HashMap<>();
+
+        for (int i = 0; i < 4000; i++) {
+            owned.merge(RendezvousHashing.owner("api:endpoint" + i, members), 1, Integer::sum);
+        }
+
+        Assert.assertEquals(4, owned.size());
+        owned.values().forEach(count -> Assert.assertTrue("Unbalanced: " + owned, count > 800 && count < 1200));
+    }
+}
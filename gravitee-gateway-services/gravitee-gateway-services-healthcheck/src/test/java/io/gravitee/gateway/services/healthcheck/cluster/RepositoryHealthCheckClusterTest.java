@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.model.Endpoint;
+import io.gravitee.gateway.env.GatewayConfiguration;
+import io.gravitee.gateway.env.HeartbeatProperties;
+import io.gravitee.node.api.Node;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RepositoryHealthCheckClusterTest {
+
+    private static final long MEMBER_TIMEOUT = 30000;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private HeartbeatProperties heartbeatProperties;
+
+    @Mock
+    private GatewayConfiguration gatewayConfiguration;
+
+    @Mock
+    private Node node;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private RepositoryHealthCheckCluster cluster = new RepositoryHealthCheckCluster();
+
+    @Before
+    public void setUp() throws Exception {
+        Field memberTimeout = RepositoryHealthCheckCluster.class.getDeclaredField("memberTimeout");
+        memberTimeout.setAccessible(true);
+        memberTimeout.set(cluster, MEMBER_TIMEOUT);
+
+        when(node.id()).thenReturn("local");
+        when(gatewayConfiguration.shardingTags()).thenReturn(Optional.of(Collections.singletonList("internal")));
+        when(gatewayConfiguration.tenant()).thenReturn(Optional.empty());
+    }
+
+    @Test
+    public void shouldBuildMembersFromHeartbeats() {
+        long now = System.currentTimeMillis();
+        heartbeats(
+                heartbeat("local", now, "internal"),
+                heartbeat("gateway1", now, "internal"),
+                heartbeat("gateway2", now - MEMBER_TIMEOUT - 1000, "internal"),
+                heartbeat("gateway3", now, "external"));
+
+        cluster.refresh();
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("local", "gateway1")), new HashSet<>(cluster.members()));
+    }
+
+    @Test
+    public void shouldReadStatusesFromHeartbeats() throws Exception {
+        Event heartbeat = heartbeat("gateway1", System.currentTimeMillis(), "internal");
+        heartbeat.getProperties().put(RepositoryHealthCheckCluster.STATUSES_PROPERTY,
+                objectMapper.writeValueAsString(Collections.singletonMap("api:endpoint", "DOWN")));
+        heartbeats(heartbeat);
+
+        cluster.refresh();
+
+        Assert.assertEquals(Endpoint.Status.DOWN, cluster.status("gateway1", "api:endpoint"));
+        Assert.assertNull(cluster.status("gateway1", "api:other"));
+    }
+
+    @Test
+    public void shouldMoveOwnershipWhenGatewayJoins() {
+        heartbeats();
+        cluster.refresh();
+        Map<String, String> owners = owners();
+        Assert.assertEquals(Collections.singleton("local"), new HashSet<>(owners.values()));
+
+        heartbeats(heartbeat("gateway1", System.currentTimeMillis(), "internal"));
+        cluster.refresh();
+        Map<String, String> newOwners = owners();
+
+        Assert.assertTrue(newOwners.containsValue("local"));
+        Assert.assertTrue(newOwners.containsValue("gateway1"));
+    }
+
+    @Test
+    public void shouldMoveOwnershipWhenGatewayLeaves() {
+        long now = System.currentTimeMillis();
+        heartbeats(heartbeat("gateway1", now, "internal"), heartbeat("gateway2", now, "internal"));
+        cluster.refresh();
+        Map<String, String> owners = owners();
+        Assert.assertTrue(owners.containsValue("gateway2"));
+
+        heartbeats(heartbeat("gateway1", now, "internal"));
+        cluster.refresh();
+        Map<String, String> newOwners = owners();
+
+        Assert.assertFalse(newOwners.containsValue("gateway2"));
+        owners.forEach((key, owner) -> {
+            // Only the endpoints of the leaving gateway are moved
+            if (!"gateway2".equals(owner)) {
+                Assert.assertEquals(owner, newOwners.get(key));
+            }
+        });
+    }
+
+    private Map<String, String> owners() {
+        Collection<String> members = cluster.members();
+        Map<String, String> owners = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            String key = "api:endpoint" + i;
+            owners.put(key, RendezvousHashing.owner(key, members));
+        }
+
+        return owners;
+    }
+
+    private void heartbeats(Event... events) {
+        when(eventRepository.search(any(EventCriteria.class))).thenReturn(Arrays.asList(events));
+    }
+
+    private Event heartbeat(String id, long lastHeartbeatAt, String tag) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("id", id);
+        properties.put("last_heartbeat_at", Long.toString(lastHeartbeatAt));
+
+        Event event = new Event();
+        event.setId(UUID.randomUUID().toString());
+        event.setType(EventType.GATEWAY_STARTED);
+        event.setProperties(properties);
+        event.setPayload("{\"tags\":[\"" + tag + "\"],\"tenant\":null}");
+
+        return event;
+    }
+}
@@ -70,6 +70,28 @@ public class AssertionEvaluationTest {
         Assert.assertTrue(result);
     }
 
+    @Test
+    public void shouldValidate_reusedEvaluation() throws EvaluationException {
+        AssertionEvaluation evaluation = new AssertionEvaluation(Response.DEFAULT_ASSERTION);
+
+        EvaluableHttpResponse response = new EvaluableHttpResponse();
+        response.status = HttpStatusCode.OK_200;
+        evaluation.setVariable("response", response);
+        Assert.assertTrue(evaluation.validate());
+
+        response = new EvaluableHttpResponse();
+        response.status = HttpStatusCode.INTERNAL_SERVER_ERROR_500;
+        evaluation.setVariable("response", response);
+        Assert.assertFalse(evaluation.validate());
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void shouldNotValidate_invalidAssertion() throws EvaluationException {
+        AssertionEvaluation evaluation = new AssertionEvaluation("#response.status ==");
+
+        evaluation.validate();
+    }
+
     public static class EvaluableHttpResponse {
         private int status;
         private String content;
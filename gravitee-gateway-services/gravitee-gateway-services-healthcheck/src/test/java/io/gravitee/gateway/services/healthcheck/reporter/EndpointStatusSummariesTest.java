@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.reporter;
+
+import io.gravitee.reporter.api.health.EndpointStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class EndpointStatusSummariesTest {
+
+    @Test
+    public void shouldSummarizeEachEndpoint() {
+        EndpointStatusSummaries summaries = new EndpointStatusSummaries();
+
+        summaries.record(status("api", "endpoint1", true, 10));
+        summaries.record(status("api", "endpoint1", true, 20));
+        summaries.record(status("api", "endpoint2", true, 30));
+
+        List<EndpointStatus> batch = summaries.summarize(System.currentTimeMillis());
+
+        Assert.assertEquals(2, batch.size());
+        batch.forEach(summary -> {
+            Assert.assertTrue(summary.isSuccess());
+            Assert.assertFalse(summary.isTransition());
+            Assert.assertEquals(1, summary.getSteps().size());
+            Assert.assertEquals(EndpointStatusSummaries.SUMMARY_STEP, summary.getSteps().get(0).getName());
+        });
+    }
+
+    @Test
+    public void shouldFailSummaryWithFailedChecks() {
+        EndpointStatusSummaries summaries = new EndpointStatusSummaries();
+
+        summaries.record(status("api", "endpoint", true, 10));
+        summaries.record(status("api", "endpoint", false, 5000));
+
+        List<EndpointStatus> batch = summaries.summarize(System.currentTimeMillis());
+
+        Assert.assertEquals(1, batch.size());
+        Assert.assertFalse(batch.get(0).isSuccess());
+        Assert.assertTrue(batch.get(0).getSteps().get(0).getMessage().startsWith("2 checks, 1 failed"));
+    }
+
+    @Test
+    public void shouldForgetEndpointNotCheckedDuringWindow() {
+        EndpointStatusSummaries summaries = new EndpointStatusSummaries();
+
+        summaries.record(status("api", "endpoint", true, 10));
+        Assert.assertEquals(1, summaries.summarize(System.currentTimeMillis()).size());
+
+        Assert.assertTrue(summaries.summarize(System.currentTimeMillis()).isEmpty());
+    }
+
+    @Test
+    public void shouldSummarizeOnlyLatenciesOfWindow() {
+        EndpointStatusSummaries summaries = new EndpointStatusSummaries();
+
+        for (int i = 0; i < 10; i++) {
+            summaries.record(status("api", "endpoint", true, 1000));
+        }
+        Assert.assertTrue(summaries.summarize(System.currentTimeMillis()).get(0).getResponseTime() >= 1000);
+
+        for (int i = 0; i < 5; i++) {
+            summaries.record(status("api", "endpoint", true, 10));
+        }
+        EndpointStatus summary = summaries.summarize(System.currentTimeMillis()).get(0);
+
+        Assert.assertEquals(10, summary.getResponseTime());
+        Assert.assertTrue(summary.getSteps().get(0).getMessage().endsWith("p99=10ms"));
+    }
+
+    @Test
+    public void shouldReportOnlyFailuresAndTransitions() {
+        EndpointStatus success = status("api", "endpoint", true, 10);
+        EndpointStatus failure = status("api", "endpoint", false, 10);
+        EndpointStatus transition = status("api", "endpoint", true, 10);
+        transition.setTransition(true);
+
+        Assert.assertTrue(ReportingMode.ALL.shouldReport(success));
+
+        Assert.assertFalse(ReportingMode.FAILURES.shouldReport(success));
+        Assert.assertTrue(ReportingMode.FAILURES.shouldReport(failure));
+        Assert.assertTrue(ReportingMode.FAILURES.shouldReport(transition));
+
+        Assert.assertFalse(ReportingMode.TRANSITIONS.shouldReport(failure));
+        Assert.assertTrue(ReportingMode.TRANSITIONS.shouldReport(transition));
+    }
+
+    private EndpointStatus status(String api, String endpoint, boolean success, long responseTime) {
+        EndpointStatus.StepBuilder stepBuilder = EndpointStatus.forStep("default");
+        if (success) {
+            stepBuilder.success();
+        } else {
+            stepBuilder.fail("Assertion not validated");
+        }
+        stepBuilder.responseTime(responseTime);
+
+        EndpointStatus status = EndpointStatus
+                .forEndpoint(api, endpoint)
+                .on(System.currentTimeMillis())
+                .step(stepBuilder.build())
+                .build();
+        status.setResponseTime(responseTime);
+
+        return status;
+    }
+}
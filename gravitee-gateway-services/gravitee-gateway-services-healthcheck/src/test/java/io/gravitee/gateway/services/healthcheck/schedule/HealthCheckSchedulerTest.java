@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.schedule;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HealthCheckSchedulerTest {
+
+    @Mock
+    private Vertx vertx;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Always in the middle: the first run is at half of the interval, and no jitter is added to the next ones.
+     */
+    private final Random random = new Random() {
+        @Override
+        public double nextDouble() {
+            return 0.5;
+        }
+    };
+
+    @Test
+    public void shouldSpreadFirstRun() {
+        HealthCheckScheduler scheduler = scheduler(10, 0);
+        TestProbe probe = new TestProbe(true, true);
+
+        scheduler.schedule(probe, 1000);
+
+        advance(scheduler, 400);
+        Assert.assertEquals(0, probe.runs);
+
+        advance(scheduler, 500);
+        Assert.assertEquals(1, probe.runs);
+
+        advance(scheduler, 1400);
+        Assert.assertEquals(1, probe.runs);
+
+        advance(scheduler, 1500);
+        Assert.assertEquals(2, probe.runs);
+    }
+
+    @Test
+    public void shouldLimitConcurrentProbes() {
+        HealthCheckScheduler scheduler = scheduler(1, 0);
+        TestProbe first = new TestProbe(true, false);
+        TestProbe second = new TestProbe(true, false);
+
+        scheduler.schedule(first, 1000);
+        scheduler.schedule(second, 1000);
+
+        advance(scheduler, 500);
+        Assert.assertEquals(1, first.runs);
+        Assert.assertEquals(0, second.runs);
+        Assert.assertEquals(1, scheduler.running());
+        Assert.assertEquals(1, scheduler.waiting());
+
+        first.complete();
+        Assert.assertEquals(1, second.runs);
+        Assert.assertEquals(1, scheduler.running());
+        Assert.assertEquals(0, scheduler.waiting());
+    }
+
+    @Test
+    public void shouldCheckUnhealthyEndpointMoreOften() {
+        HealthCheckScheduler scheduler = scheduler(10, 1000);
+        TestProbe probe = new TestProbe(false, true);
+
+        scheduler.schedule(probe, 10000);
+
+        advance(scheduler, 5000);
+        Assert.assertEquals(1, probe.runs);
+
+        advance(scheduler, 5900);
+        Assert.assertEquals(1, probe.runs);
+
+        advance(scheduler, 6000);
+        Assert.assertEquals(2, probe.runs);
+    }
+
+    @Test
+    public void shouldNotRunCancelledProbe() {
+        HealthCheckScheduler scheduler = scheduler(10, 0);
+        TestProbe probe = new TestProbe(true, true);
+
+        scheduler.schedule(probe, 1000).cancel();
+
+        advance(scheduler, 2000);
+        Assert.assertEquals(0, probe.runs);
+    }
+
+    @Test
+    public void shouldReleaseSlotOfUncompletedProbe() {
+        HealthCheckScheduler scheduler = scheduler(1, 0);
+        TestProbe stuck = new TestProbe(true, false);
+        TestProbe other = new TestProbe(true, true);
+
+        scheduler.schedule(stuck, 1000);
+        scheduler.schedule(other, 1000);
+
+        advance(scheduler, 500);
+        Assert.assertEquals(1, stuck.runs);
+        Assert.assertEquals(0, other.runs);
+
+        // The stuck probe is given up after its interval
+        advance(scheduler, 1500);
+        Assert.assertEquals(1, other.runs);
+
+        // A late completion does not release another slot
+        stuck.complete();
+        Assert.assertEquals(0, scheduler.running());
+    }
+
+    private HealthCheckScheduler scheduler(int maxConcurrent, long unhealthyInterval) {
+        return new HealthCheckScheduler(vertx, maxConcurrent, 0.1, unhealthyInterval, random, clock::get);
+    }
+
+    private void advance(HealthCheckScheduler scheduler, long now) {
+        clock.set(now);
+        scheduler.tick();
+    }
+
+    private static class TestProbe implements Probe {
+
+        private final boolean healthy;
+
+        private final boolean completeOnRun;
+
+        private Handler<Void> completionHandler;
+
+        private int runs;
+
+        TestProbe(boolean healthy, boolean completeOnRun) {
+            this.healthy = healthy;
+            this.completeOnRun = completeOnRun;
+        }
+
+        @Override
+        public void run(Handler<Void> completionHandler) {
+            runs++;
+            this.completionHandler = completionHandler;
+            if (completeOnRun) {
+                complete();
+            }
+        }
+
+        @Override
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        void complete() {
+            completionHandler.handle(null);
+        }
+    }
+}
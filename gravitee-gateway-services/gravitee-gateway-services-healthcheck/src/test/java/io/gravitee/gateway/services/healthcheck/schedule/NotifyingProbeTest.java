@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.schedule;
+
+import io.gravitee.definition.model.Endpoint;
+import io.gravitee.definition.model.endpoint.HttpEndpoint;
+import io.gravitee.gateway.core.endpoint.EndpointStatusNotifier;
+import io.vertx.core.Handler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class NotifyingProbeTest {
+
+    private final EndpointStatusNotifier notifier = new EndpointStatusNotifier();
+
+    private final List<Endpoint.Status> notifications = new ArrayList<>();
+
+    private final io.gravitee.gateway.api.handler.Handler<Endpoint.Status> listener = notifications::add;
+
+    private Endpoint endpoint;
+
+    private Endpoint.Status result;
+
+    private NotifyingProbe probe;
+
+    @Before
+    public void setUp() {
+        endpoint = new HttpEndpoint("default", "http://localhost:9099");
+        notifier.subscribe(endpoint, listener);
+
+        probe = new NotifyingProbe(new Probe() {
+            @Override
+            public void run(Handler<Void> completionHandler) {
+                endpoint.setStatus(result);
+                completionHandler.handle(null);
+            }
+
+            @Override
+            public boolean isHealthy() {
+                return endpoint.getStatus() == Endpoint.Status.UP;
+            }
+        }, endpoint, notifier);
+    }
+
+    @Test
+    public void shouldNotifyStatusTransitions() {
+        result = Endpoint.Status.DOWN;
+        probe.run(null);
+        result = Endpoint.Status.UP;
+        probe.run(null);
+
+        Assert.assertEquals(2, notifications.size());
+        Assert.assertEquals(Endpoint.Status.DOWN, notifications.get(0));
+        Assert.assertEquals(Endpoint.Status.UP, notifications.get(1));
+    }
+
+    @Test
+    public void shouldNotNotifyUnchangedStatus() {
+        result = Endpoint.Status.UP;
+        probe.run(null);
+        probe.run(null);
+
+        Assert.assertTrue(notifications.isEmpty());
+    }
+
+    @Test
+    public void shouldNotNotifyOtherEndpoint() {
+        Endpoint other = new HttpEndpoint("default", "http://localhost:9099");
+        List<Endpoint.Status> otherNotifications = new ArrayList<>();
+        notifier.subscribe(other, otherNotifications::add);
+
+        result = Endpoint.Status.DOWN;
+        probe.run(null);
+
+        Assert.assertEquals(1, notifications.size());
+        Assert.assertTrue(otherNotifications.isEmpty());
+    }
+
+    @Test
+    public void shouldNotNotifyOnceUnsubscribed() {
+        notifier.unsubscribe(endpoint, listener);
+        result = Endpoint.Status.DOWN;
+        probe.run(null);
+
+        Assert.assertTrue(notifications.isEmpty());
+    }
+
+    @Test
+    public void shouldComplete() {
+        int[] completed = new int[1];
+
+        result = Endpoint.Status.DOWN;
+        probe.run(v -> completed[0]++);
+
+        Assert.assertEquals(1, completed[0]);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.gravitee.gateway.services.hearbeat;
 
+import io.gravitee.gateway.env.HeartbeatProperties;
 import io.gravitee.repository.management.api.EventRepository;
 import io.gravitee.repository.management.model.Event;
 import org.slf4j.Logger;
@@ -22,6 +23,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -34,8 +38,16 @@ public class HeartbeatThread implements Runnable {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private HeartbeatProperties heartbeatProperties;
+
     private Event heartbeatEvent;
 
+    /**
+     * Names of the additional properties published with the previous heartbeat.
+     */
+    private final Set<String> publishedProperties = new HashSet<>();
+
     HeartbeatThread(Event heartbeatEvent) {
         this.heartbeatEvent = heartbeatEvent;
     }
@@ -49,10 +61,29 @@ public class HeartbeatThread implements Runnable {
             heartbeatEvent.setUpdatedAt(new Date());
             heartbeatEvent.getProperties().put("last_heartbeat_at",
                     Long.toString(heartbeatEvent.getUpdatedAt().getTime()));
+            publishProperties();
             LOGGER.debug("Sending an heartbeat event");
             eventRepository.update(heartbeatEvent);
         } catch (Exception ex) {
             LOGGER.error("An unexpected error occurs while monitoring the gateway", ex);
         }
     }
-}
\ No newline at end of file
+
+    private void publishProperties() {
+        Map<String, String> properties = heartbeatProperties.properties();
+
+        // Properties removed since the previous heartbeat
+        publishedProperties.removeIf(name -> {
+            if (properties.containsKey(name)) {
+                return false;
+            }
+            heartbeatEvent.getProperties().remove(name);
+            return true;
+        });
+
+        properties.forEach((name, value) -> {
+            heartbeatEvent.getProperties().put(name, value);
+            publishedProperties.add(name);
+        });
+    }
+}
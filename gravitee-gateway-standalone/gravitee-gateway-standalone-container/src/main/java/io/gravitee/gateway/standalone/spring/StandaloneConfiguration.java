@@ -25,6 +25,7 @@ import io.gravitee.definition.jackson.datatype.GraviteeMapper;
 import io.gravitee.el.ExpressionLanguageInitializer;
 import io.gravitee.gateway.dictionary.spring.DictionaryConfiguration;
 import io.gravitee.gateway.env.GatewayConfiguration;
+import io.gravitee.gateway.env.HeartbeatProperties;
 import io.gravitee.gateway.handlers.api.spring.ApiHandlerConfiguration;
 import io.gravitee.gateway.reactor.spring.ReactorConfiguration;
 import io.gravitee.gateway.report.spring.ReporterConfiguration;
@@ -110,4 +111,9 @@ public class StandaloneConfiguration {
     public static GatewayConfiguration gatewayConfiguration() {
         return new GatewayConfiguration();
     }
+
+    @Bean
+    public HeartbeatProperties heartbeatProperties() {
+        return new HeartbeatProperties();
+    }
 }
\ No newline at end of file
@@ -15,18 +15,29 @@
  */
 package io.gravitee.gateway.standalone.vertx;
 
+import io.gravitee.gateway.http.connector.HttpClientRegistry;
+import io.gravitee.gateway.http.connector.ws.WebSocketFlowControl;
 import io.gravitee.gateway.reactor.Reactor;
+import io.gravitee.gateway.standalone.vertx.eventloop.EventLoopLagProbe;
+import io.gravitee.gateway.standalone.vertx.eventloop.EventLoopMonitor;
 import io.gravitee.gateway.standalone.vertx.ws.VertxWebSocketReactorHandler;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
@@ -57,21 +68,67 @@ public class ReactorVerticle extends AbstractVerticle {
     @Value("${http.websocket.enabled:false}")
     private boolean websocketEnabled;
 
+    @Autowired
+    private EventLoopMonitor eventLoopMonitor;
+
+    @Autowired
+    private HttpClientRegistry httpClientRegistry;
+
+    @Autowired
+    private WebSocketFlowControl webSocketFlowControl;
+
+    @Value("${http.eventLoop.probeInterval:100}")
+    private long eventLoopProbeInterval;
+
+    @Value("${http.shedding.enabled:false}")
+    private boolean sheddingEnabled;
+
+    @Value("${http.shedding.maxEventLoopLag:200}")
+    private long sheddingMaxEventLoopLag;
+
+    @Value("${http.shedding.retryAfter:1}")
+    private int sheddingRetryAfter;
+
+    @Value("${http.shedding.excludedPaths:#{null}}")
+    private String sheddingExcludedPaths;
+
+    private EventLoopLagProbe eventLoopLagProbe;
+
     @Override
     public void start(Future<Void> startFuture) throws Exception {
         VertxReactorHandler handler;
 
         if (websocketEnabled) {
-            handler = new VertxWebSocketReactorHandler(reactor);
+            handler = new VertxWebSocketReactorHandler(reactor, webSocketFlowControl);
         } else {
             handler = new VertxReactorHandler(reactor);
         }
 
         if (requestTimeout > 0) {
-            handler = new VertxReactorTimeoutHandler(reactor, handler, vertx, requestTimeout);
+            handler = new VertxReactorTimeoutHandler(reactor, handler, requestTimeout);
         }
 
-        httpServer.requestHandler(handler);
+        Handler<HttpServerRequest> requestHandler = handler;
+
+        if (eventLoopProbeInterval > 0) {
+            // The verticle is started from its own event-loop, so the probe monitors the loop serving its requests
+            eventLoopLagProbe = new EventLoopLagProbe(eventLoopProbeInterval);
+            eventLoopLagProbe.start(vertx);
+            eventLoopMonitor.register(eventLoopLagProbe);
+
+            if (sheddingEnabled) {
+                requestHandler = new VertxReactorSheddingHandler(handler, eventLoopLagProbe,
+                        sheddingMaxEventLoopLag, sheddingRetryAfter, excludedPaths());
+            }
+        } else if (sheddingEnabled) {
+            logger.warn("Load shedding is disabled: it relies on the event-loop probe, which is disabled "
+                    + "(http.eventLoop.probeInterval: {})", eventLoopProbeInterval);
+        }
+
+        httpServer.requestHandler(requestHandler);
+
+        // Requests are served from the context of the verticle: upstream connections can be pre-warmed on it
+        httpClientRegistry.registerContext(context);
 
         httpServer.listen(res -> {
             if (res.succeeded()) {
@@ -88,6 +145,25 @@ public class ReactorVerticle extends AbstractVerticle {
     @Override
     public void stop() throws Exception {
         logger.info("Stopping HTTP Server...");
+
+        httpClientRegistry.unregisterContext(context);
+
+        if (eventLoopLagProbe != null) {
+            eventLoopLagProbe.stop(vertx);
+            eventLoopMonitor.unregister(eventLoopLagProbe);
+        }
+
         httpServer.close(voidAsyncResult -> logger.info("HTTP Server has been correctly stopped"));
     }
+
+    private List<String> excludedPaths() {
+        if (sheddingExcludedPaths == null || sheddingExcludedPaths.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return Arrays.stream(sheddingExcludedPaths.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toList());
+    }
 }
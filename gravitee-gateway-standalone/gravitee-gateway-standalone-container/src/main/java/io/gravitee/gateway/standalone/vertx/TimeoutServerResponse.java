@@ -20,7 +20,7 @@ import io.gravitee.gateway.api.Response;
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.stream.WriteStream;
-import io.vertx.core.Vertx;
+import io.gravitee.gateway.core.timer.HashedWheelTimer;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -28,16 +28,13 @@ import io.vertx.core.Vertx;
  */
 public class TimeoutServerResponse implements Response {
 
-    private final Vertx vertx;
-
     private final Response response;
 
-    private final long timerId;
+    private final HashedWheelTimer.Timeout timeout;
 
-    public TimeoutServerResponse(final Vertx vertx, final Response response, final long timerId) {
-        this.vertx = vertx;
+    public TimeoutServerResponse(final Response response, final HashedWheelTimer.Timeout timeout) {
         this.response = response;
-        this.timerId = timerId;
+        this.timeout = timeout;
     }
 
     @Override
@@ -90,7 +87,7 @@ public class TimeoutServerResponse implements Response {
     }
 
     private void release() {
-        vertx.cancelTimer(timerId);
+        timeout.cancel();
     }
 
     @Override
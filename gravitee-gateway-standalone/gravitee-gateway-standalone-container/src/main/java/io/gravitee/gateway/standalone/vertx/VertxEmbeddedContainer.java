@@ -47,7 +47,8 @@ public class VertxEmbeddedContainer extends AbstractLifecycleComponent<VertxEmbe
     @Override
     protected void doStart() throws Exception {
         instances = (instances < 1) ? VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE : instances;
-        logger.info("Starting Vertx container and deploy Gateway Verticles [{} instance(s)]", instances);
+        logger.info("Starting Vertx container and deploy Gateway Verticles [{} instance(s), {} transport]", instances,
+                vertx.isNativeTransportEnabled() ? "native" : "NIO");
 
         DeploymentOptions options = new DeploymentOptions().setInstances(instances);
         vertx.deployVerticle(SpringVerticleFactory.VERTICLE_PREFIX + ':' + ReactorVerticle.class.getName(), options, event -> {
@@ -15,6 +15,7 @@
  */
 package io.gravitee.gateway.standalone.vertx;
 
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpServerOptions;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,6 +63,18 @@ public class VertxHttpServerConfiguration implements InitializingBean {
     @Value("${http.ssl.truststore.password:#{null}}")
     private String trustStorePassword;
 
+    @Value("${http.ssl.openssl:false}")
+    private boolean openssl;
+
+    @Value("${http.ssl.sessionCacheSize:-1}")
+    private int sessionCacheSize;
+
+    @Value("${http.ssl.sessionTimeout:-1}")
+    private int sessionTimeout;
+
+    @Value("${http.ssl.sessionTicketKeys:#{null}}")
+    private String[] sessionTicketKeys;
+
     @Value("${http.compressionSupported:" + HttpServerOptions.DEFAULT_COMPRESSION_SUPPORTED + "}")
     private boolean compressionSupported;
 
@@ -80,6 +93,60 @@ public class VertxHttpServerConfiguration implements InitializingBean {
     @Value("${http.websocket.enabled:false}")
     private boolean websocketEnabled;
 
+    @Value("${http.websocket.perMessageDeflate.enabled:" + HttpServerOptions.DEFAULT_PER_MESSAGE_WEBSOCKET_COMPRESSION_SUPPORTED + "}")
+    private boolean websocketPerMessageDeflate;
+
+    @Value("${http.websocket.perMessageDeflate.compressionLevel:" + HttpServerOptions.DEFAULT_WEBSOCKET_COMPRESSION_LEVEL + "}")
+    private int websocketCompressionLevel;
+
+    @Value("${http.websocket.perMessageDeflate.allowServerNoContext:" + HttpServerOptions.DEFAULT_WEBSOCKET_ALLOW_SERVER_NO_CONTEXT + "}")
+    private boolean websocketAllowServerNoContext;
+
+    @Value("${http.websocket.perMessageDeflate.preferredClientNoContext:" + HttpServerOptions.DEFAULT_WEBSOCKET_PREFERRED_CLIENT_NO_CONTEXT + "}")
+    private boolean websocketPreferredClientNoContext;
+
+    @Value("${http.http2.clearText:true}")
+    private boolean http2ClearText;
+
+    @Value("${http.http2.maxConcurrentStreams:" + HttpServerOptions.DEFAULT_INITIAL_SETTINGS_MAX_CONCURRENT_STREAMS + "}")
+    private long http2MaxConcurrentStreams;
+
+    @Value("${http.http2.initialWindowSize:" + Http2Settings.DEFAULT_INITIAL_WINDOW_SIZE + "}")
+    private int http2InitialWindowSize;
+
+    @Value("${http.http2.connectionWindowSize:" + HttpServerOptions.DEFAULT_HTTP2_CONNECTION_WINDOW_SIZE + "}")
+    private int http2ConnectionWindowSize;
+
+    @Value("${http.http2.headerTableSize:" + Http2Settings.DEFAULT_HEADER_TABLE_SIZE + "}")
+    private long http2HeaderTableSize;
+
+    @Value("${http.http2.maxFrameSize:" + Http2Settings.DEFAULT_MAX_FRAME_SIZE + "}")
+    private int http2MaxFrameSize;
+
+    @Value("${http.http2.maxHeaderListSize:" + Http2Settings.DEFAULT_MAX_HEADER_LIST_SIZE + "}")
+    private long http2MaxHeaderListSize;
+
+    @Value("${http.reusePort:false}")
+    private boolean reusePort;
+
+    @Value("${http.tcpFastOpen:false}")
+    private boolean tcpFastOpen;
+
+    @Value("${http.tcpQuickAck:false}")
+    private boolean tcpQuickAck;
+
+    @Value("${http.tcpCork:false}")
+    private boolean tcpCork;
+
+    @Value("${http.acceptBacklog:" + HttpServerOptions.DEFAULT_ACCEPT_BACKLOG + "}")
+    private int acceptBacklog;
+
+    @Value("${http.sendBufferSize:" + HttpServerOptions.DEFAULT_SEND_BUFFER_SIZE + "}")
+    private int sendBufferSize;
+
+    @Value("${http.receiveBufferSize:" + HttpServerOptions.DEFAULT_RECEIVE_BUFFER_SIZE + "}")
+    private int receiveBufferSize;
+
     public int getPort() {
         return port;
     }
@@ -200,6 +267,38 @@ public class VertxHttpServerConfiguration implements InitializingBean {
         this.websocketEnabled = websocketEnabled;
     }
 
+    public boolean isWebsocketPerMessageDeflate() {
+        return websocketPerMessageDeflate;
+    }
+
+    public void setWebsocketPerMessageDeflate(boolean websocketPerMessageDeflate) {
+        this.websocketPerMessageDeflate = websocketPerMessageDeflate;
+    }
+
+    public int getWebsocketCompressionLevel() {
+        return websocketCompressionLevel;
+    }
+
+    public void setWebsocketCompressionLevel(int websocketCompressionLevel) {
+        this.websocketCompressionLevel = websocketCompressionLevel;
+    }
+
+    public boolean isWebsocketAllowServerNoContext() {
+        return websocketAllowServerNoContext;
+    }
+
+    public void setWebsocketAllowServerNoContext(boolean websocketAllowServerNoContext) {
+        this.websocketAllowServerNoContext = websocketAllowServerNoContext;
+    }
+
+    public boolean isWebsocketPreferredClientNoContext() {
+        return websocketPreferredClientNoContext;
+    }
+
+    public void setWebsocketPreferredClientNoContext(boolean websocketPreferredClientNoContext) {
+        this.websocketPreferredClientNoContext = websocketPreferredClientNoContext;
+    }
+
     public String getKeyStoreType() {
         return keyStoreType;
     }
@@ -216,6 +315,150 @@ public class VertxHttpServerConfiguration implements InitializingBean {
         this.trustStoreType = trustStoreType;
     }
 
+    public boolean isOpenssl() {
+        return openssl;
+    }
+
+    public void setOpenssl(boolean openssl) {
+        this.openssl = openssl;
+    }
+
+    public int getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    public void setSessionCacheSize(int sessionCacheSize) {
+        this.sessionCacheSize = sessionCacheSize;
+    }
+
+    public int getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    public void setSessionTimeout(int sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    public String[] getSessionTicketKeys() {
+        return sessionTicketKeys;
+    }
+
+    public void setSessionTicketKeys(String[] sessionTicketKeys) {
+        this.sessionTicketKeys = sessionTicketKeys;
+    }
+
+    public boolean isHttp2ClearText() {
+        return http2ClearText;
+    }
+
+    public void setHttp2ClearText(boolean http2ClearText) {
+        this.http2ClearText = http2ClearText;
+    }
+
+    public long getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    public void setHttp2MaxConcurrentStreams(long http2MaxConcurrentStreams) {
+        this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+    }
+
+    public int getHttp2InitialWindowSize() {
+        return http2InitialWindowSize;
+    }
+
+    public void setHttp2InitialWindowSize(int http2InitialWindowSize) {
+        this.http2InitialWindowSize = http2InitialWindowSize;
+    }
+
+    public int getHttp2ConnectionWindowSize() {
+        return http2ConnectionWindowSize;
+    }
+
+    public void setHttp2ConnectionWindowSize(int http2ConnectionWindowSize) {
+        this.http2ConnectionWindowSize = http2ConnectionWindowSize;
+    }
+
+    public long getHttp2HeaderTableSize() {
+        return http2HeaderTableSize;
+    }
+
+    public void setHttp2HeaderTableSize(long http2HeaderTableSize) {
+        this.http2HeaderTableSize = http2HeaderTableSize;
+    }
+
+    public int getHttp2MaxFrameSize() {
+        return http2MaxFrameSize;
+    }
+
+    public void setHttp2MaxFrameSize(int http2MaxFrameSize) {
+        this.http2MaxFrameSize = http2MaxFrameSize;
+    }
+
+    public long getHttp2MaxHeaderListSize() {
+        return http2MaxHeaderListSize;
+    }
+
+    public void setHttp2MaxHeaderListSize(long http2MaxHeaderListSize) {
+        this.http2MaxHeaderListSize = http2MaxHeaderListSize;
+    }
+
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    public void setReusePort(boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
+    public boolean isTcpFastOpen() {
+        return tcpFastOpen;
+    }
+
+    public void setTcpFastOpen(boolean tcpFastOpen) {
+        this.tcpFastOpen = tcpFastOpen;
+    }
+
+    public boolean isTcpQuickAck() {
+        return tcpQuickAck;
+    }
+
+    public void setTcpQuickAck(boolean tcpQuickAck) {
+        this.tcpQuickAck = tcpQuickAck;
+    }
+
+    public boolean isTcpCork() {
+        return tcpCork;
+    }
+
+    public void setTcpCork(boolean tcpCork) {
+        this.tcpCork = tcpCork;
+    }
+
+    public int getAcceptBacklog() {
+        return acceptBacklog;
+    }
+
+    public void setAcceptBacklog(int acceptBacklog) {
+        this.acceptBacklog = acceptBacklog;
+    }
+
+    public int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    public void setSendBufferSize(int sendBufferSize) {
+        this.sendBufferSize = sendBufferSize;
+    }
+
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    public void setReceiveBufferSize(int receiveBufferSize) {
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
         String sClientAuthMode = environment.getProperty("http.ssl.clientAuth", ClientAuthMode.NONE.name());
@@ -15,17 +15,20 @@
  */
 package io.gravitee.gateway.standalone.vertx;
 
+import io.gravitee.gateway.core.ssl.SslSessionConfigurer;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.ClientAuth;
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
-import io.vertx.core.net.JksOptions;
-import io.vertx.core.net.PemKeyCertOptions;
-import io.vertx.core.net.PemTrustOptions;
-import io.vertx.core.net.PfxOptions;
+import io.vertx.core.net.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
@@ -36,6 +39,8 @@ public class VertxHttpServerFactory implements FactoryBean<HttpServer> {
     private static final String CERTIFICATE_FORMAT_PEM = "PEM";
     private static final String CERTIFICATE_FORMAT_PKCS12 = "PKCS12";
 
+    private final Logger logger = LoggerFactory.getLogger(VertxHttpServerFactory.class);
+
     @Autowired
     private Vertx vertx;
 
@@ -57,6 +62,14 @@ public class VertxHttpServerFactory implements FactoryBean<HttpServer> {
             options.setSsl(httpServerConfiguration.isSecured());
             options.setUseAlpn(httpServerConfiguration.isAlpn());
 
+            if (httpServerConfiguration.isOpenssl()) {
+                if (OpenSSLEngineOptions.isAvailable()) {
+                    options.setOpenSslEngineOptions(new OpenSSLEngineOptions().setSessionCacheEnabled(true));
+                } else {
+                    logger.warn("OpenSSL engine is not available (netty-tcnative is missing), falling back to JDK SSL engine");
+                }
+            }
+
             if (httpServerConfiguration.isClientAuth() == VertxHttpServerConfiguration.ClientAuthMode.NONE) {
                 options.setClientAuth(ClientAuth.NONE);
             } else if (httpServerConfiguration.isClientAuth() == VertxHttpServerConfiguration.ClientAuthMode.REQUEST) {
@@ -107,10 +120,60 @@ public class VertxHttpServerFactory implements FactoryBean<HttpServer> {
         options.setMaxChunkSize(httpServerConfiguration.getMaxChunkSize());
         options.setMaxHeaderSize(httpServerConfiguration.getMaxHeaderSize());
 
+        // HTTP/2 settings, negotiated with ALPN over TLS, or in clear text (h2c) with an upgrade or prior knowledge.
+        // The max concurrent streams caps the number of in-flight requests per connection.
+        options.setInitialSettings(new Http2Settings()
+                .setMaxConcurrentStreams(httpServerConfiguration.getHttp2MaxConcurrentStreams())
+                .setInitialWindowSize(httpServerConfiguration.getHttp2InitialWindowSize())
+                .setHeaderTableSize(httpServerConfiguration.getHttp2HeaderTableSize())
+                .setMaxFrameSize(httpServerConfiguration.getHttp2MaxFrameSize())
+                .setMaxHeaderListSize(httpServerConfiguration.getHttp2MaxHeaderListSize()));
+        options.setHttp2ConnectionWindowSize(httpServerConfiguration.getHttp2ConnectionWindowSize());
+
+        // Socket options, SO_REUSEPORT and TCP_* options are only applied with the native transport
+        options.setReusePort(httpServerConfiguration.isReusePort());
+        options.setTcpFastOpen(httpServerConfiguration.isTcpFastOpen());
+        options.setTcpQuickAck(httpServerConfiguration.isTcpQuickAck());
+        options.setTcpCork(httpServerConfiguration.isTcpCork());
+        options.setAcceptBacklog(httpServerConfiguration.getAcceptBacklog());
+
+        if (httpServerConfiguration.getSendBufferSize() > 0) {
+            options.setSendBufferSize(httpServerConfiguration.getSendBufferSize());
+        }
+        if (httpServerConfiguration.getReceiveBufferSize() > 0) {
+            options.setReceiveBufferSize(httpServerConfiguration.getReceiveBufferSize());
+        }
+
         // Configure websocket
         System.setProperty("vertx.disableWebsockets", Boolean.toString(!httpServerConfiguration.isWebsocketEnabled()));
 
-        return vertx.createHttpServer(options);
+        // permessage-deflate is negotiated with the client when the connection is upgraded
+        options.setPerMessageWebsocketCompressionSupported(httpServerConfiguration.isWebsocketPerMessageDeflate());
+        if (httpServerConfiguration.isWebsocketPerMessageDeflate()) {
+            options
+                    .setWebsocketCompressionLevel(httpServerConfiguration.getWebsocketCompressionLevel())
+                    .setWebsocketAllowServerNoContext(httpServerConfiguration.isWebsocketAllowServerNoContext())
+                    .setWebsocketPreferredClientNoContext(httpServerConfiguration.isWebsocketPreferredClientNoContext());
+        }
+
+        // Configure HTTP/2 in clear text (both upgrade and prior knowledge)
+        System.setProperty("vertx.disableH2c", Boolean.toString(!httpServerConfiguration.isHttp2ClearText()));
+
+        HttpServer httpServer = vertx.createHttpServer(options);
+
+        if (httpServerConfiguration.isSecured()) {
+            SslSessionConfigurer sslSessionConfigurer = new SslSessionConfigurer(
+                    httpServerConfiguration.getSessionCacheSize(),
+                    httpServerConfiguration.getSessionTimeout(),
+                    (httpServerConfiguration.getSessionTicketKeys() != null) ?
+                            Arrays.asList(httpServerConfiguration.getSessionTicketKeys()) : null);
+
+            if (sslSessionConfigurer.isEnabled()) {
+                httpServer.connectionHandler(sslSessionConfigurer::configure);
+            }
+        }
+
+        return httpServer;
     }
 
     @Override
@@ -15,10 +15,15 @@
  */
 package io.gravitee.gateway.standalone.vertx;
 
+import io.gravitee.gateway.standalone.vertx.eventloop.EventLoopEndpointInitializer;
+import io.gravitee.gateway.standalone.vertx.eventloop.EventLoopManagementEndpoint;
+import io.gravitee.gateway.standalone.vertx.eventloop.EventLoopMonitor;
+import io.gravitee.gateway.standalone.vertx.transport.NativeTransportBeanFactoryPostProcessor;
+import io.gravitee.gateway.standalone.vertx.transport.NativeTransportCondition;
+import io.gravitee.gateway.standalone.vertx.ws.WebSocketEndpointInitializer;
+import io.gravitee.gateway.standalone.vertx.ws.WebSocketManagementEndpoint;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.*;
 
 /**
  * @author David BRASSELY (david at graviteesource.com)
@@ -27,6 +32,15 @@ import org.springframework.context.annotation.Scope;
 @Configuration
 public class VertxReactorConfiguration {
 
+    /**
+     * Replaces the default Vert.x instance of the node when the native transport is enabled.
+     */
+    @Bean
+    @Conditional(NativeTransportCondition.class)
+    public static NativeTransportBeanFactoryPostProcessor nativeTransportBeanFactoryPostProcessor() {
+        return new NativeTransportBeanFactoryPostProcessor();
+    }
+
     @Bean
     public VertxHttpServerConfiguration httpServerConfiguration() {
         return new VertxHttpServerConfiguration();
@@ -48,4 +62,29 @@ public class VertxReactorConfiguration {
     public VertxEmbeddedContainer container() {
         return new VertxEmbeddedContainer();
     }
+
+    @Bean
+    public EventLoopMonitor eventLoopMonitor() {
+        return new EventLoopMonitor();
+    }
+
+    @Bean
+    public EventLoopManagementEndpoint eventLoopManagementEndpoint() {
+        return new EventLoopManagementEndpoint();
+    }
+
+    @Bean
+    public EventLoopEndpointInitializer eventLoopEndpointInitializer() {
+        return new EventLoopEndpointInitializer();
+    }
+
+    @Bean
+    public WebSocketManagementEndpoint webSocketManagementEndpoint() {
+        return new WebSocketManagementEndpoint();
+    }
+
+    @Bean
+    public WebSocketEndpointInitializer webSocketEndpointInitializer() {
+        return new WebSocketEndpointInitializer();
+    }
 }
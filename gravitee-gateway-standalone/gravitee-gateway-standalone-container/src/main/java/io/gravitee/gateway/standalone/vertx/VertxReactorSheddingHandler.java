@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpHeadersValues;
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.gateway.standalone.vertx.eventloop.EventLoopLagProbe;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+
+import java.util.List;
+
+/**
+ * Rejects incoming requests, before any routing, while the event-loop serving them lags behind.
+ *
+ * @author GraviteeSource Team
+ */
+public class VertxReactorSheddingHandler implements Handler<HttpServerRequest> {
+
+    private static final String RETRY_AFTER = "Retry-After";
+
+    private final Handler<HttpServerRequest> handler;
+
+    private final EventLoopLagProbe probe;
+
+    private final long maxLag;
+
+    private final String retryAfter;
+
+    private final List<String> excludedPaths;
+
+    VertxReactorSheddingHandler(final Handler<HttpServerRequest> handler, final EventLoopLagProbe probe,
+                                final long maxLag, final int retryAfter, final List<String> excludedPaths) {
+        this.handler = handler;
+        this.probe = probe;
+        this.maxLag = maxLag;
+        this.retryAfter = Integer.toString(retryAfter);
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    public void handle(HttpServerRequest httpServerRequest) {
+        if (probe.lag() > maxLag && !isExcluded(httpServerRequest.path())) {
+            probe.incrementShedRequests();
+
+            httpServerRequest.response()
+                    .setStatusCode(HttpStatusCode.SERVICE_UNAVAILABLE_503)
+                    .putHeader(RETRY_AFTER, retryAfter)
+                    .putHeader(HttpHeaders.CONNECTION, HttpHeadersValues.CONNECTION_CLOSE)
+                    .end();
+        } else {
+            handler.handle(httpServerRequest);
+        }
+    }
+
+    private boolean isExcluded(String path) {
+        for (String excludedPath : excludedPaths) {
+            if (path.startsWith(excludedPath)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
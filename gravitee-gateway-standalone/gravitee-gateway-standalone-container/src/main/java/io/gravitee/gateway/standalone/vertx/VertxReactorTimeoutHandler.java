@@ -18,8 +18,9 @@ package io.gravitee.gateway.standalone.vertx;
 import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.Response;
 import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.core.timer.HashedWheelTimer;
+import io.gravitee.gateway.core.timer.TimeoutScheduler;
 import io.gravitee.gateway.reactor.Reactor;
-import io.vertx.core.Vertx;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -29,28 +30,26 @@ public class VertxReactorTimeoutHandler extends VertxReactorHandler {
 
     private final VertxReactorHandler handler;
 
-    private final Vertx vertx;
-
     private final long timeout;
 
-    VertxReactorTimeoutHandler(final Reactor reactor, final VertxReactorHandler handler, final Vertx vertx, final long timeout) {
+    VertxReactorTimeoutHandler(final Reactor reactor, final VertxReactorHandler handler, final long timeout) {
         super(reactor);
         this.handler = handler;
-        this.vertx = vertx;
         this.timeout = timeout;
     }
 
     protected void route(final Request request, final Response response) {
         if (! request.isWebSocket()) {
-            long timeoutId = vertx.setTimer(timeout, event -> {
+            // Requests are routed from the event-loop: the timeout is scheduled on its own timing wheel
+            HashedWheelTimer.Timeout requestTimeout = TimeoutScheduler.current().schedule(timeout, () -> {
                 if (!response.ended()) {
                     Handler<Long> handler = request.timeoutHandler();
-                    handler.handle(event);
+                    handler.handle(timeout);
                 }
             });
 
             // Release timeout when response ends
-            handler.route(request, new TimeoutServerResponse(vertx, response, timeoutId));
+            handler.route(request, new TimeoutServerResponse(response, requestTimeout));
         } else {
             handler.route(request, response);
         }
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx.eventloop;
+
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures the lag of a single event-loop: a periodic timer is scheduled on the event-loop and the delay between the
+ * expected and the actual firing time is the time spent by the event-loop on other tasks.
+ *
+ * The probe must be started from the event-loop context to monitor.
+ *
+ * @author GraviteeSource Team
+ */
+public class EventLoopLagProbe {
+
+    private final long interval;
+
+    private final long intervalNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final LongAdder shedRequests = new LongAdder();
+
+    private String name;
+
+    private long timerId = -1;
+
+    private volatile long lastTick;
+
+    private volatile long lag;
+
+    private volatile long averageLag;
+
+    public EventLoopLagProbe(long interval) {
+        this(interval, System::nanoTime);
+    }
+
+    EventLoopLagProbe(long interval, LongSupplier nanoClock) {
+        this.interval = interval;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        this.nanoClock = nanoClock;
+    }
+
+    public void start(Vertx vertx) {
+        name = Thread.currentThread().getName();
+        lastTick = nanoClock.getAsLong();
+        timerId = vertx.setPeriodic(interval, id -> tick());
+    }
+
+    public void stop(Vertx vertx) {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+    }
+
+    void tick() {
+        long now = nanoClock.getAsLong();
+        long current = Math.max(0, now - lastTick - intervalNanos);
+
+        lag = current;
+        averageLag = (averageLag * 7 + current) / 8;
+        lastTick = now;
+    }
+
+    /**
+     * @return the current lag of the event-loop, in milliseconds. If the probe did not fire yet, the time elapsed since
+     * it should have fired is taken into account so that a blocked event-loop is detected immediately.
+     */
+    public long lag() {
+        long pending = nanoClock.getAsLong() - lastTick - intervalNanos;
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(lag, pending));
+    }
+
+    /**
+     * @return the exponential moving average of the lag, in milliseconds.
+     */
+    public long averageLag() {
+        return TimeUnit.NANOSECONDS.toMillis(averageLag);
+    }
+
+    public void incrementShedRequests() {
+        shedRequests.increment();
+    }
+
+    public long shedRequests() {
+        return shedRequests.sum();
+    }
+
+    public String name() {
+        return name;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx.eventloop;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.common.http.MediaType;
+import io.gravitee.node.management.http.endpoint.ManagementEndpoint;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Exposes the lag metrics of the gateway event-loops.
+ *
+ * @author GraviteeSource Team
+ */
+public class EventLoopManagementEndpoint implements Handler<RoutingContext>, ManagementEndpoint {
+
+    @Autowired
+    private EventLoopMonitor eventLoopMonitor;
+
+    @Override
+    public HttpMethod method() {
+        return HttpMethod.GET;
+    }
+
+    @Override
+    public String path() {
+        return "/eventloops";
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        JsonArray eventLoops = new JsonArray();
+
+        eventLoopMonitor.probes().forEach(probe -> eventLoops.add(new JsonObject()
+                .put("name", probe.name())
+                .put("lag", probe.lag())
+                .put("averageLag", probe.averageLag())
+                .put("shedRequests", probe.shedRequests())));
+
+        HttpServerResponse response = ctx.response();
+        response.setStatusCode(HttpStatusCode.OK_200);
+        response.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        response.end(eventLoops.encodePrettily());
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx.eventloop;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps track of the lag probes of all the event-loops serving the gateway HTTP server.
+ *
+ * @author GraviteeSource Team
+ */
+public class EventLoopMonitor {
+
+    private final List<EventLoopLagProbe> probes = new CopyOnWriteArrayList<>();
+
+    public void register(EventLoopLagProbe probe) {
+        probes.add(probe);
+    }
+
+    public void unregister(EventLoopLagProbe probe) {
+        probes.remove(probe);
+    }
+
+    public Collection<EventLoopLagProbe> probes() {
+        return Collections.unmodifiableList(probes);
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx.transport;
+
+import io.vertx.core.Vertx;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Replaces the definition of the Vert.x instance provided by the node with a {@link NativeTransportVertxFactory}, so
+ * that the gateway keeps a single Vert.x instance when the native transport is enabled.
+ *
+ * @author GraviteeSource Team
+ */
+public class NativeTransportBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+
+        // Factories are not instantiated to resolve the type of the instance they create
+        for (String beanName : beanFactory.getBeanNamesForType(Vertx.class, true, false)) {
+            registry.removeBeanDefinition(beanName);
+            registry.registerBeanDefinition(beanName, new RootBeanDefinition(NativeTransportVertxFactory.class));
+        }
+    }
+}
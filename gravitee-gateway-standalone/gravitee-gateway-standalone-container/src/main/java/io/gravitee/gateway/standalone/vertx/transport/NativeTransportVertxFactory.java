@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx.transport;
+
+import io.gravitee.node.vertx.verticle.factory.SpringVerticleFactory;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+
+/**
+ * Creates the Vert.x instance of the gateway with the native transport (epoll on Linux, kqueue on BSD / macOS)
+ * preferred over NIO. The native transport gives access to socket options unavailable with NIO (SO_REUSEPORT,
+ * TCP_FASTOPEN, TCP_QUICKACK, TCP_CORK) and to Unix domain sockets.
+ *
+ * The factory takes the place of the Vert.x factory of the node (see {@link NativeTransportBeanFactoryPostProcessor}),
+ * so that a single Vert.x instance is created. The node builds its <code>VertxOptions</code> internally, with no way
+ * to reuse them: the instance is created from the default options, with only the native transport preferred. The
+ * options the node would have set are lost, that is the Vert.x metrics configured by <code>services.metrics</code>
+ * (Micrometer registry, Prometheus endpoint and labels): they are not collected when the native transport is enabled.
+ *
+ * When the native libraries (<code>netty-transport-native-epoll</code> / <code>netty-transport-native-kqueue</code>)
+ * are not available for the platform, Vert.x falls back to NIO and the native-only options are ignored.
+ *
+ * @author GraviteeSource Team
+ */
+public class NativeTransportVertxFactory implements FactoryBean<Vertx> {
+
+    private final Logger logger = LoggerFactory.getLogger(NativeTransportVertxFactory.class);
+
+    @Autowired
+    private SpringVerticleFactory springVerticleFactory;
+
+    @Autowired
+    private Environment environment;
+
+    @Override
+    public Vertx getObject() throws Exception {
+        if (environment.getProperty("services.metrics.enabled", Boolean.class, false)) {
+            logger.warn("Vert.x metrics (services.metrics) are not supported with the native transport "
+                    + "(http.nativeTransport) and are disabled");
+        }
+
+        Vertx vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+
+        if (vertx.isNativeTransportEnabled()) {
+            logger.info("Native transport enabled");
+        } else {
+            logger.warn("Native transport is not available for this platform, falling back to NIO transport");
+        }
+
+        vertx.registerVerticleFactory(springVerticleFactory);
+
+        return vertx;
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return Vertx.class;
+    }
+}
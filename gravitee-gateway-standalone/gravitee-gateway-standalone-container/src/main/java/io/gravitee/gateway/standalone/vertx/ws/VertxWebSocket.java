@@ -17,6 +17,9 @@ package io.gravitee.gateway.standalone.vertx.ws;
 
 import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.ws.WebSocket;
+import io.gravitee.gateway.http.connector.ws.VertxWebSocketFrame;
+import io.gravitee.gateway.http.connector.ws.WebSocketFlowControl;
+import io.gravitee.gateway.http.connector.ws.WebSocketWriter;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.ServerWebSocket;
 
@@ -28,17 +31,21 @@ class VertxWebSocket implements WebSocket {
 
     private ServerWebSocket websocket;
     private final HttpServerRequest httpServerRequest;
+    private final WebSocketFlowControl flowControl;
+    private WebSocketWriter writer;
 
     private boolean closed;
     private boolean upgraded;
 
-    VertxWebSocket(final HttpServerRequest httpServerRequest) {
+    VertxWebSocket(final HttpServerRequest httpServerRequest, final WebSocketFlowControl flowControl) {
         this.httpServerRequest = httpServerRequest;
+        this.flowControl = flowControl;
     }
 
     @Override
     public WebSocket upgrade() {
         websocket = httpServerRequest.upgrade();
+        writer = new WebSocketWriter(websocket, flowControl);
         upgraded = true;
         return this;
     }
@@ -53,11 +60,8 @@ class VertxWebSocket implements WebSocket {
 
     @Override
     public WebSocket write(io.gravitee.gateway.api.ws.WebSocketFrame frame) {
-        if (frame.type() == io.gravitee.gateway.api.ws.WebSocketFrame.Type.BINARY) {
-            websocket.writeBinaryMessage(io.vertx.core.buffer.Buffer.buffer(frame.data().getBytes()));
-        } else if (frame.type() == io.gravitee.gateway.api.ws.WebSocketFrame.Type.TEXT) {
-            websocket.writeTextMessage(frame.data().toString());
-        }
+        // The upstream is paused while the client can not keep up
+        writer.write(frame);
 
         return this;
     }
@@ -72,7 +76,7 @@ class VertxWebSocket implements WebSocket {
 
     @Override
     public WebSocket frameHandler(Handler<io.gravitee.gateway.api.ws.WebSocketFrame> frameHandler) {
-        websocket.frameHandler(frame -> frameHandler.handle(new VertxWebSocketFrame(frame)));
+        websocket.frameHandler(frame -> frameHandler.handle(new VertxWebSocketFrame(frame, websocket)));
         return this;
     }
 
@@ -80,6 +84,7 @@ class VertxWebSocket implements WebSocket {
     public WebSocket closeHandler(Handler<Void> closeHandler) {
         websocket.closeHandler(event -> {
             closed = true;
+            writer.closed();
             closeHandler.handle(event);
         });
         return this;
@@ -18,6 +18,7 @@ package io.gravitee.gateway.standalone.vertx.ws;
 import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.Response;
+import io.gravitee.gateway.http.connector.ws.WebSocketFlowControl;
 import io.gravitee.gateway.reactor.Reactor;
 import io.gravitee.gateway.standalone.vertx.VertxReactorHandler;
 import io.netty.handler.codec.http.HttpHeaderValues;
@@ -31,8 +32,11 @@ import io.vertx.core.http.HttpServerRequest;
  */
 public class VertxWebSocketReactorHandler extends VertxReactorHandler {
 
-    public VertxWebSocketReactorHandler(final Reactor reactor) {
+    private final WebSocketFlowControl flowControl;
+
+    public VertxWebSocketReactorHandler(final Reactor reactor, final WebSocketFlowControl flowControl) {
         super(reactor);
+        this.flowControl = flowControl;
     }
 
     @Override
@@ -41,7 +45,7 @@ public class VertxWebSocketReactorHandler extends VertxReactorHandler {
         Response response;
 
         if (isWebSocket(httpServerRequest)) {
-            request = new VertxWebSocketServerRequest(httpServerRequest);
+            request = new VertxWebSocketServerRequest(httpServerRequest, flowControl);
             response = new VertxWebSocketServerResponse(httpServerRequest, request);
             route(request, response);
         } else {
@@ -17,6 +17,7 @@ package io.gravitee.gateway.standalone.vertx.ws;
 
 import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.api.ws.WebSocket;
+import io.gravitee.gateway.http.connector.ws.WebSocketFlowControl;
 import io.gravitee.gateway.standalone.vertx.VertxHttpServerRequest;
 import io.vertx.core.http.HttpServerRequest;
 
@@ -28,10 +29,10 @@ public class VertxWebSocketServerRequest extends VertxHttpServerRequest {
 
     private VertxWebSocket vertxWebSocket;
 
-    public VertxWebSocketServerRequest(HttpServerRequest httpServerRequest) {
+    public VertxWebSocketServerRequest(HttpServerRequest httpServerRequest, WebSocketFlowControl flowControl) {
         super(httpServerRequest);
 
-        this.vertxWebSocket = new VertxWebSocket(httpServerRequest);
+        this.vertxWebSocket = new VertxWebSocket(httpServerRequest, flowControl);
     }
 
     @Override
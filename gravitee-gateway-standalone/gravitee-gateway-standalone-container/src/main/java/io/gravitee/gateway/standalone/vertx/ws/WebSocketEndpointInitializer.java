@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx.ws;
+
+import io.gravitee.node.management.http.endpoint.ManagementEndpointManager;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class WebSocketEndpointInitializer implements InitializingBean {
+
+    @Autowired
+    private ManagementEndpointManager managementEndpointManager;
+
+    @Autowired
+    private WebSocketManagementEndpoint webSocketManagementEndpoint;
+
+    public void afterPropertiesSet() {
+        managementEndpointManager.register(webSocketManagementEndpoint);
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx.ws;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.common.http.MediaType;
+import io.gravitee.gateway.http.connector.ws.WebSocketFlowControl;
+import io.gravitee.node.management.http.endpoint.ManagementEndpoint;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Exposes the flow control metrics of the proxied WebSockets.
+ *
+ * @author GraviteeSource Team
+ */
+public class WebSocketManagementEndpoint implements Handler<RoutingContext>, ManagementEndpoint {
+
+    @Autowired
+    private WebSocketFlowControl webSocketFlowControl;
+
+    @Override
+    public HttpMethod method() {
+        return HttpMethod.GET;
+    }
+
+    @Override
+    public String path() {
+        return "/websockets";
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        JsonObject flowControl = new JsonObject()
+                .put("pausedSockets", webSocketFlowControl.pausedSockets())
+                .put("pauses", webSocketFlowControl.pauses())
+                .put("overflows", webSocketFlowControl.overflows())
+                .put("maxQueuedBytes", webSocketFlowControl.maxQueuedBytes());
+
+        HttpServerResponse response = ctx.response();
+        response.setStatusCode(HttpStatusCode.OK_200);
+        response.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        response.end(flowControl.encodePrettily());
+    }
+}
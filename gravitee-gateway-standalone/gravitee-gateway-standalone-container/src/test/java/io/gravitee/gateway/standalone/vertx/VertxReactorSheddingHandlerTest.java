@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx;
+
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.gateway.standalone.vertx.eventloop.EventLoopLagProbe;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VertxReactorSheddingHandlerTest {
+
+    @Mock
+    private Handler<HttpServerRequest> handler;
+
+    @Mock
+    private EventLoopLagProbe probe;
+
+    @Mock
+    private HttpServerRequest request;
+
+    private HttpServerResponse response;
+
+    private VertxReactorSheddingHandler sheddingHandler;
+
+    @Before
+    public void setUp() {
+        response = mock(HttpServerResponse.class, RETURNS_SELF);
+        sheddingHandler = new VertxReactorSheddingHandler(handler, probe, 200, 5,
+                Collections.singletonList("/_node"));
+    }
+
+    @Test
+    public void shouldHandleRequestWhileLagIsBelowThreshold() {
+        when(probe.lag()).thenReturn(200L);
+
+        sheddingHandler.handle(request);
+
+        verify(handler).handle(request);
+        verify(probe, never()).incrementShedRequests();
+    }
+
+    @Test
+    public void shouldShedRequestWhenLagExceedsThreshold() {
+        when(request.path()).thenReturn("/api");
+        when(request.response()).thenReturn(response);
+        when(probe.lag()).thenReturn(201L);
+
+        sheddingHandler.handle(request);
+
+        verify(handler, never()).handle(request);
+        verify(probe).incrementShedRequests();
+        verify(response).setStatusCode(HttpStatusCode.SERVICE_UNAVAILABLE_503);
+        verify(response).putHeader("Retry-After", "5");
+        verify(response).end();
+    }
+
+    @Test
+    public void shouldNotShedExcludedPaths() {
+        when(request.path()).thenReturn("/_node/health");
+        when(probe.lag()).thenReturn(1000L);
+
+        sheddingHandler.handle(request);
+
+        verify(handler).handle(request);
+        verify(probe, never()).incrementShedRequests();
+    }
+
+    @Test
+    public void shouldStopSheddingWhenLagRecovers() {
+        when(request.path()).thenReturn("/api");
+        when(request.response()).thenReturn(response);
+        when(probe.lag()).thenReturn(1000L, 0L);
+
+        sheddingHandler.handle(request);
+        sheddingHandler.handle(request);
+
+        verify(probe, times(1)).incrementShedRequests();
+        verify(response, times(1)).end();
+        verify(handler, times(1)).handle(request);
+    }
+}
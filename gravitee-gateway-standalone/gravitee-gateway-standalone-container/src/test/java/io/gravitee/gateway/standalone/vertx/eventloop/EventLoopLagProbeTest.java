@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.standalone.vertx.eventloop;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class EventLoopLagProbeTest {
+
+    private static final long INTERVAL = 100;
+
+    @Mock
+    private Vertx vertx;
+
+    private long now;
+
+    private EventLoopLagProbe probe;
+
+    @Before
+    public void setUp() {
+        probe = new EventLoopLagProbe(INTERVAL, () -> now);
+        when(vertx.setPeriodic(eq(INTERVAL), any())).thenReturn(42L);
+        probe.start(vertx);
+    }
+
+    @Test
+    public void shouldNotMeasureLagWhenTimerFiresOnTime() {
+        elapse(INTERVAL);
+        probe.tick();
+
+        Assert.assertEquals(0, probe.lag());
+        Assert.assertEquals(0, probe.averageLag());
+    }
+
+    @Test
+    public void shouldMeasureLag() {
+        elapse(INTERVAL + 250);
+        probe.tick();
+
+        Assert.assertEquals(250, probe.lag());
+        Assert.assertEquals(250 / 8, probe.averageLag());
+    }
+
+    @Test
+    public void shouldMeasureLagOfBlockedEventLoop() {
+        // The timer did not fire: the event-loop is still busy
+        elapse(INTERVAL + 500);
+
+        Assert.assertEquals(500, probe.lag());
+    }
+
+    @Test
+    public void shouldStopMeasuringLagWhenEventLoopRecovers() {
+        elapse(INTERVAL + 250);
+        probe.tick();
+        Assert.assertEquals(250, probe.lag());
+
+        elapse(INTERVAL);
+        probe.tick();
+
+        Assert.assertEquals(0, probe.lag());
+    }
+
+    @Test
+    public void shouldTickPeriodically() {
+        ArgumentCaptor<Handler<Long>> timerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setPeriodic(eq(INTERVAL), timerCaptor.capture());
+
+        elapse(INTERVAL + 250);
+        timerCaptor.getValue().handle(42L);
+        elapse(INTERVAL);
+
+        Assert.assertEquals(250, probe.lag());
+    }
+
+    @Test
+    public void shouldCancelTimerWhenStopped() {
+        probe.stop(vertx);
+
+        verify(vertx).cancelTimer(42L);
+    }
+
+    @Test
+    public void shouldCountShedRequests() {
+        probe.incrementShedRequests();
+        probe.incrementShedRequests();
+
+        Assert.assertEquals(2, probe.shedRequests());
+    }
+
+    private void elapse(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}